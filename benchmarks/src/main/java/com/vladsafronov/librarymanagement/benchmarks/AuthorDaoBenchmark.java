@@ -0,0 +1,56 @@
+package com.vladsafronov.librarymanagement.benchmarks;
+
+import com.vladsafronov.librarymanagement.model.Author;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AuthorDaoH2Impl queries against generated catalog
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorDaoBenchmark {
+
+    @Benchmark
+    public Author getAuthorById(CatalogState state) {
+        return state.getAuthorDao().getAuthorById(state.getCatalog().randomAuthorId(ThreadLocalRandom.current()));
+    }
+
+    /**
+     * Lookup as service did it before: id was checked against count of authors
+     * before the primary key query
+     */
+    @Benchmark
+    public Author getAuthorByIdAfterCount(CatalogState state) {
+        int id = state.getCatalog().randomAuthorId(ThreadLocalRandom.current());
+        if (id > state.getAuthorDao().getCountOfAllAuthors()) {
+            return null;
+        }
+        return state.getAuthorDao().getAuthorById(id);
+    }
+
+    @Benchmark
+    public int getCountOfAuthorsBooks(CatalogState state) {
+        Author author = new Author();
+        author.setId(state.getCatalog().randomAuthorId(ThreadLocalRandom.current()));
+        return state.getAuthorDao().getCountOfAuthorsBooks(author);
+    }
+
+    @Benchmark
+    public double getAverageRatingOfAuthorsBooks(CatalogState state) {
+        Author author = new Author();
+        author.setId(state.getCatalog().randomAuthorId(ThreadLocalRandom.current()));
+        return state.getAuthorDao().getAverageRatingOfAuthorsBooks(author);
+    }
+}
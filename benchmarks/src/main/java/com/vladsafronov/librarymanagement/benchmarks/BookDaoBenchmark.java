@@ -0,0 +1,61 @@
+package com.vladsafronov.librarymanagement.benchmarks;
+
+import com.vladsafronov.librarymanagement.model.Book;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BookDaoH2Impl queries against generated catalog
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookDaoBenchmark {
+
+    public static final int PERIOD_DAYS = 30;
+
+    @Benchmark
+    public Book getBookById(CatalogState state) {
+        Random random = ThreadLocalRandom.current();
+        return state.getBookDao().getBookById(state.getCatalog().randomBookId(random));
+    }
+
+    /**
+     * Lookup as service did it before: id was checked against count of books
+     * before the primary key query. H2 counts rows without scan, so it costs one more statement
+     */
+    @Benchmark
+    public Book getBookByIdAfterCount(CatalogState state) {
+        Random random = ThreadLocalRandom.current();
+        int id = state.getCatalog().randomBookId(random);
+        if (id > state.getBookDao().getCountOfAllBooks()) {
+            return null;
+        }
+        return state.getBookDao().getBookById(id);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Book> getAllBooks(CatalogState state) {
+        return state.getBookDao().getAllBooks();
+    }
+
+    @Benchmark
+    public List<Book> getBooksFromPeriod(CatalogState state) {
+        LocalDate from = state.getCatalog().randomReleaseDate(ThreadLocalRandom.current());
+        return state.getBookDao().getBooksFromPeriod(from, from.plusDays(PERIOD_DAYS));
+    }
+}
@@ -0,0 +1,177 @@
+package com.vladsafronov.librarymanagement.benchmarks;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.vladsafronov.librarymanagement.model.Book;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Json of large lists of books with different ways of release date mapping:
+ * string of DateTimeFormatter (previous Book mapping by string accessors), serializers
+ * of java time module, and IsoLocalDateSerializer, which writes chars directly.
+ * All of them write and read the same json.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookDateJsonBenchmark {
+
+    /**
+     * Count of books in list
+     */
+    @Param({"10000"})
+    public int listSize;
+
+    private List<Book> books;
+    private byte[] json;
+
+    private ObjectWriter stringAccessorsWriter;
+    private ObjectReader stringAccessorsReader;
+    private ObjectWriter javaTimeModuleWriter;
+    private ObjectReader javaTimeModuleReader;
+    private ObjectWriter directWriter;
+    private ObjectReader directReader;
+
+    @Setup
+    public void setUp() throws IOException {
+        books = new ArrayList<>(listSize);
+        for (int i = 1; i <= listSize; i++) {
+            books.add(new Book(i, "Book " + i, i % 100, LocalDate.parse("1900-01-01").plusDays(i), "Eng"));
+        }
+
+        ObjectMapper stringAccessorsMapper = new ObjectMapper();
+        stringAccessorsMapper.addMixIn(Book.class, StringAccessorsMixIn.class);
+        ObjectMapper javaTimeModuleMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        javaTimeModuleMapper.addMixIn(Book.class, JavaTimeModuleMixIn.class);
+        ObjectMapper directMapper = new ObjectMapper();
+
+        JavaType listType = directMapper.getTypeFactory().constructCollectionType(List.class, Book.class);
+        stringAccessorsWriter = stringAccessorsMapper.writerFor(listType);
+        stringAccessorsReader = stringAccessorsMapper.readerFor(listType);
+        javaTimeModuleWriter = javaTimeModuleMapper.writerFor(listType);
+        javaTimeModuleReader = javaTimeModuleMapper.readerFor(listType);
+        directWriter = directMapper.writerFor(listType);
+        directReader = directMapper.readerFor(listType);
+
+        json = directWriter.writeValueAsBytes(books);
+        if (!Arrays.equals(json, stringAccessorsWriter.writeValueAsBytes(books))
+                || !Arrays.equals(json, javaTimeModuleWriter.writeValueAsBytes(books))
+                || !books.equals(stringAccessorsReader.readValue(json))
+                || !books.equals(javaTimeModuleReader.readValue(json))
+                || !books.equals(directReader.readValue(json))) {
+            throw new IllegalStateException("Mappings write or read different json");
+        }
+    }
+
+    @Benchmark
+    public byte[] writeStringAccessors() throws IOException {
+        return stringAccessorsWriter.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public byte[] writeJavaTimeModule() throws IOException {
+        return javaTimeModuleWriter.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public byte[] writeDirect() throws IOException {
+        return directWriter.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public List<Book> readStringAccessors() throws IOException {
+        return stringAccessorsReader.readValue(json);
+    }
+
+    @Benchmark
+    public List<Book> readJavaTimeModule() throws IOException {
+        return javaTimeModuleReader.readValue(json);
+    }
+
+    @Benchmark
+    public List<Book> readDirect() throws IOException {
+        return directReader.readValue(json);
+    }
+
+    /**
+     * Previous mapping: date is formatted to string and parsed from string
+     * with DateTimeFormatter, as string accessors of book did it
+     */
+    private abstract static class StringAccessorsMixIn {
+        @JsonSerialize(using = FormatterSerializer.class)
+        abstract LocalDate getReleaseDate();
+
+        @JsonDeserialize(using = FormatterDeserializer.class)
+        abstract void setReleaseDate(LocalDate releaseDate);
+    }
+
+    private static class FormatterSerializer extends StdSerializer<LocalDate> {
+        FormatterSerializer() {
+            super(LocalDate.class);
+        }
+
+        @Override
+        public void serialize(LocalDate date, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeString(date.format(DateTimeFormatter.ISO_LOCAL_DATE));
+        }
+    }
+
+    private static class FormatterDeserializer extends StdDeserializer<LocalDate> {
+        FormatterDeserializer() {
+            super(LocalDate.class);
+        }
+
+        @Override
+        public LocalDate deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            return LocalDate.parse(parser.getText());
+        }
+    }
+
+    /**
+     * Date is mapped by serializers of java time module
+     */
+    private abstract static class JavaTimeModuleMixIn {
+        @JsonSerialize(using = JsonSerializer.None.class)
+        abstract LocalDate getReleaseDate();
+
+        @JsonDeserialize(using = JsonDeserializer.None.class)
+        abstract void setReleaseDate(LocalDate releaseDate);
+    }
+}
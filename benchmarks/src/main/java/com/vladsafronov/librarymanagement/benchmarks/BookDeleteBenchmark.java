@@ -0,0 +1,79 @@
+package com.vladsafronov.librarymanagement.benchmarks;
+
+import com.vladsafronov.librarymanagement.dao.api.BookDao;
+import com.vladsafronov.librarymanagement.model.Book;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delete of many books: transaction per book against one transaction with one delete statement
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookDeleteBenchmark {
+
+    @Benchmark
+    public void deleteBooksOneByOne(CatalogState state, NewBooks newBooks) {
+        BookDao bookDao = state.getBookDao();
+        for (Integer id : newBooks.ids) {
+            bookDao.deleteBookById(id);
+        }
+    }
+
+    @Benchmark
+    public void deleteBooksByIds(CatalogState state, NewBooks newBooks) {
+        state.getBookDao().deleteBooksByIds(newBooks.ids);
+    }
+
+    /**
+     * Books with author, which are added before every invocation and deleted by it
+     */
+    @State(Scope.Thread)
+    public static class NewBooks {
+
+        private static final AtomicLong TITLE_NUMBER = new AtomicLong();
+
+        /**
+         * Count of books deleted by one invocation
+         */
+        @Param({"100"})
+        public int deleteCount;
+
+        List<Integer> ids;
+
+        @Setup(Level.Invocation)
+        public void addBooks(CatalogState state) {
+            Random random = ThreadLocalRandom.current();
+            List<Book> books = new ArrayList<>(deleteCount);
+            for (int i = 0; i < deleteCount; i++) {
+                books.add(new Book(null, "Deleted book " + TITLE_NUMBER.incrementAndGet(),
+                        random.nextInt(100), state.getCatalog().randomReleaseDate(random), "Eng"));
+            }
+            BookDao bookDao = state.getBookDao();
+            ids = bookDao.addBooks(books);
+            for (Integer id : ids) {
+                bookDao.addAuthorToBook(id, state.getCatalog().randomAuthorId(random));
+            }
+        }
+    }
+}
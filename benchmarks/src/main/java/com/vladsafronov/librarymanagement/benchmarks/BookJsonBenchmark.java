@@ -0,0 +1,117 @@
+package com.vladsafronov.librarymanagement.benchmarks;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.vladsafronov.librarymanagement.model.Book;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Jackson serialization of books, as it is done by rest controllers
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookJsonBenchmark {
+
+    /**
+     * Count of books in serialized list
+     */
+    @Param({"100"})
+    public int listSize;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter prettyWriter;
+    private ObjectWriter bookListWriter;
+    private JavaType bookListType;
+    private Book book;
+    private List<Book> books;
+    private byte[] bookJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper();
+        books = new ArrayList<>(listSize);
+        for (int i = 1; i <= listSize; i++) {
+            books.add(new Book(i, "Book " + i, i % 100, LocalDate.parse("2000-01-01").plusDays(i), "Eng"));
+        }
+        book = books.get(0);
+        bookJson = objectMapper.writeValueAsBytes(book);
+
+        prettyWriter = objectMapper.writerWithDefaultPrettyPrinter();
+        bookListType = objectMapper.getTypeFactory().constructCollectionType(List.class, Book.class);
+        bookListWriter = objectMapper.writerFor(bookListType);
+    }
+
+    @Benchmark
+    public byte[] writeBook() throws IOException {
+        return objectMapper.writeValueAsBytes(book);
+    }
+
+    @Benchmark
+    public byte[] writeBookList() throws IOException {
+        return objectMapper.writeValueAsBytes(books);
+    }
+
+    /**
+     * List as it was written with pretty print
+     */
+    @Benchmark
+    public byte[] writeBookListPretty() throws IOException {
+        return prettyWriter.writeValueAsBytes(books);
+    }
+
+    /**
+     * List as message converter writes it: writer for list type is created per call
+     */
+    @Benchmark
+    public byte[] writeBookListForType() throws IOException {
+        return objectMapper.writer().forType(bookListType).writeValueAsBytes(books);
+    }
+
+    /**
+     * List with writer, which is created once with root serializer
+     */
+    @Benchmark
+    public byte[] writeBookListPrebuilt() throws IOException {
+        return bookListWriter.writeValueAsBytes(books);
+    }
+
+    /**
+     * Compact list compressed as by compression filter
+     */
+    @Benchmark
+    public byte[] writeBookListGzip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            bookListWriter.writeValue(gzip, books);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public Book readBook() throws IOException {
+        return objectMapper.readValue(bookJson, Book.class);
+    }
+}
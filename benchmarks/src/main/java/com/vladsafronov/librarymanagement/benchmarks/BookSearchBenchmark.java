@@ -0,0 +1,60 @@
+package com.vladsafronov.librarymanagement.benchmarks;
+
+import com.vladsafronov.librarymanagement.model.Book;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BookService.searchBooks against generated catalog, meant to be run
+ * with {@code -p catalogSize=1000000}
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookSearchBenchmark {
+
+    private static final int LIMIT = 20;
+
+    /**
+     * Whole word of title, found in about catalogSize * 2 / TITLE_WORDS books
+     */
+    @Benchmark
+    public List<Book> searchByWord(CatalogState state) {
+        String word = CatalogGenerator.titleWord(ThreadLocalRandom.current().nextInt(CatalogGenerator.TITLE_WORDS));
+        return state.getBookService().searchBooks(word, LIMIT);
+    }
+
+    /**
+     * Two first syllables of word, prefix of 20 words of vocabulary
+     */
+    @Benchmark
+    public List<Book> searchByPrefix(CatalogState state) {
+        String word = CatalogGenerator.titleWord(ThreadLocalRandom.current().nextInt(CatalogGenerator.TITLE_WORDS));
+        return state.getBookService().searchBooks(word.substring(0, 4), LIMIT);
+    }
+
+    @Benchmark
+    public List<Book> searchByTwoWords(CatalogState state) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String query = CatalogGenerator.titleWord(random.nextInt(CatalogGenerator.TITLE_WORDS)) + " "
+                + CatalogGenerator.titleWord(random.nextInt(CatalogGenerator.TITLE_WORDS));
+        return state.getBookService().searchBooks(query, LIMIT);
+    }
+
+    @Benchmark
+    public List<Book> searchByAuthorSurname(CatalogState state) {
+        int authorId = state.getCatalog().randomAuthorId(ThreadLocalRandom.current());
+        return state.getBookService().searchBooks("Surname" + authorId, LIMIT);
+    }
+}
@@ -0,0 +1,45 @@
+package com.vladsafronov.librarymanagement.benchmarks;
+
+import com.vladsafronov.librarymanagement.model.Book;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BookServiceImpl calls with validation, going through dao to database
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookServiceBenchmark {
+
+    public static final int PAGE_SIZE = 100;
+
+    @Benchmark
+    public Book getBookById(CatalogState state) {
+        return state.getBookService().getBookById(state.getCatalog().randomBookId(ThreadLocalRandom.current()));
+    }
+
+    @Benchmark
+    public List<Book> getBooksFromPeriod(CatalogState state) {
+        LocalDate from = state.getCatalog().randomReleaseDate(ThreadLocalRandom.current());
+        return state.getBookService().getBooksFromPeriod(from, from.plusDays(BookDaoBenchmark.PERIOD_DAYS));
+    }
+
+    @Benchmark
+    public List<Book> getBooksPage(CatalogState state) {
+        int afterId = state.getCatalog().randomBookId(ThreadLocalRandom.current());
+        return state.getBookService().getBooksPage(afterId, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,130 @@
+package com.vladsafronov.librarymanagement.benchmarks;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.vladsafronov.librarymanagement.model.Book;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of bulk export of books: json array, Smile array
+ * and stream of length prefixed Smile records, as /books/stream writes it
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookSmileBenchmark {
+
+    /**
+     * Count of exported books
+     */
+    @Param({"1000"})
+    public int listSize;
+
+    private List<Book> books;
+
+    private ObjectWriter jsonListWriter;
+    private ObjectReader jsonListReader;
+    private ObjectWriter smileListWriter;
+    private ObjectReader smileListReader;
+    private ObjectWriter smileBookWriter;
+    private ObjectReader smileBookReader;
+
+    private byte[] json;
+    private byte[] smile;
+    private byte[] smileStream;
+
+    @Setup
+    public void setUp() throws IOException {
+        books = new ArrayList<>(listSize);
+        for (int i = 1; i <= listSize; i++) {
+            books.add(new Book(i, CatalogGenerator.titleWord(i) + " " + i, i % 100,
+                    LocalDate.parse("2000-01-01").plusDays(i), "Eng"));
+        }
+
+        ObjectMapper jsonMapper = new ObjectMapper();
+        ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+        JavaType listType = jsonMapper.getTypeFactory().constructCollectionType(List.class, Book.class);
+        jsonListWriter = jsonMapper.writerFor(listType);
+        jsonListReader = jsonMapper.readerFor(listType);
+        smileListWriter = smileMapper.writerFor(listType);
+        smileListReader = smileMapper.readerFor(listType);
+        smileBookWriter = smileMapper.writerFor(Book.class);
+        smileBookReader = smileMapper.readerFor(Book.class);
+
+        json = writeJson();
+        smile = writeSmile();
+        smileStream = writeSmileStream();
+    }
+
+    @Benchmark
+    public byte[] writeJson() throws IOException {
+        return jsonListWriter.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public byte[] writeSmile() throws IOException {
+        return smileListWriter.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public byte[] writeSmileStream() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        for (Book book : books) {
+            record.reset();
+            smileBookWriter.writeValue(record, book);
+            out.writeInt(record.size());
+            record.writeTo(out);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public List<Book> readJson() throws IOException {
+        return jsonListReader.readValue(json);
+    }
+
+    @Benchmark
+    public List<Book> readSmile() throws IOException {
+        return smileListReader.readValue(smile);
+    }
+
+    @Benchmark
+    public List<Book> readSmileStream() throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(smileStream));
+        List<Book> result = new ArrayList<>(listSize);
+        while (in.available() > 0) {
+            byte[] record = new byte[in.readInt()];
+            in.readFully(record);
+            result.add(smileBookReader.<Book>readValue(record));
+        }
+        return result;
+    }
+}
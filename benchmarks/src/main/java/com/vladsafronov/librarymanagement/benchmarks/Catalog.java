@@ -0,0 +1,68 @@
+package com.vladsafronov.librarymanagement.benchmarks;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Description of generated catalog: ranges of ids and release dates.
+ * Benchmarks use it to choose existing rows.
+ */
+public class Catalog {
+
+    private final int firstBookId;
+    private final int bookCount;
+    private final int firstAuthorId;
+    private final int authorCount;
+    private final LocalDate firstReleaseDate;
+    private final int releasePeriodDays;
+
+    public Catalog(int firstBookId, int bookCount, int firstAuthorId, int authorCount,
+                   LocalDate firstReleaseDate, int releasePeriodDays) {
+        this.firstBookId = firstBookId;
+        this.bookCount = bookCount;
+        this.firstAuthorId = firstAuthorId;
+        this.authorCount = authorCount;
+        this.firstReleaseDate = firstReleaseDate;
+        this.releasePeriodDays = releasePeriodDays;
+    }
+
+    public int getFirstBookId() {
+        return firstBookId;
+    }
+
+    public int getBookCount() {
+        return bookCount;
+    }
+
+    public int getFirstAuthorId() {
+        return firstAuthorId;
+    }
+
+    public int getAuthorCount() {
+        return authorCount;
+    }
+
+    public LocalDate getFirstReleaseDate() {
+        return firstReleaseDate;
+    }
+
+    public int getReleasePeriodDays() {
+        return releasePeriodDays;
+    }
+
+    public int randomBookId(Random random) {
+        return firstBookId + random.nextInt(bookCount);
+    }
+
+    public int randomAuthorId(Random random) {
+        return firstAuthorId + random.nextInt(authorCount);
+    }
+
+    /**
+     * @param random random generator
+     * @return release date, which is not later than last release date
+     */
+    public LocalDate randomReleaseDate(Random random) {
+        return firstReleaseDate.plusDays(random.nextInt(releasePeriodDays));
+    }
+}
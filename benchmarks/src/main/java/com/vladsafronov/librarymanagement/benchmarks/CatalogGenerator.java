@@ -0,0 +1,167 @@
+package com.vladsafronov.librarymanagement.benchmarks;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Fills database with generated books and authors.
+ *
+ * Rows are inserted with plain jdbc batches and explicit ids after already
+ * existing rows, so catalog of millions of rows is generated in reasonable time.
+ * Every book is written by one author, authors have equal count of books.
+ * Generated values depend only on seed, so runs of benchmarks are comparable.
+ * Author statistics and search words are not maintained, they are rebuilt
+ * after generation. Title is two words of generated vocabulary and book id,
+ * so every word is found in about {@code bookCount * 2 / TITLE_WORDS} titles.
+ */
+public class CatalogGenerator {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    public static final LocalDate FIRST_RELEASE_DATE = LocalDate.parse("1900-01-01");
+    public static final int RELEASE_PERIOD_DAYS = 120 * 365;
+    public static final int MAX_RATING = 100;
+
+    private static final String[] SYLLABLES = {"ba", "ko", "ri", "mu", "te", "sa", "lo", "ne", "vi", "da",
+            "pe", "gu", "zo", "fi", "ha", "jo", "ca", "xe", "wu", "ly"};
+    /**
+     * Count of words in vocabulary of titles, every word is three syllables
+     */
+    public static final int TITLE_WORDS = SYLLABLES.length * SYLLABLES.length * SYLLABLES.length;
+
+    private static final int BATCH_SIZE = 10000;
+    private static final long DEFAULT_SEED = 20170301L;
+    private static final String[] LANGUAGES = {"Eng", "Rus", "Ger", "Fra", "Spa"};
+
+    private static final String ADD_BOOK_SQL =
+            "INSERT INTO book (id, title, rating, release_date, lang) VALUES (?, ?, ?, ?, ?)";
+    private static final String ADD_AUTHOR_SQL =
+            "INSERT INTO author (id, name, surname, birth_date) VALUES (?, ?, ?, ?)";
+    private static final String ADD_BOOK_AUTHOR_SQL =
+            "INSERT INTO book_author (book_id, author_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long seed;
+
+    public CatalogGenerator(DataSource dataSource) {
+        this(dataSource, DEFAULT_SEED);
+    }
+
+    public CatalogGenerator(DataSource dataSource, long seed) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.seed = seed;
+    }
+
+    /**
+     * Generate catalog
+     *
+     * @param bookCount count of books to add
+     * @param authorCount count of authors to add
+     * @return description of added rows
+     */
+    public Catalog generate(int bookCount, int authorCount) {
+        if (bookCount <= 0 || authorCount <= 0) {
+            throw new IllegalArgumentException("Count of books and authors must be positive");
+        }
+        LOGGER.info("generate(): books = {}, authors = {}", bookCount, authorCount);
+
+        final Random random = new Random(seed);
+        final int firstAuthorId = nextId("author");
+        final int firstBookId = nextId("book");
+
+        insert(ADD_AUTHOR_SQL, authorCount, new RowSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int index) throws SQLException {
+                int id = firstAuthorId + index;
+                ps.setInt(1, id);
+                ps.setString(2, "Name" + id);
+                ps.setString(3, "Surname" + id);
+                ps.setDate(4, Date.valueOf(LocalDate.parse("1850-01-01").plusDays(random.nextInt(150 * 365))));
+            }
+        });
+
+        insert(ADD_BOOK_SQL, bookCount, new RowSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int index) throws SQLException {
+                int id = firstBookId + index;
+                ps.setInt(1, id);
+                ps.setString(2, titleWord(random.nextInt(TITLE_WORDS)) + " "
+                        + titleWord(random.nextInt(TITLE_WORDS)) + " " + id);
+                ps.setInt(3, random.nextInt(MAX_RATING + 1));
+                ps.setDate(4, Date.valueOf(FIRST_RELEASE_DATE.plusDays(random.nextInt(RELEASE_PERIOD_DAYS))));
+                ps.setString(5, LANGUAGES[random.nextInt(LANGUAGES.length)]);
+            }
+        });
+
+        final int authors = authorCount;
+        insert(ADD_BOOK_AUTHOR_SQL, bookCount, new RowSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int index) throws SQLException {
+                ps.setInt(1, firstBookId + index);
+                ps.setInt(2, firstAuthorId + index % authors);
+            }
+        });
+
+        return new Catalog(firstBookId, bookCount, firstAuthorId, authorCount,
+                FIRST_RELEASE_DATE, RELEASE_PERIOD_DAYS);
+    }
+
+    /**
+     * Word of titles vocabulary
+     *
+     * @param index index of word, from 0 to TITLE_WORDS - 1
+     * @return lower case word
+     */
+    public static String titleWord(int index) {
+        return SYLLABLES[index % SYLLABLES.length]
+                + SYLLABLES[index / SYLLABLES.length % SYLLABLES.length]
+                + SYLLABLES[index / SYLLABLES.length / SYLLABLES.length % SYLLABLES.length];
+    }
+
+    private int nextId(String table) {
+        Integer maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Integer.class);
+        return maxId == null ? 1 : maxId + 1;
+    }
+
+    private void insert(final String sql, int count, final RowSetter rowSetter) {
+        for (int from = 0; from < count; from += BATCH_SIZE) {
+            final int offset = from;
+            final int size = Math.min(BATCH_SIZE, count - from);
+            transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+                @Override
+                protected void doInTransactionWithoutResult(TransactionStatus status) {
+                    jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            rowSetter.setValues(ps, offset + i);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return size;
+                        }
+                    });
+                }
+            });
+        }
+    }
+
+    private interface RowSetter {
+        void setValues(PreparedStatement ps, int index) throws SQLException;
+    }
+}
@@ -0,0 +1,97 @@
+package com.vladsafronov.librarymanagement.benchmarks;
+
+import com.vladsafronov.librarymanagement.dao.api.AuthorDao;
+import com.vladsafronov.librarymanagement.dao.api.BookDao;
+import com.vladsafronov.librarymanagement.service.api.BookService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+
+import javax.sql.DataSource;
+
+/**
+ * Spring context with generated catalog, shared by all threads of benchmark.
+ *
+ * Size of catalog is benchmark parameter, bigger catalogs are set
+ * from command line, for example {@code -p catalogSize=10000000}.
+ */
+@State(Scope.Benchmark)
+public class CatalogState {
+
+    public static final String CONFIG = "benchmark-spring-config.xml";
+
+    /**
+     * Count of generated books
+     */
+    @Param({"10000"})
+    public int catalogSize;
+
+    /**
+     * Count of books written by one author
+     */
+    @Param({"10"})
+    public int booksPerAuthor;
+
+    private ClassPathXmlApplicationContext context;
+    private Catalog catalog;
+
+    private BookDao bookDao;
+    private BookDao timedBookDao;
+    private AuthorDao authorDao;
+    private BookService bookService;
+    private DataSource dataSource;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new ClassPathXmlApplicationContext(CONFIG);
+        int authorCount = Math.max(1, catalogSize / booksPerAuthor);
+        catalog = context.getBean(CatalogGenerator.class).generate(catalogSize, authorCount);
+
+        bookDao = context.getBean("bookDao", BookDao.class);
+        timedBookDao = context.getBean("timedBookDao", BookDao.class);
+        authorDao = context.getBean("authorDao", AuthorDao.class);
+        bookService = context.getBean("bookService", BookService.class);
+        dataSource = context.getBean("dataSource", DataSource.class);
+
+        // generator inserts rows directly, so statistics and search words are built after it
+        authorDao.rebuildAuthorStats();
+        bookDao.rebuildSearchWords();
+        authorDao.rebuildSearchWords();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    public Catalog getCatalog() {
+        return catalog;
+    }
+
+    public BookDao getBookDao() {
+        return bookDao;
+    }
+
+    /**
+     * @return book dao, which queries are timed
+     */
+    public BookDao getTimedBookDao() {
+        return timedBookDao;
+    }
+
+    public AuthorDao getAuthorDao() {
+        return authorDao;
+    }
+
+    public BookService getBookService() {
+        return bookService;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+}
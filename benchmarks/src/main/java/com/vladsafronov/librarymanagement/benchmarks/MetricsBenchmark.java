@@ -0,0 +1,37 @@
+package com.vladsafronov.librarymanagement.benchmarks;
+
+import com.vladsafronov.librarymanagement.model.Book;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of query timers and slow query log: the same query with plain and timed jdbc template
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+
+    @Benchmark
+    public Book getBookById(CatalogState state) {
+        Random random = ThreadLocalRandom.current();
+        return state.getBookDao().getBookById(state.getCatalog().randomBookId(random));
+    }
+
+    @Benchmark
+    public Book timedGetBookById(CatalogState state) {
+        Random random = ThreadLocalRandom.current();
+        return state.getTimedBookDao().getBookById(state.getCatalog().randomBookId(random));
+    }
+}
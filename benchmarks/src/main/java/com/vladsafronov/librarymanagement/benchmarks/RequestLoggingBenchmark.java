@@ -0,0 +1,63 @@
+package com.vladsafronov.librarymanagement.benchmarks;
+
+import com.vladsafronov.librarymanagement.model.Book;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Debug messages of one update of book request, which passes book through
+ * controller, service and dao, while debug is off.
+ * Allocation per request is reported by gc profiler:
+ *
+ *     java -jar benchmarks/target/benchmarks.jar RequestLoggingBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestLoggingBenchmark {
+
+    private static final Logger CONTROLLER_LOGGER = LogManager.getLogger("com.vladsafronov.librarymanagement.rest");
+    private static final Logger SERVICE_LOGGER = LogManager.getLogger("com.vladsafronov.librarymanagement.service");
+    private static final Logger DAO_LOGGER = LogManager.getLogger("com.vladsafronov.librarymanagement.dao");
+
+    private Book book;
+
+    @Setup
+    public void setUp() {
+        book = new Book(1, "The Road to Wigan Pier", 50, LocalDate.parse("2015-01-01"), "Eng");
+        book.setVersion(3);
+        if (DAO_LOGGER.isDebugEnabled()) {
+            throw new IllegalStateException("Debug must be off, see log4j2.xml");
+        }
+    }
+
+    @Benchmark
+    public void concatenated() {
+        CONTROLLER_LOGGER.debug("updateBook(): " + book);
+        SERVICE_LOGGER.debug("updateBook(): " + book);
+        DAO_LOGGER.debug("updateBook(): " + book);
+    }
+
+    @Benchmark
+    public void parameterized() {
+        CONTROLLER_LOGGER.debug("updateBook(): {}", book);
+        SERVICE_LOGGER.debug("updateBook(): {}", book);
+        DAO_LOGGER.debug("updateBook(): {}", book);
+    }
+}
@@ -0,0 +1,81 @@
+package com.vladsafronov.librarymanagement.benchmarks;
+
+import com.vladsafronov.librarymanagement.dao.jdbc.BookDaoH2Impl;
+import com.vladsafronov.librarymanagement.model.Book;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping of books page by index based shared mapper from BookDaoH2Impl
+ * in comparison with previous mapper, which searched columns by name,
+ * parsed date from string and was created for every query.
+ * Run with -prof gc to compare allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMapperBenchmark {
+
+    private static final String BOOKS_PAGE_SQL = "SELECT * FROM book WHERE id>? ORDER BY id LIMIT ?";
+
+    /**
+     * Count of mapped rows in one query
+     */
+    @Param({"1000"})
+    public int pageSize;
+
+    private JdbcTemplate jdbcTemplate;
+    private int afterId;
+
+    @Setup
+    public void setUp(CatalogState state) {
+        jdbcTemplate = new JdbcTemplate(state.getDataSource());
+        afterId = state.getCatalog().getFirstBookId() - 1;
+    }
+
+    @Benchmark
+    public List<Book> nameBasedMapper() {
+        return jdbcTemplate.query(BOOKS_PAGE_SQL, new NameBasedBookRowMapper(), afterId, pageSize);
+    }
+
+    @Benchmark
+    public List<Book> indexBasedMapper() {
+        return jdbcTemplate.query(BOOKS_PAGE_SQL, BookDaoH2Impl.BOOK_ROW_MAPPER, afterId, pageSize);
+    }
+
+    /**
+     * Previous implementation of BookDaoH2Impl.BookRowMapper
+     */
+    private static class NameBasedBookRowMapper implements RowMapper<Book> {
+        public Book mapRow(ResultSet resultSet, int i) throws SQLException {
+            Book res = new Book();
+            res.setTitle(resultSet.getString(BookDaoH2Impl.TITLE));
+            res.setId(resultSet.getInt(BookDaoH2Impl.ID));
+            res.setLanguage(resultSet.getString(BookDaoH2Impl.LANG));
+            res.setRating(resultSet.getInt(BookDaoH2Impl.RATING));
+            res.setReleaseDate(LocalDate.parse(resultSet.getString(BookDaoH2Impl.RELEASE_DATE)));
+
+            return res;
+        }
+    }
+}
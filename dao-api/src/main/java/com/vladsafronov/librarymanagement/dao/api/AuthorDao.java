@@ -1,10 +1,12 @@
 package com.vladsafronov.librarymanagement.dao.api;
 
 import com.vladsafronov.librarymanagement.model.Author;
+import com.vladsafronov.librarymanagement.model.AuthorStats;
 import com.vladsafronov.librarymanagement.model.Book;
 
-import javax.naming.OperationNotSupportedException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * AuthorDao interface
@@ -19,7 +21,9 @@ public interface AuthorDao {
     List<Author> getAllAuthors();
 
     /**
-     * Get author with some id
+     * Get author with some id.
+     * Lookup costs one query, absent author is reported
+     * by EmptyResultDataAccessException
      *
      * @param id author identifier
      * @return author object
@@ -27,20 +31,22 @@ public interface AuthorDao {
     Author getAuthorById(Integer id);
 
     /**
-     * Get list of authors with some name
+     * Get authors, which name starts with prefix, case insensitive
      *
-     * @param name authors name
-     * @return list of authors with this name
+     * @param prefix beginning of authors name
+     * @param limit max count of authors
+     * @return authors ordered by name and surname
      */
-    List<Author> getAuthorsByName(String name) throws OperationNotSupportedException;
+    List<Author> getAuthorsByName(String prefix, int limit);
 
     /**
-     * Get list of authors with some surname
+     * Get authors, which surname starts with prefix, case insensitive
      *
-     * @param surname authors surname
-     * @return list of authors with this surname
+     * @param prefix beginning of authors surname
+     * @param limit max count of authors
+     * @return authors ordered by surname and name
      */
-    List<Author> getAuthorsBySurname(String surname) throws OperationNotSupportedException;
+    List<Author> getAuthorsBySurname(String prefix, int limit);
 
     /**
      * Get author who was wrote this book
@@ -73,6 +79,14 @@ public interface AuthorDao {
      */
     void addAuthor(Author author);
 
+    /**
+     * Add many authors with jdbc batches, every batch is inserted in one transaction
+     *
+     * @param authors authors objects
+     * @return identifiers of added authors in the same order as authors
+     */
+    List<Integer> addAuthors(Collection<Author> authors);
+
     /**
      * Delete author
      *
@@ -89,7 +103,8 @@ public interface AuthorDao {
     int updateAuthor(Author author);
 
     /**
-     * Get count of books,which was written by this author
+     * Get count of books,which was written by this author.
+     * Count is read from pre-computed author statistics
      *
      * @param author object
      * @return count of authors books
@@ -98,11 +113,36 @@ public interface AuthorDao {
 
 
     /**
-     * Get average rating of all authors books
+     * Get average rating of all authors books.
+     * Average is computed from pre-computed author statistics
      *
      * @param author author object
      * @return average rating
      */
     double getAverageRatingOfAuthorsBooks(Author author);
 
+    /**
+     * Get statistics of many authors with one query
+     *
+     * @param ids authors identifiers
+     * @return statistics by author identifier, ordered by identifier,
+     * unexist authors are absent
+     */
+    Map<Integer, AuthorStats> getStatsForAuthors(Collection<Integer> ids);
+
+    /**
+     * Compute statistics of all authors from books again,
+     * repairs statistics if they differ from books
+     *
+     * @return count of authors with statistics
+     */
+    int rebuildAuthorStats();
+
+    /**
+     * Split names of all authors into search words again
+     *
+     * @return count of added words
+     */
+    int rebuildSearchWords();
+
 }
@@ -2,9 +2,12 @@ package com.vladsafronov.librarymanagement.dao.api;
 
 import com.vladsafronov.librarymanagement.model.Author;
 import com.vladsafronov.librarymanagement.model.Book;
+import com.vladsafronov.librarymanagement.model.BookWithAuthors;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * BookDao interface
@@ -17,6 +20,33 @@ public interface BookDao {
      */
     List<Book> getAllBooks();
 
+    /**
+     * Get page of books ordered by id (keyset pagination)
+     *
+     * @param afterId id of last book from previous page, 0 for first page
+     * @param limit max count of books in page
+     * @return books with id greater then afterId
+     */
+    List<Book> getBooksPage(Integer afterId, int limit);
+
+    /**
+     * Get page of books ordered by id together with their authors.
+     * Books and authors of the whole page are read with two queries
+     *
+     * @param afterId id of last book from previous page, 0 for first page
+     * @param limit max count of books in page
+     * @return books with id greater then afterId and their authors
+     */
+    List<BookWithAuthors> getBooksWithAuthorsPage(Integer afterId, int limit);
+
+    /**
+     * Pass all books one by one to consumer while they are read
+     * from database, without collecting them into list
+     *
+     * @param consumer consumer of books
+     */
+    void processAllBooks(Consumer<Book> consumer);
+
     /**
      * Get books list, consisted of books, which was written by concrete author
      *
@@ -26,7 +56,9 @@ public interface BookDao {
     List<Book> getBooksByAuthorId(Integer authorId);
 
     /**
-     * Get book by id
+     * Get book by id.
+     * Lookup costs one query, absent book is reported
+     * by EmptyResultDataAccessException
      *
      * @param id book identifier
      * @return book
@@ -51,6 +83,40 @@ public interface BookDao {
      */
     Book getBookByTitle(String title);
 
+    /**
+     * Search books by words of title and names of authors.
+     * Every word of query is a prefix of some word of title or of author name,
+     * words are compared case insensitive
+     *
+     * @param query words for search
+     * @param limit max count of books
+     * @return found books ordered by id
+     */
+    List<Book> searchBooks(String query, int limit);
+
+    /**
+     * Split titles of all books into search words again
+     *
+     * @return count of added words
+     */
+    int rebuildSearchWords();
+
+    /**
+     * Link book with its author and count the book in author statistics
+     *
+     * @param bookId book identifier
+     * @param authorId author identifier
+     */
+    void addAuthorToBook(Integer bookId, Integer authorId);
+
+    /**
+     * Remove link between book and author and remove the book from author statistics
+     *
+     * @param bookId book identifier
+     * @param authorId author identifier
+     */
+    void removeAuthorFromBook(Integer bookId, Integer authorId);
+
     /**
      * Update book
      *
@@ -66,6 +132,13 @@ public interface BookDao {
      */
     void deleteBookById(Integer id);
 
+    /**
+     * Delete many books at once, nothing is deleted if one of them isn't exist
+     *
+     * @param ids books identifiers
+     */
+    void deleteBooksByIds(Collection<Integer> ids);
+
     /**
      * Add new book
      *
@@ -73,6 +146,14 @@ public interface BookDao {
      */
     void addBook(Book book);
 
+    /**
+     * Add many books with jdbc batches, every batch is inserted in one transaction
+     *
+     * @param books books objects
+     * @return identifiers of added books in the same order as books
+     */
+    List<Integer> addBooks(Collection<Book> books);
+
     /**
      * Get count of book with some title
      *
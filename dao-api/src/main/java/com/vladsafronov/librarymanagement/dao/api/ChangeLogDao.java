@@ -0,0 +1,29 @@
+package com.vladsafronov.librarymanagement.dao.api;
+
+import com.vladsafronov.librarymanagement.model.CatalogChange;
+
+import java.util.List;
+
+/**
+ * ChangeLogDao interface.
+ * Changes are written by BookDao and AuthorDao with every change of catalog
+ */
+public interface ChangeLogDao {
+
+    /**
+     * Get changes after some seq
+     *
+     * @param seq seq of the last known change, 0 for all changes
+     * @param limit max count of changes
+     * @return changes ordered by seq
+     */
+    List<CatalogChange> getChangesSince(long seq, int limit);
+
+    /**
+     * Get seq of the last change, mirror reads it before it copies catalog
+     * and reads changes after it later
+     *
+     * @return seq of the last change, 0 if there are no changes
+     */
+    long getLastSeq();
+}
@@ -2,24 +2,37 @@ package com.vladsafronov.librarymanagement.dao.jdbc;
 
 import com.vladsafronov.librarymanagement.dao.api.AuthorDao;
 import com.vladsafronov.librarymanagement.model.Author;
+import com.vladsafronov.librarymanagement.model.AuthorStats;
 import com.vladsafronov.librarymanagement.model.Book;
+import com.vladsafronov.librarymanagement.model.CatalogChange;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
 
-
-import javax.naming.OperationNotSupportedException;
 import javax.sql.DataSource;
+import java.sql.Date;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * AuthorDao H2 implementation
@@ -30,6 +43,7 @@ public class AuthorDaoH2Impl implements AuthorDao {
 
     private JdbcTemplate jdbcTemplate;
     private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private TransactionTemplate transactionTemplate;
 
     @Value("${AuthorDao.sql.getAuthorById}")
     private String GET_AUTHOR_BY_ID_SQL;
@@ -37,6 +51,10 @@ public class AuthorDaoH2Impl implements AuthorDao {
     private String GET_ALL_AUTHORS_SQL;
     @Value("${AuthorDao.sql.getCountOfAuthorsByNameAndSurname}")
     private String GET_COUNT_OF_AUTHORS_BY_NAME_AND_SURNAME_SQL;
+    @Value("${AuthorDao.sql.getAuthorsByName}")
+    private String GET_AUTHORS_BY_NAME_SQL;
+    @Value("${AuthorDao.sql.getAuthorsBySurname}")
+    private String GET_AUTHORS_BY_SURNAME_SQL;
     @Value("${AuthorDao.sql.addAuthor}")
     private String ADD_AUTHOR_SQL;
     @Value("${AuthorDao.sql.getAuthorByBook}")
@@ -51,55 +69,107 @@ public class AuthorDaoH2Impl implements AuthorDao {
     private String GET_AVERAGE_RATING_OF_AUTHORS_BOOKS_SQL;
     @Value("${AuthorDao.sql.getCountOfAllAuthors}")
     private String GET_COUNT_OF_ALL_AUTHORS_SQL;
+    @Value("${AuthorDao.sql.getStatsForAuthors}")
+    private String GET_STATS_FOR_AUTHORS_SQL;
+    @Value("${AuthorDao.sql.deleteAllAuthorStats}")
+    private String DELETE_ALL_AUTHOR_STATS_SQL;
+    @Value("${AuthorDao.sql.buildAllAuthorStats}")
+    private String BUILD_ALL_AUTHOR_STATS_SQL;
+    @Value("${AuthorDao.sql.addAuthorWord}")
+    private String ADD_AUTHOR_WORD_SQL;
+    @Value("${AuthorDao.sql.deleteAuthorWords}")
+    private String DELETE_AUTHOR_WORDS_SQL;
+    @Value("${AuthorDao.sql.deleteAllAuthorWords}")
+    private String DELETE_ALL_AUTHOR_WORDS_SQL;
+    @Value("${ChangeLog.sql.addAuthorChange}")
+    private String ADD_AUTHOR_CHANGE_SQL;
+    @Value("${AuthorDao.sql.getBookIdsOfAuthor}")
+    private String GET_BOOK_IDS_OF_AUTHOR_SQL;
+    @Value("${ChangeLog.sql.lock}")
+    private String LOCK_CHANGE_LOG_SQL;
+    @Value("${ChangeLog.sql.addBookChange}")
+    private String ADD_BOOK_CHANGE_SQL;
+
+    @Value("${jdbc.batchSize}")
+    private int batchSize;
+
+    private BatchInserter batchInserter;
+
+    /**
+     * Mapper for queries, which start with all columns of author
+     */
+    public static final AuthorRowMapper AUTHOR_ROW_MAPPER = new AuthorRowMapper(1);
 
     public static final String ID="id";
     public static final String BIRTH_DATE="birth_date";
     public static final String NAME="name";
     public static final String SURNAME="surname";
+    public static final String IDS="ids";
+    public static final String PREFIX="prefix";
+    public static final String LIMIT="limit";
+    public static final String BOOK_COUNT="book_count";
+    public static final String RATING_SUM="rating_sum";
+    public static final String RATING_COUNT="rating_count";
 
     public AuthorDaoH2Impl(DataSource dataSource) {
-        jdbcTemplate = new JdbcTemplate(dataSource);
-        namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this(new JdbcTemplate(dataSource));
+    }
+
+    /**
+     * @param jdbcTemplate template, which executes all queries of dao, for example timed one
+     */
+    public AuthorDaoH2Impl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+        batchInserter = new BatchInserter(jdbcTemplate);
     }
 
     @Override
     public List<Author> getAllAuthors() {
         LOGGER.debug("getAllAuthors()");
 
-        return jdbcTemplate.query(GET_ALL_AUTHORS_SQL,new AuthorRowMapper());
+        return jdbcTemplate.query(GET_ALL_AUTHORS_SQL,AUTHOR_ROW_MAPPER);
     }
 
     @Override
     public Author getAuthorById(Integer id) {
-        LOGGER.debug("getAuthorById(): id = "+id);
+        LOGGER.debug("getAuthorById(): id = {}", id);
 
         SqlParameterSource source = new MapSqlParameterSource(ID,id);
         return namedParameterJdbcTemplate.queryForObject
-                (GET_AUTHOR_BY_ID_SQL,source,new AuthorRowMapper());
+                (GET_AUTHOR_BY_ID_SQL,source,AUTHOR_ROW_MAPPER);
     }
 
     @Override
-    public List<Author> getAuthorsByName(String name) throws OperationNotSupportedException {
-        throw new OperationNotSupportedException();
+    public List<Author> getAuthorsByName(String prefix, int limit) {
+        LOGGER.debug("getAuthorsByName(): prefix = {}, limit = {}", prefix, limit);
 
+        MapSqlParameterSource source = new MapSqlParameterSource(PREFIX,prefix);
+        source.addValue(LIMIT,limit);
+        return namedParameterJdbcTemplate.query(GET_AUTHORS_BY_NAME_SQL,source,AUTHOR_ROW_MAPPER);
     }
 
     @Override
-    public List<Author> getAuthorsBySurname(String surname) throws OperationNotSupportedException {
-        throw new OperationNotSupportedException();
+    public List<Author> getAuthorsBySurname(String prefix, int limit) {
+        LOGGER.debug("getAuthorsBySurname(): prefix = {}, limit = {}", prefix, limit);
+
+        MapSqlParameterSource source = new MapSqlParameterSource(PREFIX,prefix);
+        source.addValue(LIMIT,limit);
+        return namedParameterJdbcTemplate.query(GET_AUTHORS_BY_SURNAME_SQL,source,AUTHOR_ROW_MAPPER);
     }
 
     @Override
     public Author getAuthorByBook(Book book) {
-        LOGGER.debug("getAuthorByBook(): " + book);
+        LOGGER.debug("getAuthorByBook(): {}", book);
 
         SqlParameterSource source = new BeanPropertySqlParameterSource(book);
-        return namedParameterJdbcTemplate.queryForObject(GET_AUTHOR_BY_BOOK_SQL,source,new AuthorRowMapper());
+        return namedParameterJdbcTemplate.queryForObject(GET_AUTHOR_BY_BOOK_SQL,source,AUTHOR_ROW_MAPPER);
     }
 
     @Override
     public int getCountOfAuthorsByNameAndSurname(Author author) {
-        LOGGER.debug("getCountOfAuthorsByNameAndSurname(): " + author);
+        LOGGER.debug("getCountOfAuthorsByNameAndSurname(): {}", author);
 
         SqlParameterSource source = new BeanPropertySqlParameterSource(author);
         return namedParameterJdbcTemplate.queryForObject(GET_COUNT_OF_AUTHORS_BY_NAME_AND_SURNAME_SQL,source,Integer.class);
@@ -113,62 +183,265 @@ public class AuthorDaoH2Impl implements AuthorDao {
     }
 
     @Override
-    public void addAuthor(Author author) {
-        LOGGER.debug("addAuthor() :  " + author);
-
-        SqlParameterSource source = new BeanPropertySqlParameterSource(author);
-        namedParameterJdbcTemplate.update(ADD_AUTHOR_SQL,source);
+    public void addAuthor(final Author author) {
+        LOGGER.debug("addAuthor() :  {}", author);
+
+        final SqlParameterSource source = new BeanPropertySqlParameterSource(author);
+        transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                KeyHolder keyHolder = new GeneratedKeyHolder();
+                namedParameterJdbcTemplate.update(ADD_AUTHOR_SQL,source,keyHolder);
+                int id = keyHolder.getKey().intValue();
+                addSearchWords(SearchWords.sources(id,author.getName(),author.getSurname()));
+                addChanges(CatalogChange.Operation.INSERT,Collections.singletonList(id));
+            }
+        });
     }
 
     @Override
-    public void deleteAuthorById(Integer id) {
-        LOGGER.debug("deleteAuthorById(): id = "+id);
+    public List<Integer> addAuthors(Collection<Author> authors) {
+        LOGGER.debug("addAuthors(): count = {}", authors.size());
 
-        SqlParameterSource source = new MapSqlParameterSource(ID,id);
-        int count = namedParameterJdbcTemplate.update(DELETE_AUTHOR_BY_ID_SQL,source);
-        if(count==0){
-            throw new IllegalArgumentException(DaoErrorMessages.ELEMENT_WITH_SUCH_ID_ISNT_EXIST);
+        List<Author> authorList = new ArrayList<>(authors);
+        List<Integer> keys = new ArrayList<>(authorList.size());
+        for (int from = 0; from < authorList.size(); from += batchSize) {
+            keys.addAll(addAuthorsChunk(authorList.subList(from,Math.min(from + batchSize,authorList.size()))));
         }
+        return keys;
+    }
+
+    /**
+     * Insert authors and their search words in one transaction
+     *
+     * @param chunk authors, not more then batch size
+     * @return identifiers of added authors
+     */
+    private List<Integer> addAuthorsChunk(final List<Author> chunk) {
+        return transactionTemplate.execute(new TransactionCallback<List<Integer>>() {
+            @Override
+            public List<Integer> doInTransaction(TransactionStatus status) {
+                List<SqlParameterSource> sources = new ArrayList<>(chunk.size());
+                for (Author author : chunk) {
+                    sources.add(new BeanPropertySqlParameterSource(author));
+                }
+                List<Integer> keys = batchInserter.insert(ADD_AUTHOR_SQL,sources,batchSize);
+
+                List<SqlParameterSource> words = new ArrayList<>();
+                for (int i = 0; i < chunk.size(); i++) {
+                    words.addAll(SearchWords.sources(keys.get(i),chunk.get(i).getName(),chunk.get(i).getSurname()));
+                }
+                addSearchWords(words);
+                addChanges(CatalogChange.Operation.INSERT,keys);
+                return keys;
+            }
+        });
+    }
+
+    /**
+     * Insert words of search index with one batch in one transaction
+     *
+     * @param words word and author id parameters
+     * @return count of inserted words
+     */
+    private int addSearchWords(final List<SqlParameterSource> words) {
+        if(words.isEmpty()){
+            return 0;
+        }
+        transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                namedParameterJdbcTemplate.batchUpdate(ADD_AUTHOR_WORD_SQL,words.toArray(new SqlParameterSource[words.size()]));
+            }
+        });
+        return words.size();
+    }
+
+    @Override
+    public void deleteAuthorById(final Integer id) {
+        LOGGER.debug("deleteAuthorById(): id = {}", id);
+
+        final SqlParameterSource source = new MapSqlParameterSource(ID,id);
+        // statistics, search words and links with books are deleted by database together
+        // with author, books which lose author are written to change log as updated
+        transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                List<Integer> bookIds = namedParameterJdbcTemplate.queryForList
+                        (GET_BOOK_IDS_OF_AUTHOR_SQL,source,Integer.class);
+                int count = namedParameterJdbcTemplate.update(DELETE_AUTHOR_BY_ID_SQL,source);
+                if(count==0){
+                    throw new IllegalArgumentException(DaoErrorMessages.ELEMENT_WITH_SUCH_ID_ISNT_EXIST);
+                }
+                addChanges(CatalogChange.Operation.DELETE,Collections.singletonList(id),bookIds);
+            }
+        });
     }
 
     @Override
-    public int updateAuthor(Author author){
-        LOGGER.debug("updateAuthor(): " + author);
+    public int updateAuthor(final Author author){
+        LOGGER.debug("updateAuthor(): {}", author);
+
+        final SqlParameterSource source = new BeanPropertySqlParameterSource(author);
+        return transactionTemplate.execute(new TransactionCallback<Integer>() {
+            @Override
+            public Integer doInTransaction(TransactionStatus status) {
+                int count = namedParameterJdbcTemplate.update(UPDATE_AUTHOR_SQL,source);
+                if(count>0){
+                    namedParameterJdbcTemplate.update(DELETE_AUTHOR_WORDS_SQL,source);
+                    addSearchWords(SearchWords.sources(author.getId(),author.getName(),author.getSurname()));
+                    addChanges(CatalogChange.Operation.UPDATE,Collections.singletonList(author.getId()));
+                }
+                return count;
+            }
+        });
+    }
 
-        SqlParameterSource source = new BeanPropertySqlParameterSource(author);
-        return namedParameterJdbcTemplate.update(UPDATE_AUTHOR_SQL,source);
+    /**
+     * Write changes of authors to change log in transaction of change
+     *
+     * @param operation kind of change
+     * @param ids identifiers of changed authors
+     */
+    private void addChanges(CatalogChange.Operation operation, Collection<Integer> ids) {
+        addChanges(operation,ids,Collections.<Integer>emptyList());
+    }
+
+    /**
+     * Write changes of authors and updates of their books to change log after the change,
+     * so change log is locked after rows of change as it is done by book dao
+     *
+     * @param operation kind of change
+     * @param ids identifiers of changed authors
+     * @param updatedBookIds identifiers of books, which are changed together with authors
+     */
+    private void addChanges(CatalogChange.Operation operation, Collection<Integer> ids,
+                            Collection<Integer> updatedBookIds) {
+        jdbcTemplate.update(LOCK_CHANGE_LOG_SQL);
+        if(!updatedBookIds.isEmpty()){
+            namedParameterJdbcTemplate.batchUpdate(ADD_BOOK_CHANGE_SQL,
+                    ChangeLog.sources(CatalogChange.Operation.UPDATE,updatedBookIds));
+        }
+        namedParameterJdbcTemplate.batchUpdate(ADD_AUTHOR_CHANGE_SQL,ChangeLog.sources(operation,ids));
     }
 
     @Override
     public int getCountOfAuthorsBooks(Author author) {
-        LOGGER.debug("getCountOfAuthorsBooks(): " + author);
+        LOGGER.debug("getCountOfAuthorsBooks(): {}", author);
 
-        SqlParameterSource source = new BeanPropertySqlParameterSource(author);
-        return namedParameterJdbcTemplate.queryForObject
+        SqlParameterSource source = new MapSqlParameterSource(ID,author.getId());
+        List<Integer> count = namedParameterJdbcTemplate.queryForList
                 (GET_COUNT_OF_AUTHORS_BOOKS_SQL,source,Integer.class);
+        // author without books may have no statistics
+        return count.isEmpty() ? 0 : count.get(0);
     }
 
     @Override
     public double getAverageRatingOfAuthorsBooks(Author author) {
-        LOGGER.debug("getAverageRatingOfAuthorsBooks(): "+ author);
+        LOGGER.debug("getAverageRatingOfAuthorsBooks(): {}", author);
+
+        SqlParameterSource source = new MapSqlParameterSource(ID,author.getId());
+        List<long[]> stats = namedParameterJdbcTemplate.query
+                (GET_AVERAGE_RATING_OF_AUTHORS_BOOKS_SQL,source,new RowMapper<long[]>() {
+                    @Override
+                    public long[] mapRow(ResultSet resultSet, int i) throws SQLException {
+                        return new long[]{resultSet.getLong(RATING_SUM),resultSet.getLong(RATING_COUNT)};
+                    }
+                });
+        if(stats.isEmpty() || stats.get(0)[1]==0) throw new IllegalArgumentException();
+
+        // integer division, as AVG of integer rating column
+        return stats.get(0)[0]/stats.get(0)[1];
+    }
 
+    @Override
+    public Map<Integer, AuthorStats> getStatsForAuthors(Collection<Integer> ids) {
+        LOGGER.debug("getStatsForAuthors(): count = {}", ids.size());
 
-        SqlParameterSource source = new BeanPropertySqlParameterSource(author);
-        Double average = namedParameterJdbcTemplate.queryForObject
-                (GET_AVERAGE_RATING_OF_AUTHORS_BOOKS_SQL,source,Double.class);
-        if(average==null) throw new IllegalArgumentException();
+        final Map<Integer, AuthorStats> stats = new LinkedHashMap<>();
+        if(ids.isEmpty()){
+            return stats;
+        }
+        SqlParameterSource source = new MapSqlParameterSource(IDS,ids);
+        namedParameterJdbcTemplate.query(GET_STATS_FOR_AUTHORS_SQL,source,new RowCallbackHandler() {
+            @Override
+            public void processRow(ResultSet resultSet) throws SQLException {
+                int authorId = resultSet.getInt(ID);
+                long ratingCount = resultSet.getLong(RATING_COUNT);
+                // the same integer average as in getAverageRatingOfAuthorsBooks
+                Double average = ratingCount == 0 ? null
+                        : (double) (resultSet.getLong(RATING_SUM)/ratingCount);
+                stats.put(authorId,new AuthorStats(authorId,resultSet.getInt(BOOK_COUNT),average));
+            }
+        });
+        return stats;
+    }
+
+    @Override
+    public int rebuildAuthorStats() {
+        LOGGER.debug("rebuildAuthorStats()");
+
+        return transactionTemplate.execute(new TransactionCallback<Integer>() {
+            @Override
+            public Integer doInTransaction(TransactionStatus status) {
+                jdbcTemplate.update(DELETE_ALL_AUTHOR_STATS_SQL);
+                return jdbcTemplate.update(BUILD_ALL_AUTHOR_STATS_SQL);
+            }
+        });
+    }
 
-        return average;
+    @Override
+    public int rebuildSearchWords() {
+        LOGGER.debug("rebuildSearchWords()");
+
+        // words are committed by batches, as commit of millions of rows at once is slow,
+        // so search can miss some authors while index is rebuilt
+        jdbcTemplate.update(DELETE_ALL_AUTHOR_WORDS_SQL);
+
+        final List<SqlParameterSource> words = new ArrayList<>();
+        final int[] count = {0};
+        jdbcTemplate.query(GET_ALL_AUTHORS_SQL,new RowCallbackHandler() {
+            @Override
+            public void processRow(ResultSet resultSet) throws SQLException {
+                Author author = AUTHOR_ROW_MAPPER.mapRow(resultSet,resultSet.getRow());
+                words.addAll(SearchWords.sources(author.getId(),author.getName(),author.getSurname()));
+                if(words.size()>=batchSize){
+                    count[0] += addSearchWords(words);
+                    words.clear();
+                }
+            }
+        });
+        return count[0] + addSearchWords(words);
     }
 
-    private class AuthorRowMapper implements RowMapper<Author>{
+    /**
+     * Maps author columns in table order (id, name, surname, birth_date)
+     * by index, one instance is shared by all queries with the same columns position.
+     */
+    public static class AuthorRowMapper implements RowMapper<Author>{
+        private final int idColumn;
+        private final int nameColumn;
+        private final int surnameColumn;
+        private final int birthDateColumn;
+
+        /**
+         * @param firstColumn index of id column, other author columns follow it
+         */
+        public AuthorRowMapper(int firstColumn) {
+            idColumn = firstColumn;
+            nameColumn = firstColumn + 1;
+            surnameColumn = firstColumn + 2;
+            birthDateColumn = firstColumn + 3;
+        }
+
         @Override
         public Author mapRow(ResultSet resultSet, int i) throws SQLException {
             Author author = new Author();
-            author.setId(resultSet.getInt(ID));
-            author.setBirthDate(LocalDate.parse(resultSet.getString(BIRTH_DATE)));
-            author.setName(resultSet.getString(NAME));
-            author.setSurname(resultSet.getString(SURNAME));
+            author.setId(resultSet.getInt(idColumn));
+            Date birthDate = resultSet.getDate(birthDateColumn);
+            author.setBirthDate(birthDate == null ? null : birthDate.toLocalDate());
+            author.setName(resultSet.getString(nameColumn));
+            author.setSurname(resultSet.getString(surnameColumn));
             return author;
         }
     }
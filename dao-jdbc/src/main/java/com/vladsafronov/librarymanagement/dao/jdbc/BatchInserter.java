@@ -0,0 +1,148 @@
+package com.vladsafronov.librarymanagement.dao.jdbc;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.SqlProvider;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Executes insert statement for many rows with jdbc batches.
+ * Every chunk of rows is inserted in one transaction and one round-trip.
+ */
+class BatchInserter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    BatchInserter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate
+                (new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+    }
+
+    /**
+     * Insert rows
+     *
+     * @param namedSql insert statement with named parameters
+     * @param sources parameters of rows
+     * @param batchSize max count of rows in one batch
+     * @return generated keys of inserted rows in the same order as sources
+     */
+    List<Integer> insert(String namedSql, List<SqlParameterSource> sources, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        List<Integer> keys = new ArrayList<>(sources.size());
+        if (sources.isEmpty()) {
+            return keys;
+        }
+
+        ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(namedSql);
+        String sql = NamedParameterUtils.substituteNamedParameters(parsedSql, sources.get(0));
+
+        for (int from = 0; from < sources.size(); from += batchSize) {
+            List<SqlParameterSource> chunk = sources.subList(from, Math.min(from + batchSize, sources.size()));
+            keys.addAll(insertChunk(sql, parsedSql, chunk));
+        }
+        return keys;
+    }
+
+    private List<Integer> insertChunk(String sql, ParsedSql parsedSql, List<SqlParameterSource> chunk) {
+        final ChunkStatement statement = new ChunkStatement(sql, parsedSql, chunk);
+        return transactionTemplate.execute(new TransactionCallback<List<Integer>>() {
+            @Override
+            public List<Integer> doInTransaction(TransactionStatus status) {
+                // statement of template is timed by name of query and logged when it is slow
+                return jdbcTemplate.execute(statement, new PreparedStatementCallback<List<Integer>>() {
+                    @Override
+                    public List<Integer> doInPreparedStatement(PreparedStatement preparedStatement)
+                            throws SQLException {
+                        for (int i = 0; i < statement.getBatchSize(); i++) {
+                            statement.setValues(preparedStatement, i);
+                            preparedStatement.addBatch();
+                        }
+                        preparedStatement.executeBatch();
+                        return readKeys(preparedStatement, statement.getBatchSize());
+                    }
+                });
+            }
+        });
+    }
+
+    private List<Integer> readKeys(PreparedStatement statement, int expectedCount) throws SQLException {
+        List<Integer> keys = new ArrayList<>(expectedCount);
+        ResultSet resultSet = statement.getGeneratedKeys();
+        try {
+            while (resultSet.next()) {
+                keys.add(resultSet.getInt(1));
+            }
+        } finally {
+            JdbcUtils.closeResultSet(resultSet);
+        }
+        if (keys.size() != expectedCount) {
+            throw new IllegalStateException
+                    ("Expected " + expectedCount + " generated keys, but got " + keys.size());
+        }
+        return keys;
+    }
+
+    /**
+     * Insert statement of chunk, which returns generated keys
+     */
+    private static class ChunkStatement implements PreparedStatementCreator, BatchPreparedStatementSetter,
+            SqlProvider {
+
+        private final String sql;
+        private final ParsedSql parsedSql;
+        private final List<SqlParameterSource> chunk;
+
+        ChunkStatement(String sql, ParsedSql parsedSql, List<SqlParameterSource> chunk) {
+            this.sql = sql;
+            this.parsedSql = parsedSql;
+            this.chunk = chunk;
+        }
+
+        @Override
+        public PreparedStatement createPreparedStatement(Connection connection) throws SQLException {
+            return connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+        }
+
+        @Override
+        public void setValues(PreparedStatement statement, int i) throws SQLException {
+            SqlParameterSource source = chunk.get(i);
+            Object[] values = NamedParameterUtils.buildValueArray(parsedSql, source, null);
+            int[] types = NamedParameterUtils.buildSqlTypeArray(parsedSql, source);
+            for (int index = 0; index < values.length; index++) {
+                StatementCreatorUtils.setParameterValue(statement, index + 1, types[index], values[index]);
+            }
+        }
+
+        @Override
+        public int getBatchSize() {
+            return chunk.size();
+        }
+
+        @Override
+        public String getSql() {
+            return sql;
+        }
+    }
+}
@@ -1,24 +1,43 @@
 package com.vladsafronov.librarymanagement.dao.jdbc;
 
 import com.vladsafronov.librarymanagement.dao.api.BookDao;
+import com.vladsafronov.librarymanagement.model.Author;
 import com.vladsafronov.librarymanagement.model.Book;
+import com.vladsafronov.librarymanagement.model.BookWithAuthors;
+import com.vladsafronov.librarymanagement.model.CatalogChange;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.sql.DataSource;
+import java.sql.Date;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 
 /**
@@ -30,9 +49,14 @@ public class BookDaoH2Impl implements BookDao {
 
     private JdbcTemplate jdbcTemplate;
     private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private TransactionTemplate transactionTemplate;
 
     @Value("${BookDao.sql.getAllBooks}")
     private String GET_ALL_BOOKS_SQL;
+    @Value("${BookDao.sql.getBooksPage}")
+    private String GET_BOOKS_PAGE_SQL;
+    @Value("${BookDao.sql.getAuthorsOfBooks}")
+    private String GET_AUTHORS_OF_BOOKS_SQL;
     @Value("${BookDao.sql.getBookById}")
     private String GET_BOOK_BY_ID_SQL;
     @Value("${BookDao.sql.getBooksFromPeriod}")
@@ -43,8 +67,6 @@ public class BookDaoH2Impl implements BookDao {
     private String UPDATE_BOOK_SQL;
     @Value("${BookDao.sql.deleteBookById}")
     private String DELETE_BOOK_BY_ID_SQL;
-    @Value("${BookDao.sql.deleteBookFromBookAuthor}")
-    private String DELETE_BOOK_FROM_BOOK_AUTHOR_SQL;
     @Value("${BookDao.sql.addBook}")
     private String ADD_BOOK_SQL;
     @Value("${BookDao.sql.getCountOfBookWithTitle}")
@@ -53,88 +75,433 @@ public class BookDaoH2Impl implements BookDao {
     private String GET_BOOK_BY_AUTHOR_ID_SQL;
     @Value("${BookDao.sql.getCountOfAllBooks}")
     private String GET_COUNT_OF_ALL_BOOKS;
+    @Value("${BookDao.sql.addAuthorToBook}")
+    private String ADD_AUTHOR_TO_BOOK_SQL;
+    @Value("${BookDao.sql.removeAuthorFromBook}")
+    private String REMOVE_AUTHOR_FROM_BOOK_SQL;
+    @Value("${BookDao.sql.addAuthorStatsIfAbsent}")
+    private String ADD_AUTHOR_STATS_IF_ABSENT_SQL;
+    @Value("${BookDao.sql.updateStatsOfAuthor}")
+    private String UPDATE_STATS_OF_AUTHOR_SQL;
+    @Value("${BookDao.sql.updateStatsOfBookAuthors}")
+    private String UPDATE_STATS_OF_BOOK_AUTHORS_SQL;
+    @Value("${BookDao.sql.addBookWord}")
+    private String ADD_BOOK_WORD_SQL;
+    @Value("${BookDao.sql.deleteBookWords}")
+    private String DELETE_BOOK_WORDS_SQL;
+    @Value("${BookDao.sql.deleteAllBookWords}")
+    private String DELETE_ALL_BOOK_WORDS_SQL;
+    @Value("${BookDao.sql.searchBooks}")
+    private String SEARCH_BOOKS_SQL;
+    @Value("${ChangeLog.sql.lock}")
+    private String LOCK_CHANGE_LOG_SQL;
+    @Value("${ChangeLog.sql.addBookChange}")
+    private String ADD_BOOK_CHANGE_SQL;
+
+    @Value("${jdbc.batchSize}")
+    private int batchSize;
+
+    private BatchInserter batchInserter;
 
     public static final String TITLE="title";
     public static final String ID="id";
     public static final String LANG="lang";
     public static final String RATING="rating";
     public static final String RELEASE_DATE="release_date";
+    public static final String AFTER_ID="afterId";
+    public static final String IDS="ids";
+    public static final String BOOK_ID_COLUMN="book_id";
+    public static final String LIMIT="limit";
+    public static final String BOOK_ID="bookId";
+    public static final String AUTHOR_ID="authorId";
+    public static final String BOOK_COUNT_DELTA="bookCountDelta";
+    public static final String RATING_SIGN="ratingSign";
+    public static final String TERMS="terms";
+    public static final String TERM_COUNT="termCount";
+
+    /**
+     * Mapper for queries, which start with all columns of book
+     */
+    public static final BookRowMapper BOOK_ROW_MAPPER = new BookRowMapper(1);
+    /**
+     * Mapper for authors of books query: book_id, then all columns of author
+     */
+    private static final AuthorDaoH2Impl.AuthorRowMapper AUTHOR_OF_BOOK_ROW_MAPPER =
+            new AuthorDaoH2Impl.AuthorRowMapper(2);
+
+    /**
+     * Count of books which are read by one query while books are streamed
+     */
+    public static final int STREAM_PAGE_SIZE = 500;
 
     BookDaoH2Impl(DataSource dataSource){
-        jdbcTemplate = new JdbcTemplate(dataSource);
-        namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this(new JdbcTemplate(dataSource));
+    }
+
+    /**
+     * @param jdbcTemplate template, which executes all queries of dao, for example timed one
+     */
+    BookDaoH2Impl(JdbcTemplate jdbcTemplate){
+        this.jdbcTemplate = jdbcTemplate;
+        namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+        batchInserter = new BatchInserter(jdbcTemplate);
     }
 
 
     public List<Book> getAllBooks() {
         LOGGER.debug("getAllBooks()");
 
-        return  jdbcTemplate.query(GET_ALL_BOOKS_SQL,new BookRowMapper());
+        return  jdbcTemplate.query(GET_ALL_BOOKS_SQL,BOOK_ROW_MAPPER);
+    }
+
+    @Override
+    public List<Book> getBooksPage(Integer afterId, int limit) {
+        LOGGER.debug("getBooksPage(): afterId = {}, limit = {}", afterId, limit);
+
+        MapSqlParameterSource source = new MapSqlParameterSource(AFTER_ID,afterId);
+        source.addValue(LIMIT,limit);
+        return namedParameterJdbcTemplate.query(GET_BOOKS_PAGE_SQL,source,BOOK_ROW_MAPPER);
+    }
+
+    @Override
+    public List<BookWithAuthors> getBooksWithAuthorsPage(Integer afterId, int limit) {
+        LOGGER.debug("getBooksWithAuthorsPage(): afterId = {}, limit = {}", afterId, limit);
+
+        final Map<Integer,BookWithAuthors> booksById = new LinkedHashMap<>();
+        for (Book book : getBooksPage(afterId,limit)) {
+            booksById.put(book.getId(),new BookWithAuthors(book,new ArrayList<Author>()));
+        }
+        if(booksById.isEmpty()){
+            return new ArrayList<>();
+        }
+
+        // authors of all books of page are read at once instead of query per book
+        SqlParameterSource source = new MapSqlParameterSource(IDS,booksById.keySet());
+        namedParameterJdbcTemplate.query(GET_AUTHORS_OF_BOOKS_SQL,source,new RowCallbackHandler() {
+            @Override
+            public void processRow(ResultSet resultSet) throws SQLException {
+                booksById.get(resultSet.getInt(BOOK_ID_COLUMN)).getAuthors()
+                        .add(AUTHOR_OF_BOOK_ROW_MAPPER.mapRow(resultSet,resultSet.getRow()));
+            }
+        });
+        return new ArrayList<>(booksById.values());
+    }
+
+    /**
+     * Books are read by keyset pages, as embedded h2 reads whole result set
+     * into memory regardless of fetch size. Pages are separate queries, so
+     * book changed while books are processed is read as it was when its page was read.
+     */
+    @Override
+    public void processAllBooks(final Consumer<Book> consumer) {
+        LOGGER.debug("processAllBooks()");
+
+        int afterId = 0;
+        List<Book> page;
+        do {
+            page = getBooksPage(afterId,STREAM_PAGE_SIZE);
+            for (Book book : page) {
+                consumer.accept(book);
+            }
+            if(!page.isEmpty()){
+                afterId = page.get(page.size()-1).getId();
+            }
+        } while (page.size()==STREAM_PAGE_SIZE);
     }
 
     public List<Book> getBooksByAuthorId(Integer authorId) {
-        LOGGER.debug("getBooksByAuthorId(): authorID = "+authorId);
+        LOGGER.debug("getBooksByAuthorId(): authorID = {}", authorId);
 
         SqlParameterSource sqlParameterSource = new MapSqlParameterSource(ID,authorId);
-        return namedParameterJdbcTemplate.query(GET_BOOK_BY_AUTHOR_ID_SQL,sqlParameterSource,new BookRowMapper());
+        return namedParameterJdbcTemplate.query(GET_BOOK_BY_AUTHOR_ID_SQL,sqlParameterSource,BOOK_ROW_MAPPER);
     }
 
     public Book getBookById(Integer id) {
-        LOGGER.debug("getBookById(): id = "+ id);
+        LOGGER.debug("getBookById(): id = {}", id);
 
         SqlParameterSource sqlParameterSource = new MapSqlParameterSource(ID,id);
         return namedParameterJdbcTemplate.queryForObject
-                (GET_BOOK_BY_ID_SQL,sqlParameterSource,new BookRowMapper());
+                (GET_BOOK_BY_ID_SQL,sqlParameterSource,BOOK_ROW_MAPPER);
     }
 
     @Override
     public List<Book> getBooksFromPeriod(LocalDate from, LocalDate to) {
-        LOGGER.debug("getBooksFromPeriod(): from "+from+" to " + to);
+        LOGGER.debug("getBooksFromPeriod(): from {} to {}", from, to);
 
         Map<String,Object> source = new HashMap<>();
         source.put("from",from);
         source.put("to",to);
         return namedParameterJdbcTemplate.query
-                (GET_BOOKS_FROM_PERIOD_SQL,source,new BookRowMapper());
+                (GET_BOOKS_FROM_PERIOD_SQL,source,BOOK_ROW_MAPPER);
+    }
+
+    @Override
+    public List<Book> searchBooks(String query, int limit) {
+        LOGGER.debug("searchBooks(): query = {}, limit = {}", query, limit);
+
+        List<String> terms = SearchWords.split(query);
+        if(terms.isEmpty()){
+            return new ArrayList<>();
+        }
+        // all terms are passed as one array, which is read by table function
+        MapSqlParameterSource source = new MapSqlParameterSource(TERMS,terms.toArray(new String[terms.size()]));
+        source.addValue(TERM_COUNT,terms.size());
+        source.addValue(LIMIT,limit);
+        return namedParameterJdbcTemplate.query(SEARCH_BOOKS_SQL,source,BOOK_ROW_MAPPER);
+    }
+
+    @Override
+    public int rebuildSearchWords() {
+        LOGGER.debug("rebuildSearchWords()");
+
+        // words are committed by batches, as commit of millions of rows at once is slow,
+        // so search can miss some books while index is rebuilt
+        jdbcTemplate.update(DELETE_ALL_BOOK_WORDS_SQL);
+
+        final List<SqlParameterSource> words = new ArrayList<>();
+        final int[] count = {0};
+        processAllBooks(new Consumer<Book>() {
+            @Override
+            public void accept(Book book) {
+                words.addAll(SearchWords.sources(book.getId(),book.getTitle()));
+                if(words.size()>=batchSize){
+                    count[0] += addSearchWords(words);
+                    words.clear();
+                }
+            }
+        });
+        return count[0] + addSearchWords(words);
+    }
+
+    /**
+     * Insert words of search index with one batch in one transaction
+     *
+     * @param words word and book id parameters
+     * @return count of inserted words
+     */
+    private int addSearchWords(final List<SqlParameterSource> words) {
+        if(words.isEmpty()){
+            return 0;
+        }
+        transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                namedParameterJdbcTemplate.batchUpdate(ADD_BOOK_WORD_SQL,words.toArray(new SqlParameterSource[words.size()]));
+            }
+        });
+        return words.size();
     }
 
     public Book getBookByTitle(String title) {
-        LOGGER.debug("getBookByTitle(): title = "+ title);
+        LOGGER.debug("getBookByTitle(): title = {}", title);
 
         SqlParameterSource sqlParameterSource = new MapSqlParameterSource(TITLE,title);
         return namedParameterJdbcTemplate.queryForObject
-                (GET_BOOK_BY_TITLE_SQL,sqlParameterSource,new BookRowMapper());
+                (GET_BOOK_BY_TITLE_SQL,sqlParameterSource,BOOK_ROW_MAPPER);
     }
 
-    public int updateBook(Book book) {
-        LOGGER.debug("updateBook(): "+ book);
-
-        SqlParameterSource source = new BeanPropertySqlParameterSource(book);
+    public int updateBook(final Book book) {
+        LOGGER.debug("updateBook(): {}", book);
+
+        final SqlParameterSource source = new BeanPropertySqlParameterSource(book);
+
+        // rating of book is removed from statistics of its authors and added again after update
+        return transactionTemplate.execute(new TransactionCallback<Integer>() {
+            @Override
+            public Integer doInTransaction(TransactionStatus status) {
+                updateStatsOfBookAuthors(book.getId(),0,-1);
+                int count = namedParameterJdbcTemplate.update(UPDATE_BOOK_SQL,source);
+                updateStatsOfBookAuthors(book.getId(),0,1);
+                if(count>0){
+                    namedParameterJdbcTemplate.update(DELETE_BOOK_WORDS_SQL,new MapSqlParameterSource(ID,book.getId()));
+                    addSearchWords(SearchWords.sources(book.getId(),book.getTitle()));
+                    addChanges(CatalogChange.Operation.UPDATE,Collections.singletonList(book.getId()));
+                }
+                return count;
+            }
+        });
+    }
 
-        return namedParameterJdbcTemplate.update
-                (UPDATE_BOOK_SQL,source);
+    public void deleteBookById(final Integer id) {
+        LOGGER.debug("deleteBookById(): {}", id);
+
+        final SqlParameterSource sqlParameterSource = new MapSqlParameterSource(ID,id);
+        // links and search words of book are deleted by database together with book
+        transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                updateStatsOfBookAuthors(id,-1,-1);
+                if(namedParameterJdbcTemplate.update(DELETE_BOOK_BY_ID_SQL,sqlParameterSource)!=1){
+                    throw new IllegalArgumentException(DaoErrorMessages.ELEMENT_WITH_SUCH_ID_ISNT_EXIST);
+                }
+                addChanges(CatalogChange.Operation.DELETE,Collections.singletonList(id));
+            }
+        });
     }
 
-    public void deleteBookById(Integer id) {
-        LOGGER.debug("deleteBookById(): "+ id);
+    @Override
+    public void deleteBooksByIds(Collection<Integer> ids) {
+        LOGGER.debug("deleteBooksByIds(): count = {}", ids.size());
 
-        SqlParameterSource sqlParameterSource = new MapSqlParameterSource(ID,id);
-        namedParameterJdbcTemplate.update(DELETE_BOOK_FROM_BOOK_AUTHOR_SQL,sqlParameterSource);
-        if(namedParameterJdbcTemplate.update(DELETE_BOOK_BY_ID_SQL,sqlParameterSource)!=1){
-            throw new IllegalArgumentException(DaoErrorMessages.ELEMENT_WITH_SUCH_ID_ISNT_EXIST);
+        final List<Integer> uniqueIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        if(uniqueIds.isEmpty()){
+            return;
+        }
+        final SqlParameterSource[] sources = new SqlParameterSource[uniqueIds.size()];
+        for (int i = 0; i < sources.length; i++) {
+            MapSqlParameterSource source = new MapSqlParameterSource(ID,uniqueIds.get(i));
+            source.addValue(BOOK_ID,uniqueIds.get(i));
+            source.addValue(BOOK_COUNT_DELTA,-1);
+            source.addValue(RATING_SIGN,-1);
+            sources[i] = source;
         }
+        // the same statements as delete of one book, sent with one batch per statement;
+        // set-based update of statistics by list of ids is much slower in H2
+        transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                namedParameterJdbcTemplate.batchUpdate(UPDATE_STATS_OF_BOOK_AUTHORS_SQL,sources);
+                for (int count : namedParameterJdbcTemplate.batchUpdate(DELETE_BOOK_BY_ID_SQL,sources)) {
+                    if(count!=1){
+                        throw new IllegalArgumentException(DaoErrorMessages.ELEMENT_WITH_SUCH_ID_ISNT_EXIST);
+                    }
+                }
+                addChanges(CatalogChange.Operation.DELETE,uniqueIds);
+            }
+        });
+    }
+
+    @Override
+    public void addAuthorToBook(final Integer bookId, final Integer authorId) {
+        LOGGER.debug("addAuthorToBook(): bookId = {}, authorId = {}", bookId, authorId);
+
+        final MapSqlParameterSource source = new MapSqlParameterSource(BOOK_ID,bookId);
+        source.addValue(AUTHOR_ID,authorId);
+        transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                namedParameterJdbcTemplate.update(ADD_AUTHOR_TO_BOOK_SQL,source);
+                namedParameterJdbcTemplate.update(ADD_AUTHOR_STATS_IF_ABSENT_SQL,source);
+                updateStatsOfAuthor(source,1);
+                addChanges(CatalogChange.Operation.UPDATE,Collections.singletonList(bookId));
+            }
+        });
+    }
+
+    @Override
+    public void removeAuthorFromBook(final Integer bookId, final Integer authorId) {
+        LOGGER.debug("removeAuthorFromBook(): bookId = {}, authorId = {}", bookId, authorId);
+
+        final MapSqlParameterSource source = new MapSqlParameterSource(BOOK_ID,bookId);
+        source.addValue(AUTHOR_ID,authorId);
+        transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                if(namedParameterJdbcTemplate.update(REMOVE_AUTHOR_FROM_BOOK_SQL,source)!=1){
+                    throw new IllegalArgumentException(DaoErrorMessages.BOOK_ISNT_LINKED_WITH_AUTHOR);
+                }
+                updateStatsOfAuthor(source,-1);
+                addChanges(CatalogChange.Operation.UPDATE,Collections.singletonList(bookId));
+            }
+        });
+    }
+
+    /**
+     * Write changes of books to change log in transaction of change
+     *
+     * @param operation kind of change
+     * @param ids identifiers of changed books
+     */
+    private void addChanges(CatalogChange.Operation operation, Collection<Integer> ids) {
+        jdbcTemplate.update(LOCK_CHANGE_LOG_SQL);
+        namedParameterJdbcTemplate.batchUpdate(ADD_BOOK_CHANGE_SQL,ChangeLog.sources(operation,ids));
+    }
+
+    /**
+     * Add book to statistics of one author or remove it
+     *
+     * @param source book and author identifiers
+     * @param sign 1 to add book, -1 to remove
+     */
+    private void updateStatsOfAuthor(MapSqlParameterSource source, int sign) {
+        MapSqlParameterSource statsSource = new MapSqlParameterSource(source.getValues());
+        statsSource.addValue(BOOK_COUNT_DELTA,sign);
+        statsSource.addValue(RATING_SIGN,sign);
+        namedParameterJdbcTemplate.update(UPDATE_STATS_OF_AUTHOR_SQL,statsSource);
     }
 
-    public void addBook(Book book) {
-        LOGGER.debug("addBook():  "+ book);
+    /**
+     * Change statistics of all authors of book by current book values
+     *
+     * @param bookId book identifier
+     * @param bookCountDelta change of count of authors books
+     * @param ratingSign 1 to add rating of book, -1 to subtract it
+     */
+    private void updateStatsOfBookAuthors(Integer bookId, int bookCountDelta, int ratingSign) {
+        MapSqlParameterSource source = new MapSqlParameterSource(BOOK_ID,bookId);
+        source.addValue(BOOK_COUNT_DELTA,bookCountDelta);
+        source.addValue(RATING_SIGN,ratingSign);
+        namedParameterJdbcTemplate.update(UPDATE_STATS_OF_BOOK_AUTHORS_SQL,source);
+    }
 
-        SqlParameterSource sqlParameterSource = new BeanPropertySqlParameterSource(book);
-        namedParameterJdbcTemplate.update
-                (ADD_BOOK_SQL,sqlParameterSource);
+    public void addBook(final Book book) {
+        LOGGER.debug("addBook():  {}", book);
+
+        final SqlParameterSource sqlParameterSource = new BeanPropertySqlParameterSource(book);
+        transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                KeyHolder keyHolder = new GeneratedKeyHolder();
+                namedParameterJdbcTemplate.update(ADD_BOOK_SQL,sqlParameterSource,keyHolder);
+                int id = keyHolder.getKey().intValue();
+                addSearchWords(SearchWords.sources(id,book.getTitle()));
+                addChanges(CatalogChange.Operation.INSERT,Collections.singletonList(id));
+            }
+        });
+    }
+
+    @Override
+    public List<Integer> addBooks(Collection<Book> books) {
+        LOGGER.debug("addBooks(): count = {}", books.size());
+
+        List<Book> bookList = new ArrayList<>(books);
+        List<Integer> keys = new ArrayList<>(bookList.size());
+        for (int from = 0; from < bookList.size(); from += batchSize) {
+            keys.addAll(addBooksChunk(bookList.subList(from,Math.min(from + batchSize,bookList.size()))));
+        }
+        return keys;
+    }
+
+    /**
+     * Insert books and their search words in one transaction
+     *
+     * @param chunk books, not more then batch size
+     * @return identifiers of added books
+     */
+    private List<Integer> addBooksChunk(final List<Book> chunk) {
+        return transactionTemplate.execute(new TransactionCallback<List<Integer>>() {
+            @Override
+            public List<Integer> doInTransaction(TransactionStatus status) {
+                List<SqlParameterSource> sources = new ArrayList<>(chunk.size());
+                for (Book book : chunk) {
+                    sources.add(new BeanPropertySqlParameterSource(book));
+                }
+                List<Integer> keys = batchInserter.insert(ADD_BOOK_SQL,sources,batchSize);
+
+                List<SqlParameterSource> words = new ArrayList<>();
+                for (int i = 0; i < chunk.size(); i++) {
+                    words.addAll(SearchWords.sources(keys.get(i),chunk.get(i).getTitle()));
+                }
+                addSearchWords(words);
+                addChanges(CatalogChange.Operation.INSERT,keys);
+                return keys;
+            }
+        });
     }
 
     public int getCountOfBookWithTitle(String title) {
-        LOGGER.debug("getCountOfBookWithTitle(): title = " + title);
+        LOGGER.debug("getCountOfBookWithTitle(): title = {}", title);
 
         SqlParameterSource sqlParameterSource = new MapSqlParameterSource(TITLE,title);
         return namedParameterJdbcTemplate.queryForObject(GET_COUNT_OF_BOOK_WITH_TITLE_SQL,sqlParameterSource,Integer.class);
@@ -147,14 +514,45 @@ public class BookDaoH2Impl implements BookDao {
     }
 
 
+    /**
+     * Maps book columns in table order (id, title, rating, release_date, lang, version, updated_at).
+     * Columns are read by index and date is read as sql date, so mapping doesn't
+     * search columns by name and doesn't parse strings. Mapper has no state
+     * and one instance is shared by all queries with the same columns position.
+     */
     public static class BookRowMapper implements  RowMapper<Book>{
+        private final int idColumn;
+        private final int titleColumn;
+        private final int ratingColumn;
+        private final int releaseDateColumn;
+        private final int langColumn;
+        private final int versionColumn;
+        private final int updatedAtColumn;
+
+        /**
+         * @param firstColumn index of id column, other book columns follow it
+         */
+        public BookRowMapper(int firstColumn) {
+            idColumn = firstColumn;
+            titleColumn = firstColumn + 1;
+            ratingColumn = firstColumn + 2;
+            releaseDateColumn = firstColumn + 3;
+            langColumn = firstColumn + 4;
+            versionColumn = firstColumn + 5;
+            updatedAtColumn = firstColumn + 6;
+        }
+
         public Book mapRow(ResultSet resultSet, int i) throws SQLException {
             Book res = new Book();
-            res.setTitle(resultSet.getString(TITLE));
-            res.setId(resultSet.getInt(ID));
-            res.setLanguage(resultSet.getString(LANG));
-            res.setRating(resultSet.getInt(RATING));
-            res.setReleaseDate(LocalDate.parse(resultSet.getString(RELEASE_DATE)));
+            res.setId(resultSet.getInt(idColumn));
+            res.setTitle(resultSet.getString(titleColumn));
+            res.setRating(resultSet.getInt(ratingColumn));
+            Date releaseDate = resultSet.getDate(releaseDateColumn);
+            res.setReleaseDate(releaseDate == null ? null : releaseDate.toLocalDate());
+            res.setLanguage(resultSet.getString(langColumn));
+            res.setVersion(resultSet.getInt(versionColumn));
+            Timestamp updatedAt = resultSet.getTimestamp(updatedAtColumn);
+            res.setUpdatedAt(updatedAt == null ? null : updatedAt.toInstant());
 
             return res;
         }
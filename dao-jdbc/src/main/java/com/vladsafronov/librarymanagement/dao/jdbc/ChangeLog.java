@@ -0,0 +1,41 @@
+package com.vladsafronov.librarymanagement.dao.jdbc;
+
+import com.vladsafronov.librarymanagement.model.CatalogChange;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Parameters of change log rows, which dao writes with every change of catalog.
+ *
+ * Before rows are inserted dao locks the only row of change_log_lock, lock is
+ * held until commit, so changes are committed in order of their seq.
+ */
+final class ChangeLog {
+
+    static final String ID = "id";
+    static final String OPERATION = "operation";
+
+    private ChangeLog() {
+    }
+
+    /**
+     * Parameters for insert of changes of many rows
+     *
+     * @param operation kind of change
+     * @param ids identifiers of changed books or authors
+     * @return id and operation parameters for every identifier
+     */
+    static SqlParameterSource[] sources(CatalogChange.Operation operation, Collection<Integer> ids) {
+        List<SqlParameterSource> sources = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            MapSqlParameterSource source = new MapSqlParameterSource(ID, id);
+            source.addValue(OPERATION, operation.name());
+            sources.add(source);
+        }
+        return sources.toArray(new SqlParameterSource[sources.size()]);
+    }
+}
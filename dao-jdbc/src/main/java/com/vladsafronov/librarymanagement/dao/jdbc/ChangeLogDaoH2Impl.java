@@ -0,0 +1,79 @@
+package com.vladsafronov.librarymanagement.dao.jdbc;
+
+import com.vladsafronov.librarymanagement.dao.api.ChangeLogDao;
+import com.vladsafronov.librarymanagement.model.CatalogChange;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * ChangeLogDao H2 implementation
+ */
+public class ChangeLogDaoH2Impl implements ChangeLogDao {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private JdbcTemplate jdbcTemplate;
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Value("${ChangeLogDao.sql.getChangesSince}")
+    private String GET_CHANGES_SINCE_SQL;
+    @Value("${ChangeLogDao.sql.getLastSeq}")
+    private String GET_LAST_SEQ_SQL;
+
+    public static final String SEQ="seq";
+    public static final String LIMIT="limit";
+
+    /**
+     * Mapper for change log columns in table order (seq, entity, entity_id, operation, changed_at)
+     */
+    public static final RowMapper<CatalogChange> CHANGE_ROW_MAPPER = new RowMapper<CatalogChange>() {
+        @Override
+        public CatalogChange mapRow(ResultSet resultSet, int i) throws SQLException {
+            Timestamp changedAt = resultSet.getTimestamp(5);
+            return new CatalogChange(resultSet.getLong(1),
+                    CatalogChange.Entity.valueOf(resultSet.getString(2)),
+                    resultSet.getInt(3),
+                    CatalogChange.Operation.valueOf(resultSet.getString(4)),
+                    changedAt == null ? null : changedAt.toInstant());
+        }
+    };
+
+    public ChangeLogDaoH2Impl(DataSource dataSource) {
+        this(new JdbcTemplate(dataSource));
+    }
+
+    /**
+     * @param jdbcTemplate template, which executes all queries of dao, for example timed one
+     */
+    public ChangeLogDaoH2Impl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    public List<CatalogChange> getChangesSince(long seq, int limit) {
+        LOGGER.debug("getChangesSince(): seq = {}, limit = {}", seq, limit);
+
+        MapSqlParameterSource source = new MapSqlParameterSource(SEQ,seq);
+        source.addValue(LIMIT,limit);
+        return namedParameterJdbcTemplate.query(GET_CHANGES_SINCE_SQL,source,CHANGE_ROW_MAPPER);
+    }
+
+    @Override
+    public long getLastSeq() {
+        LOGGER.debug("getLastSeq()");
+
+        return jdbcTemplate.queryForObject(GET_LAST_SEQ_SQL,Long.class);
+    }
+}
@@ -5,4 +5,5 @@ package com.vladsafronov.librarymanagement.dao.jdbc;
  */
 public class DaoErrorMessages {
     public static final String ELEMENT_WITH_SUCH_ID_ISNT_EXIST = "Element with such id is not exist";
+    public static final String BOOK_ISNT_LINKED_WITH_AUTHOR = "Book is not linked with such author";
 }
@@ -0,0 +1,104 @@
+package com.vladsafronov.librarymanagement.dao.jdbc;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reads values of parameters of slow statement, so it is logged and explained
+ * with the same values.
+ *
+ * Setter of parameters, which set them on executed statement, is called again
+ * with statement, which records every setXxx(index, value, ...) call instead of
+ * sending it to database. Only setters of slow statements are called again,
+ * executed statements are not wrapped. Values of the last row of batch are read.
+ */
+final class ParameterRecorder {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private ParameterRecorder() {
+    }
+
+    /**
+     * @param setter PreparedStatementSetter or BatchPreparedStatementSetter of statement, may be null
+     * @return values in order of placeholders, values set before setter failed
+     */
+    static List<Object> record(Object setter) {
+        if (!(setter instanceof PreparedStatementSetter) && !(setter instanceof BatchPreparedStatementSetter)) {
+            return Collections.emptyList();
+        }
+        Map<Integer, Object> parameters = new TreeMap<>();
+        PreparedStatement statement = recordingStatement(parameters);
+        try {
+            if (setter instanceof PreparedStatementSetter) {
+                ((PreparedStatementSetter) setter).setValues(statement);
+            } else {
+                BatchPreparedStatementSetter batchSetter = (BatchPreparedStatementSetter) setter;
+                int batchSize = batchSetter.getBatchSize();
+                if (batchSize > 0) {
+                    batchSetter.setValues(statement, batchSize - 1);
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            LOGGER.warn("Can't read parameters of query: {}", e.toString());
+        }
+        return new ArrayList<>(parameters.values());
+    }
+
+    /**
+     * @param parameters values of parameters
+     * @return values as text
+     */
+    static List<String> toTexts(List<Object> parameters) {
+        List<String> texts = new ArrayList<>(parameters.size());
+        for (Object value : parameters) {
+            texts.add(value instanceof Object[] ? Arrays.deepToString((Object[]) value) : String.valueOf(value));
+        }
+        return texts;
+    }
+
+    private static PreparedStatement recordingStatement(final Map<Integer, Object> parameters) {
+        return (PreparedStatement) Proxy.newProxyInstance(ParameterRecorder.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        String name = method.getName();
+                        if (name.startsWith("set")) {
+                            if (args != null && args.length >= 2 && args[0] instanceof Integer) {
+                                parameters.put((Integer) args[0], name.equals("setNull") ? null : args[1]);
+                            }
+                            return null;
+                        }
+                        switch (name) {
+                            case "clearParameters":
+                                parameters.clear();
+                                return null;
+                            case "toString":
+                                return "recording statement";
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            case "equals":
+                                return proxy == args[0];
+                            default:
+                                // setter may ask metadata of statement, it falls back without it
+                                throw new SQLFeatureNotSupportedException(name);
+                        }
+                    }
+                });
+    }
+}
@@ -0,0 +1,47 @@
+package com.vladsafronov.librarymanagement.dao.jdbc;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Words of search index as parameters of dao queries, texts are split by
+ * {@link com.vladsafronov.librarymanagement.database.search.SearchWords}.
+ */
+final class SearchWords {
+
+    static final String WORD = "word";
+    static final String ID = "id";
+
+    private SearchWords() {
+    }
+
+    /**
+     * Split texts into distinct words
+     *
+     * @param texts titles or names, null texts are skipped
+     * @return words in order of appearance
+     */
+    static List<String> split(String... texts) {
+        return com.vladsafronov.librarymanagement.database.search.SearchWords.split(texts);
+    }
+
+    /**
+     * Parameters for insert of words of one row
+     *
+     * @param id identifier of book or author
+     * @param texts title or names
+     * @return word and id parameters for every word
+     */
+    static List<SqlParameterSource> sources(Integer id, String... texts) {
+        List<SqlParameterSource> sources = new ArrayList<>();
+        for (String word : split(texts)) {
+            MapSqlParameterSource source = new MapSqlParameterSource(WORD, word);
+            source.addValue(ID, id);
+            sources.add(source);
+        }
+        return sources;
+    }
+}
@@ -0,0 +1,135 @@
+package com.vladsafronov.librarymanagement.dao.jdbc;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Catalog of dao queries from sql properties files.
+ *
+ * On start every query is parsed and prepared by database once,
+ * so query with mistake stops application start instead of failing
+ * on first call. Database caches prepared queries, see QUERY_CACHE_SIZE in jdbc url.
+ * Catalog also finds name of query by its sql, so queries are timed by name.
+ * Sql of every query is different, query used by several dao has one property.
+ */
+public class SqlCatalog {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Resource[] locations;
+
+    private final Map<String, ParsedSql> queries = new TreeMap<>();
+    private final Map<String, String> namesBySql = new HashMap<>();
+
+    /**
+     * List of placeholders, which named parameter with collection value becomes
+     */
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\?(\\s*,\\s*\\?)+");
+
+    /**
+     * @param dataSource database, which prepares queries
+     * @param locations properties files with queries
+     */
+    public SqlCatalog(DataSource dataSource, Resource[] locations) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.locations = locations;
+    }
+
+    /**
+     * Load, parse and prepare all queries
+     *
+     * @throws IllegalStateException if some query can't be prepared
+     *                               or two queries have the same sql
+     */
+    public void validate() {
+        LOGGER.debug("validate(): locations = {}", locations.length);
+
+        for (Resource location : locations) {
+            Properties properties = load(location);
+            for (String name : properties.stringPropertyNames()) {
+                queries.put(name, NamedParameterUtils.parseSqlStatement(properties.getProperty(name)));
+            }
+        }
+
+        jdbcTemplate.execute(new ConnectionCallback<Void>() {
+            @Override
+            public Void doInConnection(Connection connection) throws SQLException {
+                for (Map.Entry<String, ParsedSql> query : queries.entrySet()) {
+                    String sql = prepare(connection, query.getKey(), query.getValue());
+                    String sameSqlName = namesBySql.put(normalize(sql), query.getKey());
+                    if (sameSqlName != null) {
+                        // both queries would be timed by one name
+                        throw new IllegalStateException("Queries " + sameSqlName + " and " + query.getKey()
+                                + " have the same sql, dao should share one property");
+                    }
+                }
+                return null;
+            }
+        });
+        LOGGER.debug("validate(): queries = {}", queries.size());
+    }
+
+    /**
+     * @return parsed queries by property name
+     */
+    public Map<String, ParsedSql> getQueries() {
+        return Collections.unmodifiableMap(queries);
+    }
+
+    /**
+     * Find query by sql, which is executed by jdbc template
+     *
+     * @param sql query with positional parameters
+     * @return name of query property, null if query is not from catalog
+     */
+    public String getQueryName(String sql) {
+        return namesBySql.get(normalize(sql));
+    }
+
+    private static String normalize(String sql) {
+        return PLACEHOLDER_LIST.matcher(sql).replaceAll("?");
+    }
+
+    private Properties load(Resource location) {
+        try {
+            return PropertiesLoaderUtils.loadProperties(location);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't load queries from " + location, e);
+        }
+    }
+
+    private String prepare(Connection connection, String name, ParsedSql parsedSql) {
+        // every named parameter becomes one placeholder, as for single value
+        String sql = NamedParameterUtils.substituteNamedParameters(parsedSql, null);
+        PreparedStatement statement = null;
+        try {
+            statement = connection.prepareStatement(sql);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Invalid query " + name + ": " + e.getMessage(), e);
+        } finally {
+            JdbcUtils.closeStatement(statement);
+        }
+        return sql;
+    }
+}
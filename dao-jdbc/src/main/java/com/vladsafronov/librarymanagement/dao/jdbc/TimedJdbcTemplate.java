@@ -0,0 +1,278 @@
+package com.vladsafronov.librarymanagement.dao.jdbc;
+
+import com.vladsafronov.librarymanagement.metrics.SlowQuery;
+import com.vladsafronov.librarymanagement.metrics.SlowQueryLog;
+import com.vladsafronov.librarymanagement.metrics.Timer;
+import com.vladsafronov.librarymanagement.metrics.TimerRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.SqlProvider;
+import org.springframework.jdbc.core.StatementCallback;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * Jdbc template, which times every query by its name in sql catalog.
+ *
+ * Queries, updates and batch updates of jdbc template and named parameter
+ * jdbc template are timed. Count of rows is taken from result: size of
+ * mapped list, count of updated rows or sum of batch counts. Queries,
+ * which rows are handled by RowCallbackHandler, are timed without rows.
+ * Queries, which are not in catalog, are timed as OTHER_QUERY.
+ *
+ * With slow query log, query taking longer than its threshold is logged
+ * with values of parameters and plan, which database explains for the same
+ * values. While log is set, setter of parameters of every statement is kept
+ * until statement is executed, values are read from it only for slow query.
+ */
+public class TimedJdbcTemplate extends JdbcTemplate {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    public static final String OTHER_QUERY = "other";
+
+    /**
+     * Statements, which H2 explains
+     */
+    private static final Pattern EXPLAINABLE = Pattern.compile("^\\s*(SELECT|INSERT|UPDATE|DELETE|MERGE)\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Max count of different sql texts, which timers are kept,
+     * sql with different count of collection values is different text
+     */
+    static final int MAX_CACHED_SQL = 1000;
+
+    private final SqlCatalog sqlCatalog;
+    private final TimerRegistry registry;
+    private final ConcurrentMap<String, Timer> timersBySql = new ConcurrentHashMap<>();
+    private final JdbcTemplate explainTemplate;
+
+    /**
+     * Setter of parameters of statement, which current thread executes, when
+     * jdbc template passes it to statement callback and not to execute
+     */
+    private final ThreadLocal<Object> parameterSetter = new ThreadLocal<>();
+
+    private SlowQueryLog slowQueryLog;
+
+    /**
+     * @param dataSource database
+     * @param sqlCatalog catalog, which names queries
+     * @param registry timers of queries
+     */
+    public TimedJdbcTemplate(DataSource dataSource, SqlCatalog sqlCatalog, TimerRegistry registry) {
+        super(dataSource);
+        this.sqlCatalog = sqlCatalog;
+        this.registry = registry;
+        // plans are read by plain template, so explain is not timed and logged itself
+        this.explainTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * @param slowQueryLog log of slow queries, null to log nothing
+     */
+    public void setSlowQueryLog(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public <T> T query(PreparedStatementCreator psc, PreparedStatementSetter pss, ResultSetExtractor<T> rse)
+            throws DataAccessException {
+        if (slowQueryLog == null) {
+            return super.query(psc, pss, rse);
+        }
+        // statement of nested call gets its own setter
+        Object outerSetter = parameterSetter.get();
+        parameterSetter.set(pss);
+        try {
+            return super.query(psc, pss, rse);
+        } finally {
+            parameterSetter.set(outerSetter);
+        }
+    }
+
+    @Override
+    protected int update(PreparedStatementCreator psc, PreparedStatementSetter pss) throws DataAccessException {
+        if (slowQueryLog == null) {
+            return super.update(psc, pss);
+        }
+        // statement of nested call gets its own setter
+        Object outerSetter = parameterSetter.get();
+        parameterSetter.set(pss);
+        try {
+            return super.update(psc, pss);
+        } finally {
+            parameterSetter.set(outerSetter);
+        }
+    }
+
+    @Override
+    public int[] batchUpdate(String sql, BatchPreparedStatementSetter pss) throws DataAccessException {
+        if (slowQueryLog == null) {
+            return super.batchUpdate(sql, pss);
+        }
+        // statement of nested call gets its own setter
+        Object outerSetter = parameterSetter.get();
+        parameterSetter.set(pss);
+        try {
+            return super.batchUpdate(sql, pss);
+        } finally {
+            parameterSetter.set(outerSetter);
+        }
+    }
+
+    @Override
+    public <T> T execute(PreparedStatementCreator psc, PreparedStatementCallback<T> action)
+            throws DataAccessException {
+        Timer timer = timer(psc);
+        SlowQueryLog slowQueryLog = this.slowQueryLog;
+        // creator of named parameter jdbc template or of dao batch sets parameters itself
+        Object setter = slowQueryLog == null ? null
+                : psc instanceof PreparedStatementSetter || psc instanceof BatchPreparedStatementSetter
+                ? psc : parameterSetter.get();
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = super.execute(psc, action);
+        } catch (RuntimeException e) {
+            long nanos = System.nanoTime() - start;
+            timer.recordError(nanos);
+            if (slowQueryLog != null && slowQueryLog.isSlow(nanos)) {
+                logSlowQuery(slowQueryLog, sql(psc), setter, nanos, 0, e);
+            }
+            throw e;
+        }
+        long nanos = System.nanoTime() - start;
+        long rows = rows(result);
+        timer.record(nanos);
+        timer.addRows(rows);
+        if (slowQueryLog != null && slowQueryLog.isSlow(nanos)) {
+            logSlowQuery(slowQueryLog, sql(psc), setter, nanos, rows, null);
+        }
+        return result;
+    }
+
+    @Override
+    public <T> T execute(StatementCallback<T> action) throws DataAccessException {
+        Timer timer = timer(action);
+        SlowQueryLog slowQueryLog = this.slowQueryLog;
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = super.execute(action);
+        } catch (RuntimeException e) {
+            long nanos = System.nanoTime() - start;
+            timer.recordError(nanos);
+            if (slowQueryLog != null && slowQueryLog.isSlow(nanos)) {
+                logSlowQuery(slowQueryLog, sql(action), null, nanos, 0, e);
+            }
+            throw e;
+        }
+        long nanos = System.nanoTime() - start;
+        long rows = rows(result);
+        timer.record(nanos);
+        timer.addRows(rows);
+        if (slowQueryLog != null && slowQueryLog.isSlow(nanos)) {
+            logSlowQuery(slowQueryLog, sql(action), null, nanos, rows, null);
+        }
+        return result;
+    }
+
+    /**
+     * @param parameterSetter setter of parameters of statement, null for statement without parameters
+     */
+    private void logSlowQuery(SlowQueryLog slowQueryLog, String sql, Object parameterSetter,
+                              long nanos, long rows, RuntimeException error) {
+        String name = sql == null ? null : sqlCatalog.getQueryName(sql);
+        List<Object> parameters = ParameterRecorder.record(parameterSetter);
+        // plan of failed query is not read, query may fail the same way
+        String plan = error == null ? explain(sql, parameters) : null;
+        SlowQuery query = new SlowQuery(Instant.now(), name == null ? OTHER_QUERY : name, sql,
+                ParameterRecorder.toTexts(parameters), nanos, rows, plan, error == null ? null : error.toString());
+        LOGGER.warn("Slow query: {}", query);
+        slowQueryLog.add(query);
+    }
+
+    private String explain(String sql, List<Object> parameters) {
+        if (sql == null || !EXPLAINABLE.matcher(sql).find()) {
+            return null;
+        }
+        try {
+            return explainTemplate.query("EXPLAIN " + sql,
+                    new ArgumentPreparedStatementSetter(parameters.toArray()),
+                    new ResultSetExtractor<String>() {
+                        @Override
+                        public String extractData(ResultSet resultSet) throws SQLException {
+                            StringBuilder plan = new StringBuilder();
+                            while (resultSet.next()) {
+                                if (plan.length() > 0) {
+                                    plan.append('\n');
+                                }
+                                plan.append(resultSet.getString(1));
+                            }
+                            return plan.toString();
+                        }
+                    });
+        } catch (DataAccessException e) {
+            LOGGER.warn("Can't explain query: {}", e.toString());
+            return null;
+        }
+    }
+
+    private static String sql(Object sqlProvider) {
+        return sqlProvider instanceof SqlProvider ? ((SqlProvider) sqlProvider).getSql() : null;
+    }
+
+    private Timer timer(Object sqlProvider) {
+        String sql = sql(sqlProvider);
+        if (sql == null) {
+            return registry.timer(OTHER_QUERY);
+        }
+        Timer timer = timersBySql.get(sql);
+        if (timer == null) {
+            String name = sqlCatalog.getQueryName(sql);
+            timer = registry.timer(name == null ? OTHER_QUERY : name);
+            if (timersBySql.size() < MAX_CACHED_SQL) {
+                timersBySql.put(sql, timer);
+            }
+        }
+        return timer;
+    }
+
+    private static long rows(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Integer) {
+            return (Integer) result;
+        }
+        if (result instanceof int[]) {
+            long rows = 0;
+            for (int count : (int[]) result) {
+                // driver may return SUCCESS_NO_INFO instead of count
+                if (count > 0) {
+                    rows += count;
+                }
+            }
+            return rows;
+        }
+        return 0;
+    }
+}
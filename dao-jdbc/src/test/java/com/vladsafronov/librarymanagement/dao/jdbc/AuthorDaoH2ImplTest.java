@@ -3,20 +3,24 @@ package com.vladsafronov.librarymanagement.dao.jdbc;
 import com.vladsafronov.librarymanagement.dao.api.AuthorDao;
 import com.vladsafronov.librarymanagement.dao.api.BookDao;
 import com.vladsafronov.librarymanagement.model.Author;
+import com.vladsafronov.librarymanagement.model.AuthorStats;
 import com.vladsafronov.librarymanagement.model.Book;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.sql.DataSource;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.*;
 
@@ -46,6 +50,8 @@ public class AuthorDaoH2ImplTest {
     AuthorDao authorDao;
     @Autowired
     BookDao bookDao;
+    @Autowired
+    DataSource dataSource;
 
     @Rule
     public ExpectedException thrown = ExpectedException.none();
@@ -114,6 +120,21 @@ public class AuthorDaoH2ImplTest {
         assertEquals(author,actual);
     }
 
+    @Test
+    public void addAuthors(){
+        Author firstNewAuthor = new Author(null,"Name","Surname",LocalDate.parse("1990-01-01"));
+        Author secondNewAuthor = new Author(null,"Other name","Other surname",LocalDate.parse("1991-01-01"));
+
+        List<Integer> ids = authorDao.addAuthors(Arrays.asList(firstNewAuthor,secondNewAuthor));
+        assertEquals(2,ids.size());
+        assertEquals(COUNT_OF_AUTHORS+2,authorDao.getCountOfAllAuthors());
+
+        firstNewAuthor.setId(ids.get(0));
+        secondNewAuthor.setId(ids.get(1));
+        assertEquals(firstNewAuthor,authorDao.getAuthorById(ids.get(0)));
+        assertEquals(secondNewAuthor,authorDao.getAuthorById(ids.get(1)));
+    }
+
     @Test
     public void getAuthorByBook(){
         Author author = authorDao.getAuthorByBook(firstBook);
@@ -123,6 +144,9 @@ public class AuthorDaoH2ImplTest {
         author = authorDao.getAuthorByBook(secondBook);
         assertNotNull(author);
         assertEquals(secondAuthor,author);
+
+        author = authorDao.getAuthorByBook(thirdBook);
+        assertEquals(firstAuthor,author);
     }
 
     @Test(expected = EmptyResultDataAccessException.class)
@@ -131,6 +155,42 @@ public class AuthorDaoH2ImplTest {
         authorDao.getAuthorByBook(book);
     }
 
+    @Test
+    public void getAuthorsByName(){
+        assertEquals(Arrays.asList(firstAuthor),authorDao.getAuthorsByName("geo",10));
+        assertEquals(Arrays.asList(firstAuthor),authorDao.getAuthorsByName("GEORGE",10));
+        assertTrue(authorDao.getAuthorsByName("georges",10).isEmpty());
+
+        Author author = new Author(null,"Anna","Smith",LocalDate.parse("1990-01-01"));
+        author.setId(authorDao.addAuthors(Arrays.asList(author)).get(0));
+        assertEquals(Arrays.asList(secondAuthor,author),authorDao.getAuthorsByName("a",10));
+        assertEquals(Arrays.asList(secondAuthor),authorDao.getAuthorsByName("a",1));
+    }
+
+    @Test
+    public void getAuthorsBySurname(){
+        assertEquals(Arrays.asList(secondAuthor),authorDao.getAuthorsBySurname("ha",10));
+        assertEquals(Arrays.asList(thirdAuthor),authorDao.getAuthorsBySurname("SaFr",10));
+
+        authorDao.updateAuthor(new Author(thirdAuthor.getId(),"Vlad","Harris",thirdAuthor.getBirthDate()));
+        assertTrue(authorDao.getAuthorsBySurname("safr",10).isEmpty());
+        assertEquals(2,authorDao.getAuthorsBySurname("ha",10).size());
+        assertEquals(secondAuthor,authorDao.getAuthorsBySurname("ha",10).get(1));
+    }
+
+    @Test
+    public void searchBooksOfChangedAuthor(){
+        authorDao.updateAuthor(new Author(secondAuthor.getId(),"Aldous","Huxley",secondAuthor.getBirthDate()));
+        assertTrue(bookDao.searchBooks("haxley",10).isEmpty());
+        assertEquals(Arrays.asList(secondBook,fourthBook),bookDao.searchBooks("huxley",10));
+    }
+
+    @Test
+    public void rebuildSearchWords(){
+        assertEquals(6,authorDao.rebuildSearchWords());
+        assertEquals(Arrays.asList(firstBook,thirdBook),bookDao.searchBooks("orw",10));
+    }
+
     @Test(expected = EmptyResultDataAccessException.class)
     public void deleteAuthorAndCheck(){
         authorDao.deleteAuthorById(3);
@@ -145,9 +205,14 @@ public class AuthorDaoH2ImplTest {
     }
 
 
-    @Test(expected = DataIntegrityViolationException.class)
+    @Test
     public void deleteAuthorWithBooks(){
-        authorDao.deleteAuthorById(1);
+        authorDao.deleteAuthorById(firstAuthor.getId());
+
+        assertEquals(COUNT_OF_AUTHORS-1,authorDao.getCountOfAllAuthors());
+        assertEquals(COUNT_OF_BOOKS,bookDao.getCountOfAllBooks());
+        assertTrue(bookDao.getBooksByAuthorId(firstAuthor.getId()).isEmpty());
+        assertTrue(bookDao.searchBooks("orwell",10).isEmpty());
     }
 
     @Test
@@ -205,6 +270,88 @@ public class AuthorDaoH2ImplTest {
                 (new Author(COUNT_OF_AUTHORS+1,"Bla","Bla",LocalDate.now()));
     }
 
+    @Test
+    public void addAuthorToBookChangesStats(){
+        bookDao.addAuthorToBook(secondBook.getId(),thirdAuthor.getId());
+        bookDao.addAuthorToBook(fourthBook.getId(),thirdAuthor.getId());
+
+        assertEquals(2,authorDao.getCountOfAuthorsBooks(thirdAuthor));
+        double average = (secondBook.getRating()+fourthBook.getRating())/2;
+        assertEquals(average,authorDao.getAverageRatingOfAuthorsBooks(thirdAuthor),0.001);
+    }
+
+    @Test
+    public void removeAuthorFromBookChangesStats(){
+        bookDao.removeAuthorFromBook(firstBook.getId(),firstAuthor.getId());
+
+        assertEquals(1,authorDao.getCountOfAuthorsBooks(firstAuthor));
+        assertEquals(thirdBook.getRating(),authorDao.getAverageRatingOfAuthorsBooks(firstAuthor),0.001);
+    }
+
+    @Test
+    public void removeUnlinkedAuthorFromBook(){
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(DaoErrorMessages.BOOK_ISNT_LINKED_WITH_AUTHOR);
+
+        bookDao.removeAuthorFromBook(firstBook.getId(),thirdAuthor.getId());
+    }
+
+    @Test
+    public void updateBookChangesAverageRating(){
+        Book book = new Book(firstBook.getId(),firstBook.getTitle(),10,
+                firstBook.getReleaseDate(),firstBook.getLanguage());
+        bookDao.updateBook(book);
+
+        assertEquals(2,authorDao.getCountOfAuthorsBooks(firstAuthor));
+        double average = (book.getRating()+thirdBook.getRating())/2;
+        assertEquals(average,authorDao.getAverageRatingOfAuthorsBooks(firstAuthor),0.001);
+    }
+
+    @Test
+    public void deleteBookChangesStats(){
+        bookDao.deleteBookById(firstBook.getId());
+
+        assertEquals(1,authorDao.getCountOfAuthorsBooks(firstAuthor));
+        assertEquals(thirdBook.getRating(),authorDao.getAverageRatingOfAuthorsBooks(firstAuthor),0.001);
+    }
+
+    @Test
+    public void deleteBooksChangesStats(){
+        bookDao.deleteBooksByIds(Arrays.asList(firstBook.getId(),secondBook.getId()));
+
+        assertEquals(1,authorDao.getCountOfAuthorsBooks(firstAuthor));
+        assertEquals(thirdBook.getRating(),authorDao.getAverageRatingOfAuthorsBooks(firstAuthor),0.001);
+        assertEquals(1,authorDao.getCountOfAuthorsBooks(secondAuthor));
+        assertEquals(fourthBook.getRating(),authorDao.getAverageRatingOfAuthorsBooks(secondAuthor),0.001);
+    }
+
+    @Test
+    public void rebuildAuthorStats(){
+        new JdbcTemplate(dataSource).update("UPDATE author_stats SET book_count=100, rating_sum=0");
+
+        assertEquals(COUNT_OF_AUTHORS,authorDao.rebuildAuthorStats());
+        assertEquals(2,authorDao.getCountOfAuthorsBooks(firstAuthor));
+        double average = (firstBook.getRating()+thirdBook.getRating())/2;
+        assertEquals(average,authorDao.getAverageRatingOfAuthorsBooks(firstAuthor),0.001);
+    }
+
+    @Test
+    public void getStatsForAuthors(){
+        Map<Integer, AuthorStats> stats = authorDao.getStatsForAuthors
+                (Arrays.asList(thirdAuthor.getId(),firstAuthor.getId(),COUNT_OF_AUTHORS+1));
+
+        assertEquals(Arrays.asList(firstAuthor.getId(),thirdAuthor.getId()),
+                Arrays.asList(stats.keySet().toArray()));
+        double average = (firstBook.getRating()+thirdBook.getRating())/2;
+        assertEquals(new AuthorStats(firstAuthor.getId(),2,average),stats.get(firstAuthor.getId()));
+        assertEquals(new AuthorStats(thirdAuthor.getId(),0,null),stats.get(thirdAuthor.getId()));
+    }
+
+    @Test
+    public void getStatsForNoAuthors(){
+        assertTrue(authorDao.getStatsForAuthors(Arrays.<Integer>asList()).isEmpty());
+    }
+
     @Test
     public void getCountOfAllAuthors(){
         assertEquals(COUNT_OF_AUTHORS,authorDao.getCountOfAllAuthors());
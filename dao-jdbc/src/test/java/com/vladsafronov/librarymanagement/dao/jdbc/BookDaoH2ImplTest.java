@@ -3,6 +3,7 @@ package com.vladsafronov.librarymanagement.dao.jdbc;
 import com.vladsafronov.librarymanagement.dao.api.BookDao;
 import com.vladsafronov.librarymanagement.model.Author;
 import com.vladsafronov.librarymanagement.model.Book;
+import com.vladsafronov.librarymanagement.model.BookWithAuthors;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
@@ -17,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 
 import java.util.*;
+import java.util.function.Consumer;
 
 import static org.junit.Assert.*;
 import java.time.LocalDate;
@@ -71,6 +73,78 @@ public class BookDaoH2ImplTest {
 
 
 
+    @Test
+    public void getBooksPage(){
+        List<Book> books = bookDao.getBooksPage(0,2);
+        assertEquals(2,books.size());
+        assertEquals(firstBook,books.get(0));
+        assertEquals(secondBook,books.get(1));
+
+        books = bookDao.getBooksPage(secondBook.getId(),2);
+        assertEquals(2,books.size());
+        assertEquals(thirdBook,books.get(0));
+        assertEquals(fourthBook,books.get(1));
+
+        books = bookDao.getBooksPage(fourthBook.getId(),2);
+        assertEquals(0,books.size());
+    }
+
+    @Test
+    public void getBooksWithAuthorsPage(){
+        bookDao.addAuthorToBook(firstBook.getId(),thirdAuthor.getId());
+
+        List<BookWithAuthors> books = bookDao.getBooksWithAuthorsPage(0,2);
+        assertEquals(2,books.size());
+        assertEquals(new BookWithAuthors(firstBook,Arrays.asList(firstAuthor,thirdAuthor)),books.get(0));
+        assertEquals(new BookWithAuthors(secondBook,Arrays.asList(secondAuthor)),books.get(1));
+
+        books = bookDao.getBooksWithAuthorsPage(fourthBook.getId(),2);
+        assertEquals(0,books.size());
+    }
+
+    @Test
+    public void getBooksWithoutAuthorsPage(){
+        Book book = new Book(null,"Book without authors",10,LocalDate.parse("2001-01-01"),"Eng");
+        Integer id = bookDao.addBooks(Arrays.asList(book)).get(0);
+        book.setId(id);
+
+        List<BookWithAuthors> books = bookDao.getBooksWithAuthorsPage(id-1,1);
+        assertEquals(new BookWithAuthors(book,new ArrayList<Author>()),books.get(0));
+    }
+
+    @Test
+    public void processAllBooks(){
+        final List<Book> books = new ArrayList<>();
+        bookDao.processAllBooks(new Consumer<Book>() {
+            @Override
+            public void accept(Book book) {
+                books.add(book);
+            }
+        });
+        assertEquals(bookDao.getAllBooks(),books);
+    }
+
+    @Test
+    public void processAllBooksReadsAllPages(){
+        List<Book> newBooks = new ArrayList<>();
+        for (int i = 0; i < BookDaoH2Impl.STREAM_PAGE_SIZE; i++) {
+            newBooks.add(new Book(null,"Book " + i,50,LocalDate.parse("2015-01-01"),"Eng"));
+        }
+        bookDao.addBooks(newBooks);
+
+        final List<Integer> ids = new ArrayList<>();
+        bookDao.processAllBooks(new Consumer<Book>() {
+            @Override
+            public void accept(Book book) {
+                ids.add(book.getId());
+            }
+        });
+        assertEquals(bookDao.getAllBooks().size(),ids.size());
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i-1) < ids.get(i));
+        }
+    }
+
     @Test
     public void getBookById() throws Exception {
         Integer id = 1;
@@ -104,6 +178,45 @@ public class BookDaoH2ImplTest {
         bookDao.getBookByTitle("bla-bla-bla");
     }
 
+    @Test
+    public void searchBooksByTitleTest(){
+        assertEquals(Arrays.asList(secondBook),bookDao.searchBooks("bra",10));
+        assertEquals(Arrays.asList(thirdBook),bookDao.searchBooks("Road  WIG",10));
+        assertEquals(Arrays.asList(firstBook),bookDao.searchBooks("1984",10));
+        assertTrue(bookDao.searchBooks("road doors",10).isEmpty());
+        //common words are not indexed
+        assertTrue(bookDao.searchBooks("the",10).isEmpty());
+    }
+
+    @Test
+    public void searchBooksByAuthorTest(){
+        assertEquals(Arrays.asList(firstBook,thirdBook),bookDao.searchBooks("orwell",10));
+        assertEquals(Arrays.asList(thirdBook),bookDao.searchBooks("george pier",10));
+        assertEquals(Arrays.asList(firstBook),bookDao.searchBooks("orwell",1));
+    }
+
+    @Test
+    public void searchChangedBooksTest(){
+        Book testBook = new Book(firstBook.getId(),"Animal Farm",99,LocalDate.now(),"Ru");
+        bookDao.updateBook(testBook);
+        assertTrue(bookDao.searchBooks("1984",10).isEmpty());
+        assertEquals(Arrays.asList(testBook),bookDao.searchBooks("farm",10));
+
+        bookDao.addBook(new Book(null,"Homage to Catalonia",70,LocalDate.now(),"Eng"));
+        List<Integer> ids = bookDao.addBooks(Arrays.asList(new Book(null,"Burmese Days",60,LocalDate.now(),"Eng")));
+        assertEquals(1,bookDao.searchBooks("catalonia",10).size());
+        assertEquals(ids.get(0),bookDao.searchBooks("burm",10).get(0).getId());
+
+        bookDao.deleteBookById(testBook.getId());
+        assertTrue(bookDao.searchBooks("farm",10).isEmpty());
+    }
+
+    @Test
+    public void rebuildSearchWordsTest(){
+        assertEquals(9,bookDao.rebuildSearchWords());
+        assertEquals(Arrays.asList(secondBook),bookDao.searchBooks("new world",10));
+    }
+
     @Test
     public void  getCountOfBookWithTitleTest(){
         int res = bookDao.getCountOfBookWithTitle("bla-bla-bla");
@@ -124,6 +237,21 @@ public class BookDaoH2ImplTest {
         bookDao.getBookById(firstBook.getId());
 
     }
+    @Test
+    public void deleteBooksByIdsTest(){
+        bookDao.deleteBooksByIds(Arrays.asList(firstBook.getId(),secondBook.getId(),firstBook.getId()));
+
+        assertEquals(Arrays.asList(thirdBook,fourthBook),bookDao.getAllBooks());
+        assertTrue(bookDao.searchBooks("1984",10).isEmpty());
+    }
+
+    @Test
+    public void deleteBooksByIdsWithUnexistIdTest(){
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(DaoErrorMessages.ELEMENT_WITH_SUCH_ID_ISNT_EXIST);
+        bookDao.deleteBooksByIds(Arrays.asList(firstBook.getId(),COUNT_OF_BOOKS+1));
+    }
+
     @Test
     public void deleteBookByUnexistIdTest(){
         thrown.expect(IllegalArgumentException.class);
@@ -142,6 +270,19 @@ public class BookDaoH2ImplTest {
         assertEquals(testBook,actualBook);
     }
 
+    @Test
+    public void updateBookChangesVersion(){
+        Book before = bookDao.getBookById(firstBook.getId());
+        assertNotNull(before.getVersion());
+        assertNotNull(before.getUpdatedAt());
+
+        bookDao.updateBook(new Book(firstBook.getId(),"Bla bla bla book",99,LocalDate.now(),"Ru"));
+
+        Book after = bookDao.getBookById(firstBook.getId());
+        assertEquals(before.getVersion()+1,(int)after.getVersion());
+        assertFalse(after.getUpdatedAt().isBefore(before.getUpdatedAt()));
+    }
+
     @Test
     public void updateUnexistBookTest(){
         Book testBook = new Book
@@ -153,17 +294,50 @@ public class BookDaoH2ImplTest {
     public void addBookTest(){
         Book testBook = new Book(null,"New book",99,LocalDate.now(),"Ru");
         bookDao.addBook(testBook);
-        testBook.setId(COUNT_OF_BOOKS+1);
         List<Book> books = bookDao.getAllBooks();
         assertEquals(COUNT_OF_BOOKS+1,books.size());
         Book actualBook = bookDao.getBookByTitle(testBook.getTitle());
         assertNotNull(actualBook);
+        //id counter isn't rolled back with transactions of other tests, so id can be bigger
+        assertTrue(actualBook.getId()>COUNT_OF_BOOKS);
+        testBook.setId(actualBook.getId());
         assertEquals(testBook,actualBook);
 
         //Try to add duplicate book(because id counter increments even when you try to add book)
         thrown.expect(DuplicateKeyException.class);
         bookDao.addBook(firstBook);
     }
+    @Test
+    public void addBooksTest(){
+        Book firstNewBook = new Book(null,"First new book",10,LocalDate.parse("2017-01-01"),"Ru");
+        Book secondNewBook = new Book(null,"Second new book",20,LocalDate.parse("2017-01-02"),"Eng");
+
+        List<Integer> ids = bookDao.addBooks(Arrays.asList(firstNewBook,secondNewBook));
+        assertEquals(2,ids.size());
+        assertEquals(COUNT_OF_BOOKS+2,bookDao.getCountOfAllBooks());
+
+        firstNewBook.setId(ids.get(0));
+        secondNewBook.setId(ids.get(1));
+        assertEquals(firstNewBook,bookDao.getBookById(ids.get(0)));
+        assertEquals(secondNewBook,bookDao.getBookById(ids.get(1)));
+    }
+
+    @Test
+    public void addNoBooksTest(){
+        List<Integer> ids = bookDao.addBooks(new ArrayList<Book>());
+        assertEquals(0,ids.size());
+        assertEquals(COUNT_OF_BOOKS,bookDao.getCountOfAllBooks());
+    }
+
+    @Test
+    public void addBooksWithDuplicateTest(){
+        Book newBook = new Book(null,"New book",10,LocalDate.parse("2017-01-01"),"Ru");
+        Book duplicateBook = new Book(null,firstBook.getTitle(),20,LocalDate.parse("2017-01-02"),"Eng");
+
+        thrown.expect(DuplicateKeyException.class);
+        bookDao.addBooks(Arrays.asList(newBook,duplicateBook));
+    }
+
     @Test
     public void getBooksFromPeriodTest(){
 
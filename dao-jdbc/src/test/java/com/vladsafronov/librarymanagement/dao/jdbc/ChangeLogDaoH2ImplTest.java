@@ -0,0 +1,139 @@
+package com.vladsafronov.librarymanagement.dao.jdbc;
+
+import com.vladsafronov.librarymanagement.dao.api.AuthorDao;
+import com.vladsafronov.librarymanagement.dao.api.BookDao;
+import com.vladsafronov.librarymanagement.dao.api.ChangeLogDao;
+import com.vladsafronov.librarymanagement.model.Author;
+import com.vladsafronov.librarymanagement.model.Book;
+import com.vladsafronov.librarymanagement.model.CatalogChange;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.vladsafronov.librarymanagement.model.CatalogChange.Entity.AUTHOR;
+import static com.vladsafronov.librarymanagement.model.CatalogChange.Entity.BOOK;
+import static com.vladsafronov.librarymanagement.model.CatalogChange.Operation.DELETE;
+import static com.vladsafronov.librarymanagement.model.CatalogChange.Operation.INSERT;
+import static com.vladsafronov.librarymanagement.model.CatalogChange.Operation.UPDATE;
+import static org.junit.Assert.*;
+
+/**
+ * ChangeLogDao tests, changes are written by book and author dao
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(locations = {"classpath*:test-spring-config.xml"})
+@Transactional
+public class ChangeLogDaoH2ImplTest {
+
+    @Autowired
+    ChangeLogDao changeLogDao;
+    @Autowired
+    BookDao bookDao;
+    @Autowired
+    AuthorDao authorDao;
+
+    @Test
+    public void changesOfBooks(){
+        // seq is not rolled back with other tests, so changes are read after the current one
+        long seq = changeLogDao.getLastSeq();
+
+        Book book = new Book(null,"Animal Farm",90,LocalDate.parse("1945-08-17"),"Eng");
+        bookDao.addBook(book);
+        book = bookDao.getBookByTitle("Animal Farm");
+        List<Integer> ids = bookDao.addBooks(Arrays.asList(
+                new Book(null,"Burmese Days",60,LocalDate.parse("1934-01-01"),"Eng"),
+                new Book(null,"Coming Up for Air",70,LocalDate.parse("1939-06-12"),"Eng")));
+        bookDao.updateBook(book);
+        bookDao.addAuthorToBook(book.getId(),1);
+        bookDao.removeAuthorFromBook(book.getId(),1);
+        bookDao.deleteBookById(book.getId());
+
+        List<CatalogChange> changes = changeLogDao.getChangesSince(seq,100);
+        assertEquals(7,changes.size());
+        assertChange(changes.get(0),BOOK,book.getId(),INSERT);
+        assertChange(changes.get(1),BOOK,ids.get(0),INSERT);
+        assertChange(changes.get(2),BOOK,ids.get(1),INSERT);
+        assertChange(changes.get(3),BOOK,book.getId(),UPDATE);
+        assertChange(changes.get(4),BOOK,book.getId(),UPDATE);
+        assertChange(changes.get(5),BOOK,book.getId(),UPDATE);
+        assertChange(changes.get(6),BOOK,book.getId(),DELETE);
+        for (int i = 1; i < changes.size(); i++) {
+            assertTrue(changes.get(i).getSeq()>changes.get(i-1).getSeq());
+        }
+        assertEquals((long) changes.get(6).getSeq(),changeLogDao.getLastSeq());
+    }
+
+    @Test
+    public void changesOfAuthors(){
+        long seq = changeLogDao.getLastSeq();
+
+        authorDao.addAuthor(new Author(null,"Eric","Blair",LocalDate.parse("1903-06-25")));
+        Author author = authorDao.getAuthorsBySurname("Blair",1).get(0);
+        List<Integer> ids = authorDao.addAuthors(Arrays.asList(new Author(null,"Herbert","Wells",LocalDate.parse("1866-09-21"))));
+        author.setName("E.");
+        authorDao.updateAuthor(author);
+        authorDao.deleteAuthorById(author.getId());
+
+        List<CatalogChange> changes = changeLogDao.getChangesSince(seq,100);
+        assertEquals(4,changes.size());
+        assertChange(changes.get(0),AUTHOR,author.getId(),INSERT);
+        assertChange(changes.get(1),AUTHOR,ids.get(0),INSERT);
+        assertChange(changes.get(2),AUTHOR,author.getId(),UPDATE);
+        assertChange(changes.get(3),AUTHOR,author.getId(),DELETE);
+    }
+
+    @Test
+    public void deleteOfAuthorUpdatesItsBooks(){
+        long seq = changeLogDao.getLastSeq();
+
+        authorDao.deleteAuthorById(1);
+
+        List<CatalogChange> changes = changeLogDao.getChangesSince(seq,100);
+        assertEquals(3,changes.size());
+        assertChange(changes.get(0),BOOK,1,UPDATE);
+        assertChange(changes.get(1),BOOK,3,UPDATE);
+        assertChange(changes.get(2),AUTHOR,1,DELETE);
+    }
+
+    @Test
+    public void unchangedRowsAreNotLogged(){
+        long seq = changeLogDao.getLastSeq();
+
+        bookDao.updateBook(new Book(AuthorDaoH2ImplTest.COUNT_OF_BOOKS+1,"Absent",1,LocalDate.now(),"Eng"));
+        authorDao.updateAuthor(new Author(100,"Absent","Author",LocalDate.now()));
+
+        assertTrue(changeLogDao.getChangesSince(seq,100).isEmpty());
+        assertEquals(seq,changeLogDao.getLastSeq());
+    }
+
+    @Test
+    public void getChangesSinceLimit(){
+        long seq = changeLogDao.getLastSeq();
+        bookDao.updateBook(AuthorDaoH2ImplTest.firstBook);
+        bookDao.updateBook(AuthorDaoH2ImplTest.secondBook);
+        bookDao.updateBook(AuthorDaoH2ImplTest.thirdBook);
+
+        List<CatalogChange> first = changeLogDao.getChangesSince(seq,2);
+        assertEquals(2,first.size());
+        assertEquals(AuthorDaoH2ImplTest.firstBook.getId(),first.get(0).getEntityId());
+        assertNotNull(first.get(0).getChangedAt());
+
+        List<CatalogChange> next = changeLogDao.getChangesSince(first.get(1).getSeq(),2);
+        assertEquals(1,next.size());
+        assertChange(next.get(0),BOOK,AuthorDaoH2ImplTest.thirdBook.getId(),UPDATE);
+    }
+
+    private static void assertChange(CatalogChange change, CatalogChange.Entity entity,
+                                     Integer id, CatalogChange.Operation operation) {
+        assertEquals(entity,change.getEntity());
+        assertEquals(id,change.getEntityId());
+        assertEquals(operation,change.getOperation());
+    }
+}
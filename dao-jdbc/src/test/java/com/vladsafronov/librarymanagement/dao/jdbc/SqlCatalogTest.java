@@ -0,0 +1,42 @@
+package com.vladsafronov.librarymanagement.dao.jdbc;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import javax.sql.DataSource;
+
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(locations = {"classpath*:test-spring-config.xml"})
+public class SqlCatalogTest {
+
+    @Autowired
+    SqlCatalog sqlCatalog;
+    @Autowired
+    DataSource dataSource;
+
+    @Test
+    public void allDaoQueriesArePrepared() {
+        assertTrue(sqlCatalog.getQueries().containsKey("BookDao.sql.getBooksPage"));
+        assertTrue(sqlCatalog.getQueries().containsKey("AuthorDao.sql.getAuthorByBook"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void invalidQuery() {
+        Resource queries = new ByteArrayResource("Bad.sql=SELECT nope FROM book".getBytes());
+        new SqlCatalog(dataSource, new Resource[]{queries}).validate();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void queriesWithSameSql() {
+        Resource queries = new ByteArrayResource(("First.sql=SELECT id FROM book\n"
+                + "Second.sql=SELECT id FROM book").getBytes());
+        new SqlCatalog(dataSource, new Resource[]{queries}).validate();
+    }
+}
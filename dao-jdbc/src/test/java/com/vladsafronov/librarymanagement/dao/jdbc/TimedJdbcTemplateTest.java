@@ -0,0 +1,214 @@
+package com.vladsafronov.librarymanagement.dao.jdbc;
+
+import com.vladsafronov.librarymanagement.dao.api.BookDao;
+import com.vladsafronov.librarymanagement.metrics.SlowQuery;
+import com.vladsafronov.librarymanagement.model.Book;
+import com.vladsafronov.librarymanagement.metrics.SlowQueryLog;
+import com.vladsafronov.librarymanagement.metrics.Timer;
+import com.vladsafronov.librarymanagement.metrics.TimerRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Timed jdbc template test, timers are shared by all tests of context,
+ * so changes of counts are checked
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(locations = {"classpath*:test-spring-config.xml"})
+@Transactional
+public class TimedJdbcTemplateTest {
+
+    @Autowired
+    BookDao bookDao;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    TimerRegistry daoTimers;
+    @Autowired
+    DataSource dataSource;
+    @Autowired
+    SqlCatalog sqlCatalog;
+    @Autowired
+    AutowireCapableBeanFactory beanFactory;
+
+    @Test
+    public void queryIsTimedByNameWithRows(){
+        Timer timer = daoTimers.timer("BookDao.sql.getAllBooks");
+        long count = timer.getLatency().getCount();
+        long rows = timer.getRows();
+
+        bookDao.getAllBooks();
+
+        assertEquals(count+1,timer.getLatency().getCount());
+        assertEquals(rows+BookDaoH2ImplTest.COUNT_OF_BOOKS,timer.getRows());
+        assertEquals(0,timer.getErrors());
+    }
+
+    @Test
+    public void queryWithDifferentCountOfListValuesHasOneTimer(){
+        Timer timer = daoTimers.timer("BookDao.sql.getAuthorsOfBooks");
+        long count = timer.getLatency().getCount();
+
+        bookDao.getBooksWithAuthorsPage(0,1);
+        bookDao.getBooksWithAuthorsPage(0,3);
+
+        assertEquals(count+2,timer.getLatency().getCount());
+    }
+
+    @Test
+    public void updatedRowsAreCounted(){
+        Timer timer = daoTimers.timer("BookDao.sql.updateBook");
+        long rows = timer.getRows();
+
+        bookDao.updateBook(BookDaoH2ImplTest.firstBook);
+
+        assertEquals(rows+1,timer.getRows());
+    }
+
+    @Test
+    public void failedQueryIsCountedAsError(){
+        Timer timer = daoTimers.timer(TimedJdbcTemplate.OTHER_QUERY);
+        long errors = timer.getErrors();
+        long count = timer.getLatency().getCount();
+
+        try {
+            jdbcTemplate.queryForList("SELECT id FROM absent_table");
+            fail();
+        } catch (BadSqlGrammarException e) {
+            assertEquals(errors+1,timer.getErrors());
+            assertEquals(count+1,timer.getLatency().getCount());
+        }
+    }
+
+    @Test
+    public void slowQueryIsLoggedWithParametersAndPlan(){
+        SlowQueryLog slowQueryLog = new SlowQueryLog(0,10);
+        BookDao dao = slowLoggedBookDao(slowQueryLog);
+
+        dao.getBooksFromPeriod(LocalDate.parse("2014-01-01"),LocalDate.parse("2015-01-31"));
+
+        List<SlowQuery> queries = slowQueryLog.getQueries();
+        assertEquals(1,queries.size());
+        SlowQuery query = queries.get(0);
+        assertEquals("BookDao.sql.getBooksFromPeriod",query.getName());
+        assertEquals(Arrays.asList("2014-01-01","2015-01-31"),query.getParameters());
+        assertEquals(2,query.getRows());
+        assertTrue(query.getPlan(),query.getPlan().contains("PUBLIC.BOOK"));
+        assertNull(query.getError());
+    }
+
+    @Test
+    public void slowQueryIsLoggedWithArguments(){
+        SlowQueryLog slowQueryLog = new SlowQueryLog(0,10);
+        TimedJdbcTemplate template = new TimedJdbcTemplate(dataSource,sqlCatalog,daoTimers);
+        template.setSlowQueryLog(slowQueryLog);
+
+        template.queryForList("SELECT id FROM book WHERE id>? AND rating>?",Integer.class,1,50);
+
+        assertEquals(Arrays.asList("1","50"),slowQueryLog.getQueries().get(0).getParameters());
+    }
+
+    @Test
+    public void slowBatchIsLoggedWithParametersOfLastRow(){
+        SlowQueryLog slowQueryLog = new SlowQueryLog(0,10);
+        TimedJdbcTemplate template = new TimedJdbcTemplate(dataSource,sqlCatalog,daoTimers);
+        template.setSlowQueryLog(slowQueryLog);
+
+        template.batchUpdate("UPDATE book SET rating=? WHERE id=?",
+                Arrays.asList(new Object[]{10,1},new Object[]{20,2}));
+
+        SlowQuery query = slowQueryLog.getQueries().get(0);
+        assertEquals(Arrays.asList("20","2"),query.getParameters());
+        assertEquals(2,query.getRows());
+    }
+
+    @Test
+    public void batchInsertIsTimedAndLoggedByName(){
+        Timer timer = daoTimers.timer("BookDao.sql.addBook");
+        long count = timer.getLatency().getCount();
+        long rows = timer.getRows();
+        SlowQueryLog slowQueryLog = new SlowQueryLog(0,10);
+        BookDao dao = slowLoggedBookDao(slowQueryLog);
+
+        dao.addBooks(Arrays.asList(new Book(null,"First inserted",10,LocalDate.parse("2001-01-01"),"Eng"),
+                new Book(null,"Second inserted",20,LocalDate.parse("2002-02-02"),"Eng")));
+
+        assertEquals(count+1,timer.getLatency().getCount());
+        assertEquals(rows+2,timer.getRows());
+        SlowQuery query = null;
+        for (SlowQuery slowQuery : slowQueryLog.getQueries()) {
+            if (slowQuery.getName().equals("BookDao.sql.addBook")) {
+                query = slowQuery;
+            }
+        }
+        assertNotNull(query);
+        assertTrue(query.getParameters().toString(),query.getParameters().contains("Second inserted"));
+    }
+
+    @Test
+    public void statementIsNotWrappedWithSlowQueryLog(){
+        TimedJdbcTemplate template = new TimedJdbcTemplate(dataSource,sqlCatalog,daoTimers);
+        template.setSlowQueryLog(new SlowQueryLog(60000,10));
+
+        template.execute("SELECT id FROM book",new PreparedStatementCallback<Void>() {
+            @Override
+            public Void doInPreparedStatement(PreparedStatement statement) {
+                assertFalse(Proxy.isProxyClass(statement.getClass()));
+                return null;
+            }
+        });
+    }
+
+    @Test
+    public void fastQueryIsNotLogged(){
+        SlowQueryLog slowQueryLog = new SlowQueryLog(60000,10);
+        BookDao dao = slowLoggedBookDao(slowQueryLog);
+
+        assertEquals(BookDaoH2ImplTest.firstBook,dao.getBookById(1));
+
+        assertTrue(slowQueryLog.getQueries().isEmpty());
+    }
+
+    @Test
+    public void failedSlowQueryIsLoggedWithoutPlan(){
+        SlowQueryLog slowQueryLog = new SlowQueryLog(0,10);
+        TimedJdbcTemplate template = new TimedJdbcTemplate(dataSource,sqlCatalog,daoTimers);
+        template.setSlowQueryLog(slowQueryLog);
+
+        try {
+            template.queryForList("SELECT id FROM book WHERE id=? AND absent_column=1",1);
+            fail();
+        } catch (BadSqlGrammarException e) {
+            SlowQuery query = slowQueryLog.getQueries().get(0);
+            assertEquals(TimedJdbcTemplate.OTHER_QUERY,query.getName());
+            assertNotNull(query.getError());
+            assertNull(query.getPlan());
+        }
+    }
+
+    private BookDao slowLoggedBookDao(SlowQueryLog slowQueryLog) {
+        TimedJdbcTemplate template = new TimedJdbcTemplate(dataSource,sqlCatalog,daoTimers);
+        template.setSlowQueryLog(slowQueryLog);
+        BookDaoH2Impl dao = new BookDaoH2Impl(template);
+        // queries are injected with @Value
+        beanFactory.autowireBean(dao);
+        return dao;
+    }
+}
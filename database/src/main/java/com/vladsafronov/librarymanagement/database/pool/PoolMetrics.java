@@ -0,0 +1,103 @@
+package com.vladsafronov.librarymanagement.database.pool;
+
+import com.vladsafronov.librarymanagement.metrics.LatencyHistogram;
+import com.zaxxer.hikari.metrics.MetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Connection pool metrics.
+ *
+ * Registered in pool as metrics tracker factory, so pool reports
+ * connection acquire and usage times here. Also gives access to
+ * current count of active, idle and waiting for connection threads.
+ */
+public class PoolMetrics implements MetricsTrackerFactory {
+
+    private final LatencyHistogram acquireLatency = new LatencyHistogram();
+    private final LatencyHistogram usageTime = new LatencyHistogram();
+    private final AtomicLong acquireTimeouts = new AtomicLong();
+
+    private volatile String poolName;
+    private volatile PoolStats poolStats;
+
+    @Override
+    public MetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolName = poolName;
+        this.poolStats = poolStats;
+        return new HistogramMetricsTracker();
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    /**
+     * @return count of connections which are borrowed from pool now
+     */
+    public int getActiveConnections() {
+        return poolStats == null ? 0 : poolStats.getActiveConnections();
+    }
+
+    /**
+     * @return count of connections which are waiting in pool
+     */
+    public int getIdleConnections() {
+        return poolStats == null ? 0 : poolStats.getIdleConnections();
+    }
+
+    /**
+     * @return count of all opened connections
+     */
+    public int getTotalConnections() {
+        return poolStats == null ? 0 : poolStats.getTotalConnections();
+    }
+
+    /**
+     * @return count of threads which are waiting for connection
+     */
+    public int getWaitingThreads() {
+        return poolStats == null ? 0 : poolStats.getPendingThreads();
+    }
+
+    /**
+     * @return count of failed by timeout attempts to get connection
+     */
+    public long getAcquireTimeouts() {
+        return acquireTimeouts.get();
+    }
+
+    /**
+     * @return histogram of time spent for getting connection from pool
+     */
+    public LatencyHistogram getAcquireLatency() {
+        return acquireLatency;
+    }
+
+    /**
+     * @return histogram of time between connection borrowing and returning
+     */
+    public LatencyHistogram getUsageTime() {
+        return usageTime;
+    }
+
+    private class HistogramMetricsTracker extends MetricsTracker {
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquireLatency.record(elapsedAcquiredNanos);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            usageTime.record(elapsedBorrowedMillis, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            acquireTimeouts.incrementAndGet();
+        }
+    }
+}
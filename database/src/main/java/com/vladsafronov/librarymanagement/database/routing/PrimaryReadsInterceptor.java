@@ -0,0 +1,22 @@
+package com.vladsafronov.librarymanagement.database.routing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Makes read-only dao methods, which it is applied to, read primary,
+ * so they see writes which replicas may not have yet.
+ * Must be applied before ReadOnlyRoutingInterceptor.
+ */
+public class PrimaryReadsInterceptor implements MethodInterceptor {
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        boolean primaryReads = ReadOnlyRoutingInterceptor.beginPrimaryReads();
+        try {
+            return invocation.proceed();
+        } finally {
+            ReadOnlyRoutingInterceptor.endPrimaryReads(primaryReads);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.vladsafronov.librarymanagement.database.routing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Marks calls of read-only dao methods, so connections, which they get
+ * from ReplicaRoutingDataSource, are connections to replicas.
+ * Nested calls keep mark of the outer call. Calls inside methods
+ * of PrimaryReadsInterceptor aren't marked and read primary.
+ */
+public class ReadOnlyRoutingInterceptor implements MethodInterceptor {
+
+    private static final ThreadLocal<Boolean> READ_ONLY = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARY_READS = new ThreadLocal<>();
+
+    /**
+     * @return true if current thread runs read-only method
+     */
+    public static boolean isReadOnly() {
+        return READ_ONLY.get() != null;
+    }
+
+    /**
+     * @return true if read-only methods of current thread read primary
+     */
+    public static boolean isPrimaryReads() {
+        return PRIMARY_READS.get() != null;
+    }
+
+    /**
+     * Makes read-only methods, which current thread calls until {@link #endPrimaryReads(boolean)},
+     * read primary, so they see writes which replicas may not have yet
+     *
+     * @return true if reads of current thread already went to primary, must be passed to endPrimaryReads
+     */
+    static boolean beginPrimaryReads() {
+        boolean primaryReads = isPrimaryReads();
+        PRIMARY_READS.set(Boolean.TRUE);
+        return primaryReads;
+    }
+
+    /**
+     * @param primaryReads result of {@link #beginPrimaryReads()}
+     */
+    static void endPrimaryReads(boolean primaryReads) {
+        if (!primaryReads) {
+            PRIMARY_READS.remove();
+        }
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (isReadOnly() || isPrimaryReads()) {
+            return invocation.proceed();
+        }
+        READ_ONLY.set(Boolean.TRUE);
+        try {
+            return invocation.proceed();
+        } finally {
+            READ_ONLY.remove();
+        }
+    }
+}
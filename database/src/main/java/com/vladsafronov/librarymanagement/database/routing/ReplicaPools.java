@@ -0,0 +1,44 @@
+package com.vladsafronov.librarymanagement.database.routing;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates connection pools of replicas with settings of primary pool
+ */
+public final class ReplicaPools {
+
+    private ReplicaPools() {
+    }
+
+    /**
+     * Create pool per url. Pools don't wait for replicas on start,
+     * replica which is down is found by health check of routing data source.
+     * Metrics of replica pools are not tracked.
+     *
+     * @param primaryConfig settings of primary pool
+     * @param urls comma separated jdbc urls of replicas, may be empty
+     * @return pools of replicas in order of urls
+     */
+    public static List<DataSource> create(HikariConfig primaryConfig, String urls) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : StringUtils.commaDelimitedListToStringArray(urls)) {
+            if (url.trim().isEmpty()) {
+                continue;
+            }
+            HikariConfig config = new HikariConfig();
+            primaryConfig.copyState(config);
+            config.setJdbcUrl(url.trim());
+            config.setPoolName(primaryConfig.getPoolName() + "-replica-" + replicas.size());
+            config.setMetricsTrackerFactory(null);
+            config.setInitializationFailTimeout(-1);
+            replicas.add(new HikariDataSource(config));
+        }
+        return replicas;
+    }
+}
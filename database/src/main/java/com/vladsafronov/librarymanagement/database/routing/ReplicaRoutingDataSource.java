@@ -0,0 +1,214 @@
+package com.vladsafronov.librarymanagement.database.routing;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Data source, which gives connections of read-only methods (see ReadOnlyRoutingInterceptor)
+ * to replicas in round-robin order and all other connections to primary.
+ *
+ * Replicas are checked periodically, replica which can't give valid connection
+ * is skipped until the next successful check. Replica is also skipped at once,
+ * when it fails to give connection, then connection of primary is given instead.
+ * Without healthy replicas reads go to primary. Transaction is bound to connection,
+ * so read inside transaction goes to the same database as its writes.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    public static final String PRIMARY = "primary";
+
+    private static final int HEALTHY = 1;
+    private static final int DOWN = 0;
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final AtomicIntegerArray health;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private long healthCheckIntervalMs = 5000;
+    private int validationTimeoutSeconds = 1;
+    private ScheduledExecutorService healthChecker;
+
+    /**
+     * @param primary database of writes
+     * @param replicas databases of reads, may be empty
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas) {
+        this.primary = primary;
+        this.replicas = new ArrayList<>(replicas);
+        this.health = new AtomicIntegerArray(replicas.size());
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+            health.set(i, HEALTHY);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    /**
+     * @param healthCheckIntervalMs period of replica checks, 0 turns periodic checks off
+     */
+    public void setHealthCheckIntervalMs(long healthCheckIntervalMs) {
+        this.healthCheckIntervalMs = healthCheckIntervalMs;
+    }
+
+    /**
+     * @param validationTimeoutSeconds time, which replica has to confirm that connection is valid
+     */
+    public void setValidationTimeoutSeconds(int validationTimeoutSeconds) {
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        if (healthCheckIntervalMs > 0 && !replicas.isEmpty()) {
+            healthChecker = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable task) {
+                    Thread thread = new Thread(task, "replica-health-check");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            healthChecker.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    checkReplicas();
+                }
+            }, healthCheckIntervalMs, healthCheckIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Check every replica, replica is healthy if it gives valid connection
+     */
+    public void checkReplicas() {
+        for (int i = 0; i < replicas.size(); i++) {
+            boolean valid = isValid(replicas.get(i));
+            int previous = health.getAndSet(i, valid ? HEALTHY : DOWN);
+            if (valid && previous == DOWN) {
+                LOGGER.info("Replica {} is healthy again", i);
+            } else if (!valid && previous == HEALTHY) {
+                LOGGER.warn("Replica {} is down", i);
+            }
+        }
+    }
+
+    /**
+     * @return indexes of replicas, which are used for reads now
+     */
+    public List<Integer> getHealthyReplicas() {
+        List<Integer> healthy = new ArrayList<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            if (health.get(i) == HEALTHY) {
+                healthy.add(i);
+            }
+        }
+        return healthy;
+    }
+
+    /**
+     * @return PRIMARY or index of the next healthy replica for read-only method
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicas.isEmpty() || !ReadOnlyRoutingInterceptor.isReadOnly()) {
+            return PRIMARY;
+        }
+        int start = next.getAndIncrement() & Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.size(); i++) {
+            int replica = (start + i) % replicas.size();
+            if (health.get(replica) == HEALTHY) {
+                return replica;
+            }
+        }
+        return PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        if (key instanceof Integer) {
+            int replica = (Integer) key;
+            try {
+                return replicas.get(replica).getConnection();
+            } catch (SQLException e) {
+                markDown(replica, e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Object key = determineCurrentLookupKey();
+        if (key instanceof Integer) {
+            int replica = (Integer) key;
+            try {
+                return replicas.get(replica).getConnection(username, password);
+            } catch (SQLException e) {
+                markDown(replica, e);
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Stop checks and close pools of replicas, pool of primary is closed by its owner
+     */
+    @Override
+    public void close() throws IOException {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        for (DataSource replica : replicas) {
+            if (replica instanceof Closeable) {
+                ((Closeable) replica).close();
+            }
+        }
+    }
+
+    private void markDown(int replica, SQLException e) {
+        if (health.getAndSet(replica, DOWN) == HEALTHY) {
+            LOGGER.warn("Replica {} is down: {}", replica, e.getMessage());
+        }
+    }
+
+    private boolean isValid(DataSource replica) {
+        Connection connection = null;
+        try {
+            connection = replica.getConnection();
+            return connection.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            LOGGER.debug("isValid(): {}", e.getMessage());
+            return false;
+        } finally {
+            JdbcUtils.closeConnection(connection);
+        }
+    }
+}
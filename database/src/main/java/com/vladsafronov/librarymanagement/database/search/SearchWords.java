@@ -0,0 +1,59 @@
+package com.vladsafronov.librarymanagement.database.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Splits titles and names into words of search index, both for dao and
+ * for migration, which fills index with rows added before it existed.
+ *
+ * Words are lower case sequences of letters and digits. One letter words
+ * and the most common english words are skipped, because they are found
+ * in too many titles to narrow search.
+ */
+public final class SearchWords {
+
+    /**
+     * Length of word column, longer words are cut
+     */
+    public static final int MAX_WORD_LENGTH = 64;
+
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+            "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is",
+            "it", "of", "on", "or", "the", "to", "with"));
+
+    private SearchWords() {
+    }
+
+    /**
+     * Split texts into distinct words
+     *
+     * @param texts titles or names, null texts are skipped
+     * @return words in order of appearance
+     */
+    public static List<String> split(String... texts) {
+        Set<String> words = new LinkedHashSet<>();
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+            for (String word : SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+                if (word.length() > MAX_WORD_LENGTH) {
+                    word = word.substring(0, MAX_WORD_LENGTH);
+                }
+                if (word.length() > 1 && !STOP_WORDS.contains(word)) {
+                    words.add(word);
+                }
+            }
+        }
+        return new ArrayList<>(words);
+    }
+}
@@ -0,0 +1,39 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.spring.SpringJdbcMigration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Foreign keys of book_author are created unnamed by schema script, which was used
+ * before migrations, databases created by it are baselined at version 1, so V1 didn't
+ * give these keys their names. Unnamed keys are found by their columns and re-created
+ * with names of V1, so later migrations change them by name in every database.
+ */
+public class V7_1__name_book_author_foreign_keys implements SpringJdbcMigration {
+
+    private static final String FIND_FOREIGN_KEYS_SQL = "SELECT FK_NAME FROM INFORMATION_SCHEMA.CROSS_REFERENCES " +
+            "WHERE UPPER(FKTABLE_NAME)='BOOK_AUTHOR' AND UPPER(FKCOLUMN_NAME)=? AND UPPER(PKTABLE_NAME)=?";
+
+    @Override
+    public void migrate(JdbcTemplate jdbcTemplate) {
+        nameForeignKey(jdbcTemplate, "fk_book_author_book", "book_id", "book");
+        nameForeignKey(jdbcTemplate, "fk_book_author_author", "author_id", "author");
+    }
+
+    private void nameForeignKey(JdbcTemplate jdbcTemplate, String name, String column, String table) {
+        List<String> names = jdbcTemplate.queryForList(FIND_FOREIGN_KEYS_SQL, String.class,
+                column.toUpperCase(), table.toUpperCase());
+        for (String existing : names) {
+            if (existing.equalsIgnoreCase(name)) {
+                return;
+            }
+        }
+        for (String existing : names) {
+            jdbcTemplate.execute("ALTER TABLE book_author DROP CONSTRAINT " + existing);
+        }
+        jdbcTemplate.execute("ALTER TABLE book_author ADD CONSTRAINT " + name +
+                " FOREIGN KEY (" + column + ") REFERENCES " + table + "(id)");
+    }
+}
@@ -0,0 +1,64 @@
+package db.migration;
+
+import com.vladsafronov.librarymanagement.database.search.SearchWords;
+import org.flywaydb.core.api.migration.spring.SpringJdbcMigration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Books and authors, which existed before V4 created search words, have no words,
+ * so search doesn't find them. Words are added for every book and author without words,
+ * rows added by dao after V4 already have them. Book or author, which title or name
+ * has only skipped words, gets no words again.
+ */
+public class V9__fill_search_words implements SpringJdbcMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String BOOKS_WITHOUT_WORDS_SQL = "SELECT id, title FROM book b " +
+            "WHERE NOT EXISTS (SELECT 1 FROM book_word w WHERE w.book_id=b.id)";
+    private static final String ADD_BOOK_WORD_SQL = "INSERT INTO book_word (word,book_id) VALUES (?,?)";
+
+    private static final String AUTHORS_WITHOUT_WORDS_SQL = "SELECT id, name, surname FROM author a " +
+            "WHERE NOT EXISTS (SELECT 1 FROM author_word w WHERE w.author_id=a.id)";
+    private static final String ADD_AUTHOR_WORD_SQL = "INSERT INTO author_word (word,author_id) VALUES (?,?)";
+
+    @Override
+    public void migrate(JdbcTemplate jdbcTemplate) {
+        fillWords(jdbcTemplate, BOOKS_WITHOUT_WORDS_SQL, ADD_BOOK_WORD_SQL);
+        fillWords(jdbcTemplate, AUTHORS_WITHOUT_WORDS_SQL, ADD_AUTHOR_WORD_SQL);
+    }
+
+    /**
+     * @param selectSql query of id and text columns of rows without words
+     * @param insertSql insert of word and id
+     */
+    private void fillWords(final JdbcTemplate jdbcTemplate, String selectSql, final String insertSql) {
+        final List<Object[]> words = new ArrayList<>();
+        jdbcTemplate.query(selectSql, new RowCallbackHandler() {
+            @Override
+            public void processRow(ResultSet resultSet) throws SQLException {
+                int columns = resultSet.getMetaData().getColumnCount();
+                String[] texts = new String[columns - 1];
+                for (int i = 0; i < texts.length; i++) {
+                    texts[i] = resultSet.getString(i + 2);
+                }
+                for (String word : SearchWords.split(texts)) {
+                    words.add(new Object[]{word, resultSet.getInt(1)});
+                }
+                if (words.size() >= BATCH_SIZE) {
+                    jdbcTemplate.batchUpdate(insertSql, words);
+                    words.clear();
+                }
+            }
+        });
+        if (!words.isEmpty()) {
+            jdbcTemplate.batchUpdate(insertSql, words);
+        }
+    }
+}
@@ -1,16 +1,37 @@
-INSERT INTO book (title,rating,release_date,lang) VALUES
-  ('1984',89,'2014-01-01','Eng'),
-  ('Brave New World',85,'2016-01-02','Eng'),
-  ('The Road to Wigan Pier',50,'2015-01-01','Eng'),
-  ('The Doors of Perception',54,'2015-02-02','Eng');
+MERGE INTO book (id,title,rating,release_date,lang) KEY (id) VALUES
+  (1,'1984',89,'2014-01-01','Eng'),
+  (2,'Brave New World',85,'2016-01-02','Eng'),
+  (3,'The Road to Wigan Pier',50,'2015-01-01','Eng'),
+  (4,'The Doors of Perception',54,'2015-02-02','Eng');
 
-INSERT INTO author(name,surname,birth_date) VALUES
-  ('George','Orwell','2010-01-01'),
-  ('Aldous','Haxley','2009-01-01'),
-  ('Vlad','Safronov','1998-08-22');
+MERGE INTO author (id,name,surname,birth_date) KEY (id) VALUES
+  (1,'George','Orwell','2010-01-01'),
+  (2,'Aldous','Haxley','2009-01-01'),
+  (3,'Vlad','Safronov','1998-08-22');
 
-INSERT INTO book_author (book_id,author_id) VALUES
+MERGE INTO book_author (book_id,author_id) KEY (book_id,author_id) VALUES
   (1,1),
   (2,2),
   (3,1),
-  (4,2);
\ No newline at end of file
+  (4,2);
+
+-- rows are added directly, so their search words are listed here
+MERGE INTO book_word (word,book_id) KEY (word,book_id) VALUES
+  ('1984',1),
+  ('brave',2),('new',2),('world',2),
+  ('road',3),('wigan',3),('pier',3),
+  ('doors',4),('perception',4);
+
+MERGE INTO author_word (word,author_id) KEY (word,author_id) VALUES
+  ('george',1),('orwell',1),
+  ('aldous',2),('haxley',2),
+  ('vlad',3),('safronov',3);
+
+-- links are added directly, so author statistics are rebuilt
+DELETE FROM author_stats;
+
+INSERT INTO author_stats (author_id,book_count,rating_sum,rating_count)
+  SELECT author.id, COUNT(book_author.book_id), COALESCE(SUM(book.rating),0), COUNT(book.rating)
+  FROM author LEFT JOIN book_author ON book_author.author_id=author.id
+              LEFT JOIN book ON book.id=book_author.book_id
+  GROUP BY author.id;
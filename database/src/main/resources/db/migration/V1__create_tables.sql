@@ -0,0 +1,23 @@
+CREATE TABLE IF NOT EXISTS book(
+  id INT NOT NULL AUTO_INCREMENT,
+  title VARCHAR(255) NOT NULL UNIQUE,
+  rating INT,
+  release_date DATE,
+  lang VARCHAR(40),
+  PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS author(
+  id INT NOT NULL AUTO_INCREMENT,
+  name VARCHAR(60) NOT NULL,
+  surname VARCHAR(60) NOT NULL,
+  birth_date DATE,
+  PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS book_author(
+  book_id INT NOT NULL,
+  author_id INT NOT NULL,
+  CONSTRAINT fk_book_author_book FOREIGN KEY (book_id) REFERENCES book(id),
+  CONSTRAINT fk_book_author_author FOREIGN KEY (author_id) REFERENCES author(id)
+);
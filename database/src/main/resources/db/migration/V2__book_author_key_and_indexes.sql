@@ -0,0 +1,9 @@
+-- links could be duplicated while table had no primary key
+DELETE FROM book_author WHERE _ROWID_ NOT IN
+  (SELECT MIN(_ROWID_) FROM book_author GROUP BY book_id, author_id);
+
+ALTER TABLE book_author ADD CONSTRAINT pk_book_author PRIMARY KEY (book_id, author_id);
+
+CREATE INDEX IF NOT EXISTS idx_book_author_author ON book_author (author_id, book_id);
+
+CREATE INDEX IF NOT EXISTS idx_book_release_date ON book (release_date);
@@ -0,0 +1,18 @@
+-- pre-computed statistics of authors books, kept up to date by dao on every change
+-- of books and links, so author statistics are read by primary key
+CREATE TABLE IF NOT EXISTS author_stats(
+  author_id INT NOT NULL,
+  book_count INT NOT NULL DEFAULT 0,
+  rating_sum BIGINT NOT NULL DEFAULT 0,
+  rating_count INT NOT NULL DEFAULT 0,
+  PRIMARY KEY (author_id),
+  CONSTRAINT fk_author_stats_author FOREIGN KEY (author_id) REFERENCES author(id)
+);
+
+DELETE FROM author_stats;
+
+INSERT INTO author_stats (author_id,book_count,rating_sum,rating_count)
+  SELECT author.id, COUNT(book_author.book_id), COALESCE(SUM(book.rating),0), COUNT(book.rating)
+  FROM author LEFT JOIN book_author ON book_author.author_id=author.id
+              LEFT JOIN book ON book.id=book_author.book_id
+  GROUP BY author.id;
@@ -0,0 +1,22 @@
+-- words of book titles and author names for prefix search, kept up to date by dao
+-- on every change of books and authors. Words are found by prefix with primary key
+-- range scan, rows of one book or author are removed with second index.
+-- Words are split in java, so words of rows which existed before this migration
+-- are added by V9__fill_search_words
+CREATE TABLE IF NOT EXISTS book_word(
+  word VARCHAR(64) NOT NULL,
+  book_id INT NOT NULL,
+  CONSTRAINT pk_book_word PRIMARY KEY (word, book_id),
+  CONSTRAINT fk_book_word_book FOREIGN KEY (book_id) REFERENCES book(id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_book_word_book ON book_word (book_id);
+
+CREATE TABLE IF NOT EXISTS author_word(
+  word VARCHAR(64) NOT NULL,
+  author_id INT NOT NULL,
+  CONSTRAINT pk_author_word PRIMARY KEY (word, author_id),
+  CONSTRAINT fk_author_word_author FOREIGN KEY (author_id) REFERENCES author(id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_author_word_author ON author_word (author_id);
@@ -0,0 +1,9 @@
+-- lower case copies of author name and surname, computed by database on every
+-- insert and update, so case insensitive lookups by prefix are index range scans
+ALTER TABLE author ADD COLUMN IF NOT EXISTS name_key VARCHAR(255) AS LOWER(name);
+
+ALTER TABLE author ADD COLUMN IF NOT EXISTS surname_key VARCHAR(255) AS LOWER(surname);
+
+CREATE INDEX IF NOT EXISTS idx_author_name_key ON author (name_key, surname_key);
+
+CREATE INDEX IF NOT EXISTS idx_author_surname_key ON author (surname_key, name_key);
@@ -0,0 +1,5 @@
+-- version is incremented and updated_at is set by every update of book,
+-- rest layer builds ETag and Last-Modified headers from them
+ALTER TABLE book ADD COLUMN IF NOT EXISTS version INT NOT NULL DEFAULT 0;
+
+ALTER TABLE book ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP();
@@ -0,0 +1,20 @@
+-- every insert, update and delete of books and authors, written by dao in the same
+-- transaction as the change, mirrors of catalog read changes after the last seen seq
+CREATE TABLE IF NOT EXISTS change_log(
+  seq BIGINT AUTO_INCREMENT,
+  entity VARCHAR(10) NOT NULL,
+  entity_id INT NOT NULL,
+  operation VARCHAR(10) NOT NULL,
+  changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP(),
+  PRIMARY KEY (seq)
+);
+
+-- one row, which dao locks before it writes changes and holds until commit,
+-- so changes are committed in order of seq and reader after some seq never
+-- misses smaller seq, which was committed later
+CREATE TABLE IF NOT EXISTS change_log_lock(
+  id INT NOT NULL,
+  PRIMARY KEY (id)
+);
+
+MERGE INTO change_log_lock (id) KEY (id) VALUES (1);
@@ -0,0 +1,21 @@
+-- rows which belong to book or author are deleted by database together with it,
+-- so delete of book or author is one statement and author with books can be deleted
+ALTER TABLE book_author DROP CONSTRAINT fk_book_author_book;
+ALTER TABLE book_author ADD CONSTRAINT fk_book_author_book
+  FOREIGN KEY (book_id) REFERENCES book(id) ON DELETE CASCADE;
+
+ALTER TABLE book_author DROP CONSTRAINT fk_book_author_author;
+ALTER TABLE book_author ADD CONSTRAINT fk_book_author_author
+  FOREIGN KEY (author_id) REFERENCES author(id) ON DELETE CASCADE;
+
+ALTER TABLE book_word DROP CONSTRAINT fk_book_word_book;
+ALTER TABLE book_word ADD CONSTRAINT fk_book_word_book
+  FOREIGN KEY (book_id) REFERENCES book(id) ON DELETE CASCADE;
+
+ALTER TABLE author_word DROP CONSTRAINT fk_author_word_author;
+ALTER TABLE author_word ADD CONSTRAINT fk_author_word_author
+  FOREIGN KEY (author_id) REFERENCES author(id) ON DELETE CASCADE;
+
+ALTER TABLE author_stats DROP CONSTRAINT fk_author_stats_author;
+ALTER TABLE author_stats ADD CONSTRAINT fk_author_stats_author
+  FOREIGN KEY (author_id) REFERENCES author(id) ON DELETE CASCADE;
@@ -0,0 +1,86 @@
+package com.vladsafronov.librarymanagement.database.migration;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Migrations of empty database and of database created by schema script before migrations
+ */
+public class MigrationTest {
+
+    private static final String LAST_VERSION = "9";
+
+    private JdbcTemplate jdbcTemplate;
+
+    @After
+    public void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    public void migrateEmptyDatabase() {
+        Flyway flyway = flyway("migration_empty");
+        flyway.migrate();
+
+        assertEquals(LAST_VERSION, flyway.info().current().getVersion().getVersion());
+        addCatalog();
+        assertBookIsDeletedWithLinks();
+    }
+
+    @Test
+    public void migrateDatabaseCreatedBeforeMigrations() {
+        Flyway flyway = flyway("migration_old");
+        new ResourceDatabasePopulator(new ClassPathResource("db/schema-before-migrations.sql"))
+                .execute(jdbcTemplate.getDataSource());
+        addCatalog();
+        flyway.migrate();
+
+        assertEquals(LAST_VERSION, flyway.info().current().getVersion().getVersion());
+        // rows added before search words are found by search
+        assertEquals(2, count("SELECT COUNT(*) FROM book_word WHERE book_id=2"));
+        assertEquals(1, count("SELECT COUNT(*) FROM book_word WHERE word='animal'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM author_word WHERE word='orwell'"));
+        assertBookIsDeletedWithLinks();
+        // author with book is deleted with its links
+        jdbcTemplate.update("DELETE FROM author WHERE id=2");
+        assertEquals(0, count("SELECT COUNT(*) FROM book_author WHERE author_id=2"));
+    }
+
+    private Flyway flyway(String database) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + database + ";MODE=MYSQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        Flyway flyway = new Flyway();
+        flyway.setDataSource(dataSource);
+        flyway.setLocations("classpath:db/migration");
+        flyway.setBaselineOnMigrate(true);
+        flyway.setBaselineVersionAsString("1");
+        return flyway;
+    }
+
+    private void addCatalog() {
+        jdbcTemplate.update("INSERT INTO book (id,title,rating,release_date,lang) VALUES (1,'1984',89,'2014-01-01','Eng')");
+        jdbcTemplate.update("INSERT INTO book (id,title,rating,release_date,lang) VALUES (2,'Animal Farm',90,'1945-08-17','Eng')");
+        jdbcTemplate.update("INSERT INTO author (id,name,surname,birth_date) VALUES (1,'George','Orwell','1903-06-25')");
+        jdbcTemplate.update("INSERT INTO author (id,name,surname,birth_date) VALUES (2,'Eric','Blair','1903-06-25')");
+        jdbcTemplate.update("INSERT INTO book_author (book_id,author_id) VALUES (1,1),(2,1),(2,2)");
+    }
+
+    private void assertBookIsDeletedWithLinks() {
+        jdbcTemplate.update("DELETE FROM book WHERE id=1");
+        assertEquals(0, count("SELECT COUNT(*) FROM book_author WHERE book_id=1"));
+        assertEquals(2, count("SELECT COUNT(*) FROM book_author"));
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
@@ -0,0 +1,177 @@
+package com.vladsafronov.librarymanagement.database.routing;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.*;
+
+/**
+ * Replica routing test with primary and two replicas in separate H2 databases
+ */
+public class ReplicaRoutingDataSourceTest {
+
+    private static final String PRIMARY = "ROUTING_PRIMARY";
+    private static final String FIRST_REPLICA = "ROUTING_REPLICA_0";
+    private static final String SECOND_REPLICA = "ROUTING_REPLICA_1";
+
+    private SwitchableDataSource firstReplica;
+    private SwitchableDataSource secondReplica;
+    private ReplicaRoutingDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private Callable<String> readOnlyQuery;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        firstReplica = new SwitchableDataSource(h2(FIRST_REPLICA));
+        secondReplica = new SwitchableDataSource(h2(SECOND_REPLICA));
+        dataSource = new ReplicaRoutingDataSource(h2(PRIMARY),
+                Arrays.<DataSource>asList(firstReplica, secondReplica));
+        dataSource.setHealthCheckIntervalMs(0);
+        dataSource.afterPropertiesSet();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        ProxyFactory proxyFactory = new ProxyFactory(new Callable<String>() {
+            @Override
+            public String call() {
+                return databaseName();
+            }
+        });
+        proxyFactory.addAdvice(new ReadOnlyRoutingInterceptor());
+        readOnlyQuery = (Callable<String>) proxyFactory.getProxy();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        dataSource.close();
+    }
+
+    @Test
+    public void writesGoToPrimary() {
+        assertEquals(PRIMARY, databaseName());
+        assertEquals(PRIMARY, databaseName());
+    }
+
+    @Test
+    public void readsAreBalancedBetweenReplicas() throws Exception {
+        assertEquals(FIRST_REPLICA, readOnlyQuery.call());
+        assertEquals(SECOND_REPLICA, readOnlyQuery.call());
+        assertEquals(FIRST_REPLICA, readOnlyQuery.call());
+        assertFalse(ReadOnlyRoutingInterceptor.isReadOnly());
+    }
+
+    @Test
+    public void primaryReadsGoToPrimary() throws Exception {
+        ProxyFactory proxyFactory = new ProxyFactory(readOnlyQuery);
+        proxyFactory.addAdvice(new PrimaryReadsInterceptor());
+        @SuppressWarnings("unchecked")
+        Callable<String> primaryQuery = (Callable<String>) proxyFactory.getProxy();
+
+        assertEquals(PRIMARY, primaryQuery.call());
+        assertFalse(ReadOnlyRoutingInterceptor.isPrimaryReads());
+        assertEquals(FIRST_REPLICA, readOnlyQuery.call());
+    }
+
+    @Test
+    public void replicaFailedToGiveConnectionIsSkipped() throws Exception {
+        firstReplica.down = true;
+
+        // failed read is given connection of primary
+        assertEquals(PRIMARY, readOnlyQuery.call());
+        assertEquals(Collections.singletonList(1), dataSource.getHealthyReplicas());
+        assertEquals(SECOND_REPLICA, readOnlyQuery.call());
+        assertEquals(SECOND_REPLICA, readOnlyQuery.call());
+    }
+
+    @Test
+    public void healthCheckFindsReplicaDownAndBack() throws Exception {
+        firstReplica.down = true;
+        dataSource.checkReplicas();
+        assertEquals(Collections.singletonList(1), dataSource.getHealthyReplicas());
+        assertEquals(SECOND_REPLICA, readOnlyQuery.call());
+        assertEquals(SECOND_REPLICA, readOnlyQuery.call());
+
+        firstReplica.down = false;
+        dataSource.checkReplicas();
+        assertEquals(Arrays.asList(0, 1), dataSource.getHealthyReplicas());
+    }
+
+    @Test
+    public void readsGoToPrimaryWithoutHealthyReplicas() throws Exception {
+        firstReplica.down = true;
+        secondReplica.down = true;
+        dataSource.checkReplicas();
+        assertTrue(dataSource.getHealthyReplicas().isEmpty());
+        assertEquals(PRIMARY, readOnlyQuery.call());
+    }
+
+    @Test
+    public void readsGoToPrimaryWithoutReplicas() throws Exception {
+        dataSource = new ReplicaRoutingDataSource(h2(PRIMARY), Collections.<DataSource>emptyList());
+        dataSource.afterPropertiesSet();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        assertEquals(PRIMARY, readOnlyQuery.call());
+    }
+
+    @Test
+    public void readInsideTransactionGoesToDatabaseOfTransaction() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        String name = transactionTemplate.execute(new TransactionCallback<String>() {
+            @Override
+            public String doInTransaction(TransactionStatus status) {
+                try {
+                    return readOnlyQuery.call();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+        assertEquals(PRIMARY, name);
+    }
+
+    private String databaseName() {
+        return jdbcTemplate.queryForObject("SELECT DATABASE()", String.class);
+    }
+
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+
+    /**
+     * Data source, which fails to give connection while it is down
+     */
+    private static class SwitchableDataSource extends DelegatingDataSource {
+
+        volatile boolean down;
+
+        SwitchableDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("Replica is down");
+            }
+            return super.getConnection();
+        }
+    }
+}
@@ -1,3 +1,4 @@
+-- schema of databases created before versioned migrations, such databases are baselined at version 1
 DROP TABLE IF EXISTS book;
 CREATE TABLE book(
   id INT NOT NULL AUTO_INCREMENT,
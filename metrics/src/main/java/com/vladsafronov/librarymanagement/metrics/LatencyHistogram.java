@@ -0,0 +1,168 @@
+package com.vladsafronov.librarymanagement.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with fixed bucket bounds.
+ *
+ * Recording is a binary search over the bounds and two atomic increments,
+ * so it is cheap enough to sit on hot paths.
+ */
+public class LatencyHistogram {
+
+    /**
+     * Default upper bounds of buckets (nanoseconds), from 10 microseconds to 10 seconds
+     */
+    public static final long[] DEFAULT_BOUNDS = {
+            micros(10), micros(25), micros(50), micros(100), micros(250), micros(500),
+            millis(1), millis(2) + micros(500), millis(5), millis(10), millis(25), millis(50),
+            millis(100), millis(250), millis(500),
+            millis(1000), millis(2500), millis(5000), millis(10000)
+    };
+
+    private final long[] bounds;
+    private final AtomicLongArray buckets;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public LatencyHistogram() {
+        this(DEFAULT_BOUNDS);
+    }
+
+    /**
+     * @param bounds ascending upper bounds of buckets in nanoseconds
+     */
+    public LatencyHistogram(long[] bounds) {
+        for (int i = 1; i < bounds.length; i++) {
+            if (bounds[i] <= bounds[i - 1]) {
+                throw new IllegalArgumentException("Bounds must be ascending");
+            }
+        }
+        this.bounds = bounds.clone();
+        // last bucket holds everything above the biggest bound
+        this.buckets = new AtomicLongArray(bounds.length + 1);
+    }
+
+    /**
+     * Record one observation
+     *
+     * @param nanos observed duration in nanoseconds
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets.incrementAndGet(indexOf(nanos));
+        count.incrementAndGet();
+        sum.addAndGet(nanos);
+
+        long currentMax = max.get();
+        while (nanos > currentMax && !max.compareAndSet(currentMax, nanos)) {
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * Record one observation
+     *
+     * @param duration observed duration
+     * @param unit unit of duration
+     */
+    public void record(long duration, TimeUnit unit) {
+        record(unit.toNanos(duration));
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * @return sum of all observations in nanoseconds
+     */
+    public long getSum() {
+        return sum.get();
+    }
+
+    /**
+     * @return biggest observation in nanoseconds
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @return copy of bucket upper bounds in nanoseconds
+     */
+    public long[] getBounds() {
+        return bounds.clone();
+    }
+
+    /**
+     * Get not cumulative bucket counts. Array is one element longer then bounds,
+     * the last element counts observations above the biggest bound.
+     *
+     * @return snapshot of bucket counts
+     */
+    public long[] getBucketCounts() {
+        long[] snapshot = new long[buckets.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = buckets.get(i);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Estimate percentile as upper bound of bucket which contains it
+     *
+     * @param percentile value between 0 and 100
+     * @return estimated value in nanoseconds, 0 if histogram is empty
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        long[] counts = getBucketCounts();
+        long total = 0;
+        for (long bucketCount : counts) {
+            total += bucketCount;
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(total * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < bounds.length; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return Math.min(bounds[i], getMax());
+            }
+        }
+        return getMax();
+    }
+
+    private int indexOf(long nanos) {
+        int low = 0;
+        int high = bounds.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (bounds[middle] < nanos) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private static long micros(long value) {
+        return TimeUnit.MICROSECONDS.toNanos(value);
+    }
+
+    private static long millis(long value) {
+        return TimeUnit.MILLISECONDS.toNanos(value);
+    }
+}
@@ -0,0 +1,159 @@
+package com.vladsafronov.librarymanagement.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Writes metrics in Prometheus text exposition format (version 0.0.4).
+ *
+ * Durations are written in seconds. Histogram buckets are cumulative and
+ * count of the last +Inf bucket is the same as histogram count, so percentiles
+ * are computed by Prometheus from buckets of the same snapshot.
+ */
+public class PrometheusWriter {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final int NANOS_SCALE = 9;
+
+    private final Writer writer;
+
+    public PrometheusWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Write duration histogram, error counter and, if rows are counted,
+     * rows counter of every timer of registry
+     *
+     * @param registry timers with the same label name
+     * @param withRows true to write rows counter
+     */
+    public void writeTimers(TimerRegistry registry, boolean withRows) throws IOException {
+        Map<String, Timer> timers = registry.getTimers();
+        String label = registry.getLabelName();
+
+        String durationName = registry.getName() + "_duration_seconds";
+        writeHeader(durationName, "Duration of " + registry.getHelp(), "histogram");
+        for (Map.Entry<String, Timer> timer : timers.entrySet()) {
+            writeHistogramSamples(durationName, label, timer.getKey(), timer.getValue().getLatency());
+        }
+
+        String errorsName = registry.getName() + "_errors_total";
+        writeHeader(errorsName, "Failed " + registry.getHelp(), "counter");
+        for (Map.Entry<String, Timer> timer : timers.entrySet()) {
+            writeSample(errorsName, label, timer.getKey(), Long.toString(timer.getValue().getErrors()));
+        }
+
+        if (withRows) {
+            String rowsName = registry.getName() + "_rows_total";
+            writeHeader(rowsName, "Rows returned or changed by " + registry.getHelp(), "counter");
+            for (Map.Entry<String, Timer> timer : timers.entrySet()) {
+                writeSample(rowsName, label, timer.getKey(), Long.toString(timer.getValue().getRows()));
+            }
+        }
+    }
+
+    /**
+     * Write histogram without labels
+     *
+     * @param name metric name, should end with _seconds
+     * @param help description
+     * @param histogram durations in nanoseconds
+     */
+    public void writeHistogram(String name, String help, LatencyHistogram histogram) throws IOException {
+        writeHeader(name, help, "histogram");
+        writeHistogramSamples(name, null, null, histogram);
+    }
+
+    public void writeCounter(String name, String help, long value) throws IOException {
+        writeHeader(name, help, "counter");
+        writeSample(name, null, null, Long.toString(value));
+    }
+
+    /**
+     * Write counter with one sample per label value
+     *
+     * @param name metric name, should end with _total
+     * @param help description
+     * @param labelName name of label
+     * @param values values by label value
+     */
+    public void writeCounter(String name, String help, String labelName, Map<String, ? extends Number> values)
+            throws IOException {
+        writeHeader(name, help, "counter");
+        for (Map.Entry<String, ? extends Number> value : values.entrySet()) {
+            writeSample(name, labelName, value.getKey(), value.getValue().toString());
+        }
+    }
+
+    public void writeGauge(String name, String help, long value) throws IOException {
+        writeGauge(name, help, null, Collections.singletonMap((String) null, value));
+    }
+
+    /**
+     * Write gauge with one sample per label value
+     *
+     * @param name metric name
+     * @param help description
+     * @param labelName name of label
+     * @param values values by label value
+     */
+    public void writeGauge(String name, String help, String labelName, Map<String, ? extends Number> values)
+            throws IOException {
+        writeHeader(name, help, "gauge");
+        for (Map.Entry<String, ? extends Number> value : values.entrySet()) {
+            writeSample(name, labelName, value.getKey(), value.getValue().toString());
+        }
+    }
+
+    private void writeHistogramSamples(String name, String labelName, String labelValue,
+                                       LatencyHistogram histogram) throws IOException {
+        long[] bounds = histogram.getBounds();
+        long[] counts = histogram.getBucketCounts();
+        // sum is read separately from buckets, so it may include few newer observations
+        long sum = histogram.getSum();
+
+        String labels = labelName == null ? "" : labelName + "=\"" + escape(labelValue) + "\",";
+        long cumulative = 0;
+        for (int i = 0; i < bounds.length; i++) {
+            cumulative += counts[i];
+            writeLine(name + "_bucket{" + labels + "le=\"" + seconds(bounds[i]) + "\"}", Long.toString(cumulative));
+        }
+        cumulative += counts[bounds.length];
+        writeLine(name + "_bucket{" + labels + "le=\"+Inf\"}", Long.toString(cumulative));
+        writeSample(name + "_sum", labelName, labelValue, seconds(sum));
+        writeSample(name + "_count", labelName, labelValue, Long.toString(cumulative));
+    }
+
+    private void writeHeader(String name, String help, String type) throws IOException {
+        writer.write("# HELP " + name + " " + help + "\n");
+        writer.write("# TYPE " + name + " " + type + "\n");
+    }
+
+    private void writeSample(String name, String labelName, String labelValue, String value) throws IOException {
+        if (labelName == null) {
+            writeLine(name, value);
+        } else {
+            writeLine(name + "{" + labelName + "=\"" + escape(labelValue) + "\"}", value);
+        }
+    }
+
+    private void writeLine(String sample, String value) throws IOException {
+        writer.write(sample);
+        writer.write(' ');
+        writer.write(value);
+        writer.write('\n');
+    }
+
+    static String seconds(long nanos) {
+        return BigDecimal.valueOf(nanos, NANOS_SCALE).stripTrailingZeros().toPlainString();
+    }
+
+    static String escape(String labelValue) {
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,86 @@
+package com.vladsafronov.librarymanagement.metrics;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query, which took longer than threshold of slow query log
+ */
+public class SlowQuery {
+
+    private final Instant executedAt;
+    private final String name;
+    private final String sql;
+    private final List<String> parameters;
+    private final long durationNanos;
+    private final long rows;
+    private final String plan;
+    private final String error;
+
+    /**
+     * @param executedAt time of query end
+     * @param name name of query
+     * @param sql executed sql with positional parameters
+     * @param parameters values of parameters in order of placeholders
+     * @param durationNanos duration of query
+     * @param rows rows returned or changed by query, 0 if not known
+     * @param plan query plan, null if it was not captured
+     * @param error error of failed query, null if query succeeded
+     */
+    public SlowQuery(Instant executedAt, String name, String sql, List<String> parameters,
+                     long durationNanos, long rows, String plan, String error) {
+        this.executedAt = executedAt;
+        this.name = name;
+        this.sql = sql;
+        this.parameters = parameters;
+        this.durationNanos = durationNanos;
+        this.rows = rows;
+        this.plan = plan;
+        this.error = error;
+    }
+
+    public Instant getExecutedAt() {
+        return executedAt;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public List<String> getParameters() {
+        return parameters;
+    }
+
+    public double getDurationMs() {
+        return (double) durationNanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public String getPlan() {
+        return plan;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "SlowQuery{" +
+                "executedAt=" + executedAt +
+                ", name='" + name + '\'' +
+                ", parameters=" + parameters +
+                ", durationMs=" + getDurationMs() +
+                ", rows=" + rows +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,68 @@
+package com.vladsafronov.librarymanagement.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Last slow queries in ring buffer of fixed capacity, the oldest query
+ * is overwritten by new one. Queries are added rarely, only when they are
+ * slow, so buffer is guarded by its monitor.
+ */
+public class SlowQueryLog {
+
+    private final long thresholdNanos;
+    private final SlowQuery[] queries;
+    private int next;
+    private int size;
+
+    /**
+     * @param thresholdMs queries taking at least thresholdMs milliseconds are slow
+     * @param capacity count of kept queries
+     */
+    public SlowQueryLog(long thresholdMs, int capacity) {
+        if (thresholdMs < 0) {
+            throw new IllegalArgumentException("Threshold must not be negative");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.queries = new SlowQuery[capacity];
+    }
+
+    /**
+     * @param durationNanos duration of query
+     * @return true if query should be added to log
+     */
+    public boolean isSlow(long durationNanos) {
+        return durationNanos >= thresholdNanos;
+    }
+
+    public synchronized void add(SlowQuery query) {
+        queries[next] = query;
+        next = (next + 1) % queries.length;
+        if (size < queries.length) {
+            size++;
+        }
+    }
+
+    /**
+     * @return kept queries, the newest first
+     */
+    public synchronized List<SlowQuery> getQueries() {
+        List<SlowQuery> result = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            result.add(queries[(next - i + queries.length) % queries.length]);
+        }
+        return result;
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = null;
+        }
+        next = 0;
+        size = 0;
+    }
+}
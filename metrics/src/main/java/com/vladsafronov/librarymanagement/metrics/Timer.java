@@ -0,0 +1,54 @@
+package com.vladsafronov.librarymanagement.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency histogram of some operation together with count of its
+ * failures and count of rows, which it returned or changed.
+ */
+public class Timer {
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong rows = new AtomicLong();
+
+    /**
+     * Record successful operation
+     *
+     * @param nanos duration of operation
+     */
+    public void record(long nanos) {
+        latency.record(nanos);
+    }
+
+    /**
+     * Record failed operation, its duration is added to histogram too
+     *
+     * @param nanos duration of operation
+     */
+    public void recordError(long nanos) {
+        latency.record(nanos);
+        errors.incrementAndGet();
+    }
+
+    /**
+     * @param count rows returned or changed by operation
+     */
+    public void addRows(long count) {
+        if (count > 0) {
+            rows.addAndGet(count);
+        }
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+
+    public long getRows() {
+        return rows.get();
+    }
+}
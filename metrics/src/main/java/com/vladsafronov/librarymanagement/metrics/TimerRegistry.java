@@ -0,0 +1,69 @@
+package com.vladsafronov.librarymanagement.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Timers of one kind of operations, for example of all dao queries,
+ * one timer per label value, for example per query name.
+ *
+ * Callers on hot paths should keep found timer instead of looking it up every time.
+ */
+public class TimerRegistry {
+
+    private final String name;
+    private final String help;
+    private final String labelName;
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * @param name prefix of metric names, for example library_dao_query
+     * @param help description of operations
+     * @param labelName name of label, which tells operations apart
+     */
+    public TimerRegistry(String name, String help, String labelName) {
+        this.name = name;
+        this.help = help;
+        this.labelName = labelName;
+    }
+
+    /**
+     * Get timer of operation, timer is created on first call
+     *
+     * @param labelValue name of operation
+     * @return the same timer for the same name
+     */
+    public Timer timer(String labelValue) {
+        Timer timer = timers.get(labelValue);
+        if (timer == null) {
+            Timer created = new Timer();
+            timer = timers.putIfAbsent(labelValue, created);
+            if (timer == null) {
+                timer = created;
+            }
+        }
+        return timer;
+    }
+
+    /**
+     * @return snapshot of timers ordered by label value
+     */
+    public Map<String, Timer> getTimers() {
+        return Collections.unmodifiableMap(new TreeMap<>(timers));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getHelp() {
+        return help;
+    }
+
+    public String getLabelName() {
+        return labelName;
+    }
+}
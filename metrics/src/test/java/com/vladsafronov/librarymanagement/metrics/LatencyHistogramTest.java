@@ -0,0 +1,81 @@
+package com.vladsafronov.librarymanagement.metrics;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * LatencyHistogram test
+ */
+public class LatencyHistogramTest {
+
+    private static final long[] BOUNDS = {10, 20, 30};
+
+    @Test
+    public void emptyHistogram(){
+        LatencyHistogram histogram = new LatencyHistogram(BOUNDS);
+        assertEquals(0,histogram.getCount());
+        assertEquals(0,histogram.getSum());
+        assertEquals(0,histogram.getPercentile(99));
+        assertArrayEquals(new long[]{0,0,0,0},histogram.getBucketCounts());
+    }
+
+    @Test
+    public void recordPutsValueToBucketWithSuitableBound(){
+        LatencyHistogram histogram = new LatencyHistogram(BOUNDS);
+        histogram.record(5);
+        histogram.record(10);
+        histogram.record(11);
+        histogram.record(30);
+        histogram.record(31);
+
+        assertArrayEquals(new long[]{2,1,1,1},histogram.getBucketCounts());
+        assertEquals(5,histogram.getCount());
+        assertEquals(87,histogram.getSum());
+        assertEquals(31,histogram.getMax());
+    }
+
+    @Test
+    public void recordNegativeValueAsZero(){
+        LatencyHistogram histogram = new LatencyHistogram(BOUNDS);
+        histogram.record(-1);
+        assertArrayEquals(new long[]{1,0,0,0},histogram.getBucketCounts());
+        assertEquals(0,histogram.getSum());
+    }
+
+    @Test
+    public void getPercentile(){
+        LatencyHistogram histogram = new LatencyHistogram(BOUNDS);
+        for (int i = 0; i < 90; i++) {
+            histogram.record(5);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(25);
+        }
+        assertEquals(10,histogram.getPercentile(50));
+        assertEquals(10,histogram.getPercentile(90));
+        assertEquals(25,histogram.getPercentile(99));
+    }
+
+    @Test
+    public void getPercentileAboveBiggestBoundReturnsMax(){
+        LatencyHistogram histogram = new LatencyHistogram(BOUNDS);
+        histogram.record(100);
+        assertEquals(100,histogram.getPercentile(100));
+    }
+
+    @Test
+    public void recordWithTimeUnit(){
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3, TimeUnit.MILLISECONDS);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(3),histogram.getSum());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(3),histogram.getMax());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void notAscendingBounds(){
+        new LatencyHistogram(new long[]{10,10});
+    }
+}
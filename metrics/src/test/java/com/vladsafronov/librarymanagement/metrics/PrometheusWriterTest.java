@@ -0,0 +1,74 @@
+package com.vladsafronov.librarymanagement.metrics;
+
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * PrometheusWriter test
+ */
+public class PrometheusWriterTest {
+
+    @Test
+    public void writeTimers() throws Exception {
+        TimerRegistry registry = new TimerRegistry("library_dao_query", "dao queries", "query");
+        Timer timer = registry.timer("BookDao.sql.getBookById");
+        timer.record(TimeUnit.MICROSECONDS.toNanos(300));
+        timer.recordError(TimeUnit.SECONDS.toNanos(20));
+        timer.addRows(1);
+
+        StringWriter out = new StringWriter();
+        new PrometheusWriter(out).writeTimers(registry, true);
+        String text = out.toString();
+
+        assertTrue(text.contains("# TYPE library_dao_query_duration_seconds histogram\n"));
+        assertTrue(text.contains("library_dao_query_duration_seconds_bucket{query=\"BookDao.sql.getBookById\",le=\"0.0005\"} 1\n"));
+        assertTrue(text.contains("library_dao_query_duration_seconds_bucket{query=\"BookDao.sql.getBookById\",le=\"+Inf\"} 2\n"));
+        assertTrue(text.contains("library_dao_query_duration_seconds_sum{query=\"BookDao.sql.getBookById\"} 20.0003\n"));
+        assertTrue(text.contains("library_dao_query_duration_seconds_count{query=\"BookDao.sql.getBookById\"} 2\n"));
+        assertTrue(text.contains("library_dao_query_errors_total{query=\"BookDao.sql.getBookById\"} 1\n"));
+        assertTrue(text.contains("library_dao_query_rows_total{query=\"BookDao.sql.getBookById\"} 1\n"));
+    }
+
+    @Test
+    public void bucketsAreCumulative() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram(new long[]{1000, 2000});
+        histogram.record(500);
+        histogram.record(1500);
+        histogram.record(1700);
+
+        StringWriter out = new StringWriter();
+        new PrometheusWriter(out).writeHistogram("test_seconds", "Test", histogram);
+
+        assertEquals("# HELP test_seconds Test\n"
+                + "# TYPE test_seconds histogram\n"
+                + "test_seconds_bucket{le=\"0.000001\"} 1\n"
+                + "test_seconds_bucket{le=\"0.000002\"} 3\n"
+                + "test_seconds_bucket{le=\"+Inf\"} 3\n"
+                + "test_seconds_sum 0.0000037\n"
+                + "test_seconds_count 3\n", out.toString());
+    }
+
+    @Test
+    public void writeGaugeAndCounter() throws Exception {
+        StringWriter out = new StringWriter();
+        PrometheusWriter writer = new PrometheusWriter(out);
+        writer.writeGauge("test_active", "Active", 3);
+        writer.writeCounter("test_total", "Total", 7);
+
+        assertEquals("# HELP test_active Active\n"
+                + "# TYPE test_active gauge\n"
+                + "test_active 3\n"
+                + "# HELP test_total Total\n"
+                + "# TYPE test_total counter\n"
+                + "test_total 7\n", out.toString());
+    }
+
+    @Test
+    public void labelValueIsEscaped() {
+        assertEquals("a\\\"b\\\\c\\n", PrometheusWriter.escape("a\"b\\c\n"));
+    }
+}
@@ -0,0 +1,69 @@
+package com.vladsafronov.librarymanagement.metrics;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * SlowQueryLog test
+ */
+public class SlowQueryLogTest {
+
+    @Test
+    public void queryIsSlowFromThreshold(){
+        SlowQueryLog log = new SlowQueryLog(100,10);
+        assertFalse(log.isSlow(TimeUnit.MILLISECONDS.toNanos(99)));
+        assertTrue(log.isSlow(TimeUnit.MILLISECONDS.toNanos(100)));
+    }
+
+    @Test
+    public void newestQueryIsFirst(){
+        SlowQueryLog log = new SlowQueryLog(0,3);
+        log.add(query("first"));
+        log.add(query("second"));
+
+        List<SlowQuery> queries = log.getQueries();
+        assertEquals(2,queries.size());
+        assertEquals("second",queries.get(0).getName());
+        assertEquals("first",queries.get(1).getName());
+    }
+
+    @Test
+    public void oldestQueryIsOverwritten(){
+        SlowQueryLog log = new SlowQueryLog(0,3);
+        for (int i = 1; i <= 5; i++) {
+            log.add(query("query" + i));
+        }
+
+        List<SlowQuery> queries = log.getQueries();
+        assertEquals(3,queries.size());
+        assertEquals("query5",queries.get(0).getName());
+        assertEquals("query3",queries.get(2).getName());
+    }
+
+    @Test
+    public void clear(){
+        SlowQueryLog log = new SlowQueryLog(0,3);
+        log.add(query("first"));
+        log.clear();
+        assertTrue(log.getQueries().isEmpty());
+
+        log.add(query("second"));
+        assertEquals("second",log.getQueries().get(0).getName());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void capacityMustBePositive(){
+        new SlowQueryLog(100,0);
+    }
+
+    private static SlowQuery query(String name) {
+        return new SlowQuery(Instant.now(), name, "SELECT 1", Collections.<String>emptyList(),
+                TimeUnit.MILLISECONDS.toNanos(150), 1, null, null);
+    }
+}
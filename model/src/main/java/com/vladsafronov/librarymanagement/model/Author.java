@@ -1,6 +1,11 @@
 package com.vladsafronov.librarymanagement.model;
 
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.vladsafronov.librarymanagement.model.json.IsoLocalDateDeserializer;
+import com.vladsafronov.librarymanagement.model.json.IsoLocalDateSerializer;
+
 import java.time.LocalDate;
 
 /**
@@ -23,6 +28,14 @@ public class Author {
     public Author() {
 
     }
+
+    /**
+     * @param author author, which fields are copied
+     */
+    public Author(Author author) {
+        this(author.id, author.name, author.surname, author.birthDate);
+    }
+
     public Integer getId() {
         return id;
     }
@@ -49,10 +62,12 @@ public class Author {
         this.surname = surname;
     }
 
+    @JsonSerialize(using = IsoLocalDateSerializer.class)
     public LocalDate getBirthDate() {
         return birthDate;
     }
 
+    @JsonDeserialize(using = IsoLocalDateDeserializer.class)
     public void setBirthDate(LocalDate birthDate) {
         this.birthDate = birthDate;
     }
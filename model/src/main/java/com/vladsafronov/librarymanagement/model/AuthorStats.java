@@ -0,0 +1,77 @@
+package com.vladsafronov.librarymanagement.model;
+
+/**
+ * Statistics of author books
+ */
+public class AuthorStats {
+    private Integer authorId;
+    private int bookCount;
+    private Double averageRating;
+
+    public AuthorStats(Integer authorId, int bookCount, Double averageRating) {
+        this.authorId = authorId;
+        this.bookCount = bookCount;
+        this.averageRating = averageRating;
+    }
+
+
+    public AuthorStats() {
+
+    }
+
+    public Integer getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(Integer authorId) {
+        this.authorId = authorId;
+    }
+
+    public int getBookCount() {
+        return bookCount;
+    }
+
+    public void setBookCount(int bookCount) {
+        this.bookCount = bookCount;
+    }
+
+    /**
+     * @return average rating of author books, null if author has no rated books
+     */
+    public Double getAverageRating() {
+        return averageRating;
+    }
+
+    public void setAverageRating(Double averageRating) {
+        this.averageRating = averageRating;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        AuthorStats that = (AuthorStats) o;
+
+        if (bookCount != that.bookCount) return false;
+        if (authorId != null ? !authorId.equals(that.authorId) : that.authorId != null) return false;
+        return averageRating != null ? averageRating.equals(that.averageRating) : that.averageRating == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = authorId != null ? authorId.hashCode() : 0;
+        result = 31 * result + bookCount;
+        result = 31 * result + (averageRating != null ? averageRating.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthorStats{" +
+                "authorId=" + authorId +
+                ", bookCount=" + bookCount +
+                ", averageRating=" + averageRating +
+                '}';
+    }
+}
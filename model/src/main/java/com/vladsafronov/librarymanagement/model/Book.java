@@ -1,23 +1,27 @@
 package com.vladsafronov.librarymanagement.model;
 
-import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.vladsafronov.librarymanagement.model.json.IsoLocalDateDeserializer;
+import com.vladsafronov.librarymanagement.model.json.IsoLocalDateSerializer;
 
-import java.text.SimpleDateFormat;
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 
 /**
  * Book model
  */
+@JsonPropertyOrder({"id", "title", "rating", "language", "releaseDate"})
 public class Book {
     private Integer id;
     private String title;
     private Integer rating;
     private LocalDate releaseDate;
     private String language;
+    private Integer version;
+    private Instant updatedAt;
 
     public Book(Integer id, String title, Integer rating, LocalDate releaseDate, String language) {
         this.id = id;
@@ -32,13 +36,13 @@ public class Book {
 
     }
 
-    @JsonProperty(value="releaseDate")
-    public String getStrReleaseDate(){
-        return releaseDate.format(DateTimeFormatter.ISO_LOCAL_DATE);
-    }
-    @JsonProperty(value="releaseDate")
-    public void setStrReleaseDate(String date){
-        releaseDate = LocalDate.parse(date);
+    /**
+     * @param book book, which fields are copied
+     */
+    public Book(Book book) {
+        this(book.id, book.title, book.rating, book.releaseDate, book.language);
+        this.version = book.version;
+        this.updatedAt = book.updatedAt;
     }
 
     public Integer getId() {
@@ -64,11 +68,12 @@ public class Book {
     public void setRating(Integer rating) {
         this.rating = rating;
     }
-    @JsonIgnore
+    @JsonSerialize(using = IsoLocalDateSerializer.class)
     public LocalDate getReleaseDate() {
         return releaseDate;
     }
 
+    @JsonDeserialize(using = IsoLocalDateDeserializer.class)
     public void setReleaseDate(LocalDate releaseDate) {
         this.releaseDate = releaseDate;
     }
@@ -81,6 +86,31 @@ public class Book {
         this.language = language;
     }
 
+    /**
+     * Version of book row, it is incremented by every update.
+     * Not a part of book value, so it isn't compared by equals.
+     */
+    @JsonIgnore
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
+    /**
+     * Time of last update of book row
+     */
+    @JsonIgnore
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -113,6 +143,7 @@ public class Book {
                 ", rating=" + rating +
                 ", releaseDate=" + releaseDate +
                 ", language='" + language + '\'' +
+                ", version=" + version +
                 '}';
     }
 }
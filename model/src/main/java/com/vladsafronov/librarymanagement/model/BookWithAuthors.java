@@ -0,0 +1,64 @@
+package com.vladsafronov.librarymanagement.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Book together with all its authors
+ */
+public class BookWithAuthors {
+    private Book book;
+    private List<Author> authors = new ArrayList<>();
+
+    public BookWithAuthors(Book book, List<Author> authors) {
+        this.book = book;
+        this.authors = authors;
+    }
+
+
+    public BookWithAuthors() {
+
+    }
+
+    public Book getBook() {
+        return book;
+    }
+
+    public void setBook(Book book) {
+        this.book = book;
+    }
+
+    public List<Author> getAuthors() {
+        return authors;
+    }
+
+    public void setAuthors(List<Author> authors) {
+        this.authors = authors;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        BookWithAuthors that = (BookWithAuthors) o;
+
+        if (book != null ? !book.equals(that.book) : that.book != null) return false;
+        return authors != null ? authors.equals(that.authors) : that.authors == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = book != null ? book.hashCode() : 0;
+        result = 31 * result + (authors != null ? authors.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "BookWithAuthors{" +
+                "book=" + book +
+                ", authors=" + authors +
+                '}';
+    }
+}
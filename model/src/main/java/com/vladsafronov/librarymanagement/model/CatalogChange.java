@@ -0,0 +1,118 @@
+package com.vladsafronov.librarymanagement.model;
+
+import java.time.Instant;
+
+/**
+ * One insert, update or delete of book or author from change log.
+ * Changes are numbered by increasing seq in order of commit
+ */
+public class CatalogChange {
+
+    /**
+     * Kind of changed row
+     */
+    public enum Entity {
+        BOOK, AUTHOR
+    }
+
+    /**
+     * Kind of change, change of authors of book is update of book
+     */
+    public enum Operation {
+        INSERT, UPDATE, DELETE
+    }
+
+    private Long seq;
+    private Entity entity;
+    private Integer entityId;
+    private Operation operation;
+    private Instant changedAt;
+
+    public CatalogChange(Long seq, Entity entity, Integer entityId, Operation operation, Instant changedAt) {
+        this.seq = seq;
+        this.entity = entity;
+        this.entityId = entityId;
+        this.operation = operation;
+        this.changedAt = changedAt;
+    }
+
+
+    public CatalogChange() {
+
+    }
+
+    public Long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(Long seq) {
+        this.seq = seq;
+    }
+
+    public Entity getEntity() {
+        return entity;
+    }
+
+    public void setEntity(Entity entity) {
+        this.entity = entity;
+    }
+
+    public Integer getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Integer entityId) {
+        this.entityId = entityId;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(Operation operation) {
+        this.operation = operation;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(Instant changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        CatalogChange that = (CatalogChange) o;
+
+        if (seq != null ? !seq.equals(that.seq) : that.seq != null) return false;
+        if (entity != that.entity) return false;
+        if (entityId != null ? !entityId.equals(that.entityId) : that.entityId != null) return false;
+        if (operation != that.operation) return false;
+        return changedAt != null ? changedAt.equals(that.changedAt) : that.changedAt == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = seq != null ? seq.hashCode() : 0;
+        result = 31 * result + (entity != null ? entity.hashCode() : 0);
+        result = 31 * result + (entityId != null ? entityId.hashCode() : 0);
+        result = 31 * result + (operation != null ? operation.hashCode() : 0);
+        result = 31 * result + (changedAt != null ? changedAt.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogChange{" +
+                "seq=" + seq +
+                ", entity=" + entity +
+                ", entityId=" + entityId +
+                ", operation=" + operation +
+                ", changedAt=" + changedAt +
+                '}';
+    }
+}
@@ -0,0 +1,81 @@
+package com.vladsafronov.librarymanagement.model.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * Reads date from ISO string (2017-01-31). Digits are read from characters
+ * of parser buffer, so date is created without string and formatter.
+ * Array of year, month and day, as java time module writes dates, is read too.
+ */
+public class IsoLocalDateDeserializer extends StdDeserializer<LocalDate> {
+
+    public IsoLocalDateDeserializer() {
+        super(LocalDate.class);
+    }
+
+    @Override
+    public LocalDate deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.hasToken(JsonToken.START_ARRAY)) {
+            return readArray(parser, context);
+        }
+        if (!parser.hasToken(JsonToken.VALUE_STRING)) {
+            return (LocalDate) context.handleUnexpectedToken(LocalDate.class, parser);
+        }
+
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int length = parser.getTextLength();
+        try {
+            if (length == IsoLocalDateSerializer.ISO_DATE_LENGTH
+                    && chars[offset + 4] == '-' && chars[offset + 7] == '-') {
+                int year = readDigits(chars, offset, 4);
+                int month = readDigits(chars, offset + 5, 2);
+                int day = readDigits(chars, offset + 8, 2);
+                if (year >= 0 && month >= 0 && day >= 0) {
+                    return LocalDate.of(year, month, day);
+                }
+            }
+            // other forms of ISO date, like years with sign
+            return LocalDate.parse(new String(chars, offset, length).trim());
+        } catch (DateTimeException e) {
+            return (LocalDate) context.handleWeirdStringValue
+                    (LocalDate.class, parser.getText(), e.getMessage());
+        }
+    }
+
+    private LocalDate readArray(JsonParser parser, DeserializationContext context) throws IOException {
+        int year = parser.nextIntValue(-1);
+        int month = parser.nextIntValue(-1);
+        int day = parser.nextIntValue(-1);
+        if (parser.nextToken() != JsonToken.END_ARRAY || year < 0 || month < 0 || day < 0) {
+            return (LocalDate) context.handleUnexpectedToken(LocalDate.class, parser);
+        }
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            throw context.mappingException(e.getMessage());
+        }
+    }
+
+    /**
+     * @return value of digits, or -1 if there is not digit character
+     */
+    private static int readDigits(char[] chars, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            char c = chars[i];
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
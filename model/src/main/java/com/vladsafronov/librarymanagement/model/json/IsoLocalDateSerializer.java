@@ -0,0 +1,46 @@
+package com.vladsafronov.librarymanagement.model.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Writes date as ISO string (2017-01-31). Characters are put into buffer
+ * and written to generator at once, without formatter and string objects.
+ * Doesn't depend on features of object mapper, so every mapper writes dates the same.
+ */
+public class IsoLocalDateSerializer extends StdSerializer<LocalDate> {
+
+    static final int ISO_DATE_LENGTH = 10;
+
+    public IsoLocalDateSerializer() {
+        super(LocalDate.class);
+    }
+
+    @Override
+    public void serialize(LocalDate date, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            // ISO format of such years has sign and more digits
+            generator.writeString(date.toString());
+            return;
+        }
+        char[] chars = new char[ISO_DATE_LENGTH];
+        writeDigits(chars, 0, 4, year);
+        chars[4] = '-';
+        writeDigits(chars, 5, 2, date.getMonthValue());
+        chars[7] = '-';
+        writeDigits(chars, 8, 2, date.getDayOfMonth());
+        generator.writeString(chars, 0, ISO_DATE_LENGTH);
+    }
+
+    private static void writeDigits(char[] chars, int offset, int count, int value) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.vladsafronov.librarymanagement.rest;
+
+import com.vladsafronov.librarymanagement.model.Author;
+import com.vladsafronov.librarymanagement.model.AuthorStats;
+import com.vladsafronov.librarymanagement.service.api.AuthorService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Author rest controller
+ */
+
+@RestController
+public class AuthorController {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    @Autowired
+    AuthorService authorService;
+
+    /**
+     * Statistics of many authors in one request, for example /authors/stats?ids=1,2,3
+     */
+    @RequestMapping(value = "/authors/stats")
+    public Map<Integer, AuthorStats> getStatsForAuthors(@RequestParam(name = "ids") List<Integer> ids){
+        LOGGER.debug("getStatsForAuthors(): ids = {}", ids);
+        return authorService.getStatsForAuthors(ids);
+    }
+
+    /**
+     * Authors which name starts with prefix, for autocomplete
+     */
+    @RequestMapping(value = "/authors/by-name")
+    public List<Author> getAuthorsByName(@RequestParam(name = "prefix") String prefix,
+                                         @RequestParam(name = "limit", required = false) Integer limit){
+        LOGGER.debug("getAuthorsByName(): prefix = {}, limit = {}", prefix, limit);
+        return authorService.getAuthorsByName(prefix,limit);
+    }
+
+    /**
+     * Authors which surname starts with prefix, for autocomplete
+     */
+    @RequestMapping(value = "/authors/by-surname")
+    public List<Author> getAuthorsBySurname(@RequestParam(name = "prefix") String prefix,
+                                            @RequestParam(name = "limit", required = false) Integer limit){
+        LOGGER.debug("getAuthorsBySurname(): prefix = {}, limit = {}", prefix, limit);
+        return authorService.getAuthorsBySurname(prefix,limit);
+    }
+}
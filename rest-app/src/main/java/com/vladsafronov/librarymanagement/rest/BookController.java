@@ -1,15 +1,43 @@
 package com.vladsafronov.librarymanagement.rest;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.vladsafronov.librarymanagement.model.Author;
 import com.vladsafronov.librarymanagement.model.Book;
+import com.vladsafronov.librarymanagement.model.BookWithAuthors;
+import com.vladsafronov.librarymanagement.rest.converter.SmileHttpMessageConverter;
 import com.vladsafronov.librarymanagement.service.api.BookService;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Book rest controller
@@ -20,30 +48,288 @@ public class BookController {
 
     private static final Logger LOGGER = LogManager.getLogger();
 
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private static final long NO_LAST_MODIFIED = -1;
+
+    private static final int STREAM_BUFFER_SIZE = 8192;
+
+    /**
+     * Media type of stream of length prefixed Smile books
+     */
+    /**
+     * Max count of books written by /books, not bigger than max page size of service
+     */
+    public static final int ALL_BOOKS_LIMIT = 1000;
+
+    public static final String SMILE_STREAM_VALUE = "application/x-jackson-smile-stream";
+
+    /**
+     * Media types of books written by message converters, in order of converters
+     */
+    private static final List<MediaType> BOOK_MEDIA_TYPES =
+            Arrays.asList(MediaType.APPLICATION_JSON, SmileHttpMessageConverter.SMILE);
+
     @Autowired
     BookService bookService;
 
+    /**
+     * Bounded executor for dao calls of async requests,
+     * servlet thread is released while request waits for database
+     */
+    @Autowired
+    @Qualifier("daoExecutor")
+    Executor daoExecutor;
+
+    /**
+     * Manager of message converters, which resolves accepted media types of request
+     */
+    @Autowired(required = false)
+    ContentNegotiationManager contentNegotiationManager = new ContentNegotiationManager();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Writer of streamed books, root serializer is found once. Generator is not
+     * flushed after every book, so books are sent by full buffers.
+     */
+    private final ObjectWriter bookWriter = objectMapper.writerFor(Book.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    private final ObjectWriter smileBookWriter = SmileHttpMessageConverter.createObjectMapper()
+            .writerFor(Book.class);
+
+    /**
+     * First {@link #ALL_BOOKS_LIMIT} books, so response doesn't grow with catalog.
+     * When limit is reached, Link header refers to next page of /books/page,
+     * whole catalog is written by /books/stream.
+     *
+     * List has only ETag validator: removed book doesn't change time of last update
+     * of other books, so Last-Modified of list can't detect removal
+     */
     @RequestMapping(value ="/books")
-    public List<Book> getAllBooks(){
+    public List<Book> getAllBooks(ServletWebRequest request){
         LOGGER.debug("getAllBooks()");
-        return bookService.getAllBooks();
+        List<Book> books = bookService.getBooksPage(null, ALL_BOOKS_LIMIT);
+        if (books.size() == ALL_BOOKS_LIMIT) {
+            String nextPage = ServletUriComponentsBuilder.fromContextPath(request.getRequest())
+                    .path("/books/page")
+                    .queryParam("afterId", books.get(books.size() - 1).getId())
+                    .build().toUriString();
+            request.getResponse().setHeader(HttpHeaders.LINK, "<" + nextPage + ">; rel=\"next\"");
+        }
+        if (checkNotModified(request, BookETags.of(books), NO_LAST_MODIFIED)) {
+            return null;
+        }
+        return books;
+    }
+
+    @RequestMapping(value = "/books/page")
+    public List<Book> getBooksPage(@RequestParam(name = "afterId", required = false) Integer afterId,
+                                   @RequestParam(name = "limit", required = false) Integer limit){
+        LOGGER.debug("getBooksPage(): afterId = {}, limit = {}", afterId, limit);
+        return bookService.getBooksPage(afterId,limit);
+    }
+
+    /**
+     * Page of books with their authors, so client doesn't request authors for every book
+     */
+    @RequestMapping(value = "/books/with-authors")
+    public List<BookWithAuthors> getBooksWithAuthorsPage(@RequestParam(name = "afterId", required = false) Integer afterId,
+                                                         @RequestParam(name = "limit", required = false) Integer limit){
+        LOGGER.debug("getBooksWithAuthorsPage(): afterId = {}, limit = {}", afterId, limit);
+        return bookService.getBooksWithAuthorsPage(afterId,limit);
+    }
+
+    /**
+     * Write all books as json array while they are read from database,
+     * so memory footprint doesn't depend on count of books
+     */
+    @RequestMapping(value = "/books/stream")
+    public void streamAllBooks(HttpServletResponse response) throws IOException {
+        LOGGER.debug("streamAllBooks()");
+
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        try (final JsonGenerator generator = objectMapper.getFactory()
+                .createGenerator(response.getOutputStream(), JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+            bookService.processAllBooks(new Consumer<Book>() {
+                @Override
+                public void accept(Book book) {
+                    try {
+                        bookWriter.writeValue(generator, book);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Write all books as stream of length prefixed Smile records: every book is a separate
+     * Smile document preceded by its length as 4 byte big-endian int. Bulk consumers read
+     * books one by one without parsing of one big array.
+     */
+    @RequestMapping(value = "/books/stream", produces = SMILE_STREAM_VALUE)
+    public void streamAllBooksSmile(HttpServletResponse response) throws IOException {
+        LOGGER.debug("streamAllBooksSmile()");
+
+        response.setContentType(SMILE_STREAM_VALUE);
+        final DataOutputStream out = new DataOutputStream
+                (new BufferedOutputStream(response.getOutputStream(), STREAM_BUFFER_SIZE));
+        final ByteArrayOutputStream record = new ByteArrayOutputStream();
+        bookService.processAllBooks(new Consumer<Book>() {
+            @Override
+            public void accept(Book book) {
+                try {
+                    record.reset();
+                    smileBookWriter.writeValue(record, book);
+                    out.writeInt(record.size());
+                    record.writeTo(out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+        out.flush();
     }
 
+    /**
+     * Book is not serialized when client has its current version
+     */
     @RequestMapping(value = "/book/{id}")
-    public Book getBookById(@PathVariable Integer id){
-        LOGGER.debug("getBookById(): id = "+id);
-        return bookService.getBookById(id);
+    public Book getBookById(@PathVariable Integer id, ServletWebRequest request){
+        LOGGER.debug("getBookById(): id = {}", id);
+        Book book = bookService.getBookById(id);
+        if (checkNotModified(request, BookETags.of(book), BookETags.lastModified(book))) {
+            return null;
+        }
+        return book;
     }
 
     @RequestMapping(value = "/book")
     public Book getBookByTitle(@RequestParam(name = "title") String title){
-        LOGGER.debug("getBookByTitle(): title = "+title);
+        LOGGER.debug("getBookByTitle(): title = {}", title);
         return bookService.getBookByTitle(title);
     }
 
+    /**
+     * Books, which title or author names have words starting with every word of query
+     */
+    @RequestMapping(value = "/books/search")
+    public List<Book> searchBooks(@RequestParam(name = "q") String query,
+                                  @RequestParam(name = "limit", required = false) Integer limit){
+        LOGGER.debug("searchBooks(): query = {}, limit = {}", query, limit);
+        return bookService.searchBooks(query,limit);
+    }
+
+    @RequestMapping(value = "/async/book/{id}")
+    public CompletableFuture<Book> getBookByIdAsync(@PathVariable final Integer id){
+        LOGGER.debug("getBookByIdAsync(): id = {}", id);
+        return CompletableFuture.supplyAsync(new Supplier<Book>() {
+            @Override
+            public Book get() {
+                return bookService.getBookById(id);
+            }
+        }, daoExecutor);
+    }
+
+    @RequestMapping(value = "/async/books/page")
+    public CompletableFuture<List<Book>> getBooksPageAsync(@RequestParam(name = "afterId", required = false) final Integer afterId,
+                                                           @RequestParam(name = "limit", required = false) final Integer limit){
+        LOGGER.debug("getBooksPageAsync(): afterId = {}, limit = {}", afterId, limit);
+        return CompletableFuture.supplyAsync(new Supplier<List<Book>>() {
+            @Override
+            public List<Book> get() {
+                return bookService.getBooksPage(afterId,limit);
+            }
+        }, daoExecutor);
+    }
+
+    @RequestMapping(value = "/async/books/with-authors")
+    public CompletableFuture<List<BookWithAuthors>> getBooksWithAuthorsPageAsync
+            (@RequestParam(name = "afterId", required = false) final Integer afterId,
+             @RequestParam(name = "limit", required = false) final Integer limit){
+        LOGGER.debug("getBooksWithAuthorsPageAsync(): afterId = {}, limit = {}", afterId, limit);
+        return CompletableFuture.supplyAsync(new Supplier<List<BookWithAuthors>>() {
+            @Override
+            public List<BookWithAuthors> get() {
+                return bookService.getBooksWithAuthorsPage(afterId,limit);
+            }
+        }, daoExecutor);
+    }
+
+    @RequestMapping(value = "/async/books/search")
+    public CompletableFuture<List<Book>> searchBooksAsync(@RequestParam(name = "q") final String query,
+                                                          @RequestParam(name = "limit", required = false) final Integer limit){
+        LOGGER.debug("searchBooksAsync(): query = {}, limit = {}", query, limit);
+        return CompletableFuture.supplyAsync(new Supplier<List<Book>>() {
+            @Override
+            public List<Book> get() {
+                return bookService.searchBooks(query,limit);
+            }
+        }, daoExecutor);
+    }
+
+    /**
+     * Json and Smile representations of the same books get different tags,
+     * and caches keep them separately by Accept header
+     */
+    private boolean checkNotModified(ServletWebRequest request, String etag, long lastModified) {
+        request.getResponse().addHeader("Vary", "Accept");
+        if (SmileHttpMessageConverter.SMILE.equals(negotiateBookMediaType(request))) {
+            etag = etag.substring(0, etag.length() - 1) + "-smile\"";
+        }
+        return request.checkNotModified(etag, lastModified);
+    }
+
+    /**
+     * Media type, which message converters choose for books: the most specific
+     * and preferred by quality of types, which request accepts and converters write
+     *
+     * @return json or Smile without parameters, null if books aren't acceptable
+     */
+    private MediaType negotiateBookMediaType(ServletWebRequest request) {
+        List<MediaType> acceptedTypes;
+        try {
+            acceptedTypes = contentNegotiationManager.resolveMediaTypes(request);
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            return null;
+        }
+        List<MediaType> compatibleTypes = new ArrayList<>();
+        for (MediaType acceptedType : acceptedTypes) {
+            for (MediaType bookType : BOOK_MEDIA_TYPES) {
+                if (acceptedType.isCompatibleWith(bookType)) {
+                    MediaType typeWithQuality = bookType.copyQualityValue(acceptedType);
+                    compatibleTypes.add(MediaType.SPECIFICITY_COMPARATOR.compare(acceptedType, typeWithQuality) <= 0
+                            ? acceptedType : typeWithQuality);
+                }
+            }
+        }
+        MediaType.sortBySpecificityAndQuality(compatibleTypes);
+        for (MediaType compatibleType : compatibleTypes) {
+            if (compatibleType.isConcrete()) {
+                return new MediaType(compatibleType.getType(), compatibleType.getSubtype());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Queue of dao executor is full, client should retry later
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public void handleRejectedExecution(RejectedExecutionException e, HttpServletResponse response){
+        LOGGER.warn("handleRejectedExecution(): {}", e.getMessage());
+        response.setHeader("Retry-After", RETRY_AFTER_SECONDS);
+    }
+
     @RequestMapping(value="/book/{id}",method = RequestMethod.DELETE)
     public void deleteBookById(@PathVariable Integer id){
-        LOGGER.debug("deleteBookById(): id = " + id);
+        LOGGER.debug("deleteBookById(): id = {}", id);
         bookService.deleteBookById(id);
     }
 
@@ -51,27 +337,37 @@ public class BookController {
     public List<Book> getBooksFromPeriod
             (@RequestParam(name="from") String from,
              @RequestParam(name="to")String to ){
-        LOGGER.debug("getBookFromPeriod(): from="+from+" to="+to);
+        LOGGER.debug("getBookFromPeriod(): from={} to={}", from, to);
         return bookService.getBooksFromPeriod(LocalDate.parse(from),LocalDate.parse(to));
     }
 
     @RequestMapping(value="/books",method = RequestMethod.PUT)
     public int updateBook(@RequestBody Book book){
-        LOGGER.debug("updateBook(): "+ book);
+        LOGGER.debug("updateBook(): {}", book);
         return bookService.updateBook(book);
     }
 
 
     @RequestMapping(value="/books",method = RequestMethod.POST)
     public void addBook(@RequestBody Book book){
-        LOGGER.debug("addBook(): "+book);
+        LOGGER.debug("addBook(): {}", book);
         bookService.addBook(book);
     }
+
+    @RequestMapping(value="/books/batch",method = RequestMethod.POST)
+    public List<Integer> addBooks(@RequestBody List<Book> books){
+        LOGGER.debug("addBooks(): count = {}", books.size());
+        return bookService.addBooks(books);
+    }
     @RequestMapping(value="author/{id}/books",method = RequestMethod.GET)
-    public List<Book> getBooksByAuthorId(@PathVariable Integer id){
+    public List<Book> getBooksByAuthorId(@PathVariable Integer id, ServletWebRequest request){
         //FIXME NOT ERROR WHEN SEND INVALID ID
-        LOGGER.debug("getBooksByAuthorId: id = " + id);
-        return bookService.getBooksByAuthorId(id);
+        LOGGER.debug("getBooksByAuthorId: id = {}", id);
+        List<Book> books = bookService.getBooksByAuthorId(id);
+        if (checkNotModified(request, BookETags.of(books), NO_LAST_MODIFIED)) {
+            return null;
+        }
+        return books;
     }
 
 
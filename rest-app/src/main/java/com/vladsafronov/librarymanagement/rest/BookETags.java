@@ -0,0 +1,55 @@
+package com.vladsafronov.librarymanagement.rest;
+
+import com.vladsafronov.librarymanagement.model.Book;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Validators of book resources for conditional requests.
+ *
+ * Tags are built from identifiers and versions of books, so they are
+ * computed without serialization of books. Version is changed by every
+ * update of book, so tag of changed book is changed too.
+ */
+final class BookETags {
+
+    private BookETags() {
+    }
+
+    /**
+     * @param book book with version
+     * @return strong entity tag of book
+     */
+    static String of(Book book) {
+        return "\"" + book.getId() + "." + versionOf(book) + "\"";
+    }
+
+    /**
+     * Tag of list depends on order, identifiers and versions of books,
+     * so it is changed when book is added, removed or updated.
+     *
+     * @param books books with versions
+     * @return strong entity tag of list of books
+     */
+    static String of(List<Book> books) {
+        StringBuilder versions = new StringBuilder(books.size() * 8);
+        for (Book book : books) {
+            versions.append(book.getId()).append('.').append(versionOf(book)).append(',');
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(versions.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * @param book book with time of update
+     * @return time of last update in milliseconds, or -1 if it is unknown
+     */
+    static long lastModified(Book book) {
+        return book.getUpdatedAt() == null ? -1 : book.getUpdatedAt().toEpochMilli();
+    }
+
+    private static int versionOf(Book book) {
+        return book.getVersion() == null ? 0 : book.getVersion();
+    }
+}
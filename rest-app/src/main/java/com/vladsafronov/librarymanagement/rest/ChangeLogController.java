@@ -0,0 +1,42 @@
+package com.vladsafronov.librarymanagement.rest;
+
+import com.vladsafronov.librarymanagement.model.CatalogChange;
+import com.vladsafronov.librarymanagement.service.api.ChangeLogService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Change log rest controller.
+ * Mirror reads /changes/last-seq, copies catalog and then polls
+ * /changes?since=seq with seq of the last applied change
+ */
+@RestController
+public class ChangeLogController {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    @Autowired
+    ChangeLogService changeLogService;
+
+    /**
+     * Changes of books and authors after seq, for example /changes?since=120&amp;limit=100
+     */
+    @RequestMapping(value = "/changes")
+    public List<CatalogChange> getChangesSince(@RequestParam(name = "since", required = false) Long since,
+                                               @RequestParam(name = "limit", required = false) Integer limit){
+        LOGGER.debug("getChangesSince(): since = {}, limit = {}", since, limit);
+        return changeLogService.getChangesSince(since,limit);
+    }
+
+    @RequestMapping(value = "/changes/last-seq")
+    public long getLastSeq(){
+        LOGGER.debug("getLastSeq()");
+        return changeLogService.getLastSeq();
+    }
+}
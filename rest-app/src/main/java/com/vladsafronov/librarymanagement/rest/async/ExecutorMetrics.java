@@ -0,0 +1,91 @@
+package com.vladsafronov.librarymanagement.rest.async;
+
+import com.vladsafronov.librarymanagement.metrics.LatencyHistogram;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics of executor, which runs dao calls of async requests.
+ *
+ * Registered in executor as task decorator, so time which task waited
+ * in queue and time of its execution are recorded here. Also registered
+ * as rejected execution handler to count tasks, which were rejected
+ * because queue is full.
+ */
+public class ExecutorMetrics implements TaskDecorator, RejectedExecutionHandler {
+
+    private final LatencyHistogram queueWaitTime = new LatencyHistogram();
+    private final LatencyHistogram executionTime = new LatencyHistogram();
+    private final AtomicLong rejectedTasks = new AtomicLong();
+    private final AtomicInteger queuedTasks = new AtomicInteger();
+    private final AtomicInteger activeTasks = new AtomicInteger();
+
+    @Override
+    public Runnable decorate(final Runnable task) {
+        final long submitted = System.nanoTime();
+        queuedTasks.incrementAndGet();
+        return new Runnable() {
+            @Override
+            public void run() {
+                long started = System.nanoTime();
+                queuedTasks.decrementAndGet();
+                activeTasks.incrementAndGet();
+                queueWaitTime.record(started - submitted);
+                try {
+                    task.run();
+                } finally {
+                    activeTasks.decrementAndGet();
+                    executionTime.record(System.nanoTime() - started);
+                }
+            }
+        };
+    }
+
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+        // decorated task was counted as queued, but it never runs
+        queuedTasks.decrementAndGet();
+        rejectedTasks.incrementAndGet();
+        throw new RejectedExecutionException("Task " + task + " rejected from " + executor);
+    }
+
+    /**
+     * @return count of tasks which are running now
+     */
+    public int getActiveTasks() {
+        return activeTasks.get();
+    }
+
+    /**
+     * @return count of tasks which are waiting in queue
+     */
+    public int getQueuedTasks() {
+        return queuedTasks.get();
+    }
+
+    /**
+     * @return count of tasks which were rejected because queue was full
+     */
+    public long getRejectedTasks() {
+        return rejectedTasks.get();
+    }
+
+    /**
+     * @return histogram of time between task submitting and start of its execution
+     */
+    public LatencyHistogram getQueueWaitTime() {
+        return queueWaitTime;
+    }
+
+    /**
+     * @return histogram of task execution time
+     */
+    public LatencyHistogram getExecutionTime() {
+        return executionTime;
+    }
+}
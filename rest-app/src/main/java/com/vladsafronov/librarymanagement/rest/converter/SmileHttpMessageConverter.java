@@ -0,0 +1,35 @@
+package com.vladsafronov.librarymanagement.rest.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Reads and writes binary json (Smile) with the same jackson annotations of model
+ * as json converter. Smile is smaller and faster to parse than json text, it is
+ * chosen by clients with Accept: application/x-jackson-smile header.
+ */
+public class SmileHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType SMILE = MediaType.valueOf(SMILE_VALUE);
+
+    public SmileHttpMessageConverter() {
+        this(createObjectMapper());
+    }
+
+    public SmileHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper, SMILE);
+    }
+
+    /**
+     * @return smile mapper with the same modules and features as default json mapper
+     */
+    public static ObjectMapper createObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper(new SmileFactory());
+        Jackson2ObjectMapperBuilder.json().configure(objectMapper);
+        return objectMapper;
+    }
+}
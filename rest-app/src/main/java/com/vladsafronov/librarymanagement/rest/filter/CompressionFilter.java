@@ -0,0 +1,348 @@
+package com.vladsafronov.librarymanagement.rest.filter;
+
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses response body with gzip or deflate, negotiated by Accept-Encoding header.
+ *
+ * Body is buffered until it reaches min size, so small responses are sent as is:
+ * compression of them costs more cpu, than it saves bytes. Bigger bodies are
+ * compressed while they are written, so streamed responses aren't buffered whole.
+ *
+ * ETag of compressed response is made weak: compressed bytes differ from bytes of
+ * the same entity sent as is, and strong tag must identify bytes. Conditional
+ * requests still match it, because If-None-Match uses weak comparison.
+ * Body written with WriteListener (non-blocking) is sent as is.
+ */
+public class CompressionFilter extends OncePerRequestFilter {
+
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+
+    public static final int DEFAULT_MIN_SIZE = 1024;
+
+    private int minSize = DEFAULT_MIN_SIZE;
+
+    /**
+     * @param minSize min count of body bytes, which are compressed,
+     *                set by init parameter of filter
+     */
+    public void setMinSize(int minSize) {
+        this.minSize = minSize;
+    }
+
+    /**
+     * Async requests are written in async dispatch, filter finishes compression there
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        CompressingResponse compressingResponse = WebUtils.getNativeResponse(response, CompressingResponse.class);
+        if (compressingResponse == null) {
+            // cache must keep separate copies for clients with different encodings
+            response.addHeader("Vary", "Accept-Encoding");
+            String encoding = negotiateEncoding(request.getHeader("Accept-Encoding"));
+            if (encoding == null) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            compressingResponse = new CompressingResponse(response, encoding, minSize);
+        }
+
+        filterChain.doFilter(request, compressingResponse);
+        if (!isAsyncStarted(request)) {
+            compressingResponse.finish();
+        }
+    }
+
+    /**
+     * @param etag value of ETag header
+     * @return weak tag with the same opaque tag, null for null
+     */
+    static String weakETag(String etag) {
+        return etag == null || etag.startsWith("W/") ? etag : "W/" + etag;
+    }
+
+    /**
+     * @param acceptEncoding value of Accept-Encoding header
+     * @return gzip or deflate, null if client accepts neither of them
+     */
+    static String negotiateEncoding(String acceptEncoding) {
+        if (!StringUtils.hasText(acceptEncoding)) {
+            return null;
+        }
+        boolean gzip = false;
+        boolean deflate = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (isRefused(parts)) {
+                continue;
+            }
+            if (GZIP.equals(name) || "*".equals(name)) {
+                gzip = true;
+            } else if (DEFLATE.equals(name)) {
+                deflate = true;
+            }
+        }
+        return gzip ? GZIP : deflate ? DEFLATE : null;
+    }
+
+    private static boolean isRefused(String[] codingParts) {
+        for (int i = 1; i < codingParts.length; i++) {
+            String parameter = codingParts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) <= 0;
+                } catch (NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Response, which body is buffered until min size and compressed after it
+     */
+    private static class CompressingResponse extends HttpServletResponseWrapper {
+
+        private final String encoding;
+        private final CompressingOutputStream outputStream;
+        private PrintWriter writer;
+        private long contentLength = -1;
+
+        CompressingResponse(HttpServletResponse response, String encoding, int minSize) {
+            super(response);
+            this.encoding = encoding;
+            this.outputStream = new CompressingOutputStream(minSize);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called");
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        /**
+         * Length of compressed body is unknown, so it is set only for not compressed body
+         */
+        @Override
+        public void setContentLength(int len) {
+            setContentLengthLong(len);
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            if (outputStream.isDirect()) {
+                super.setContentLengthLong(len);
+            } else {
+                contentLength = len;
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            outputStream.flush();
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            outputStream.resetBuffer();
+            contentLength = -1;
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            outputStream.resetBuffer();
+        }
+
+        /**
+         * Write buffered body and end of compressed stream
+         */
+        void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            HttpServletResponse response = (HttpServletResponse) getResponse();
+            if (response.getStatus() == HttpServletResponse.SC_NOT_MODIFIED) {
+                // 304 has tag of response it validates, which may have been compressed,
+                // caches update it by weak comparison of tags
+                String etag = response.getHeader("ETag");
+                if (etag != null) {
+                    response.setHeader("ETag", weakETag(etag));
+                }
+            }
+            outputStream.finish();
+        }
+
+        private OutputStream startCompression() throws IOException {
+            HttpServletResponse response = (HttpServletResponse) getResponse();
+            OutputStream out = response.getOutputStream();
+            if (response.getHeader("Content-Encoding") != null) {
+                // body is already encoded by controller
+                return out;
+            }
+            response.setHeader("Content-Encoding", encoding);
+            String etag = response.getHeader("ETag");
+            if (etag != null) {
+                response.setHeader("ETag", weakETag(etag));
+            }
+            return GZIP.equals(encoding) ? new GZIPOutputStream(out) : new DeflaterOutputStream(out);
+        }
+
+        private class CompressingOutputStream extends ServletOutputStream {
+
+            private final int minSize;
+            private ByteArrayOutputStream buffer;
+            private OutputStream compressed;
+            private ServletOutputStream direct;
+            private boolean finished;
+
+            CompressingOutputStream(int minSize) {
+                this.minSize = minSize;
+                this.buffer = new ByteArrayOutputStream(Math.min(minSize, DEFAULT_MIN_SIZE));
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                if (finished) {
+                    throw new IOException("Response is already finished");
+                }
+                if (compressed != null) {
+                    compressed.write(bytes, offset, length);
+                    return;
+                }
+                buffer.write(bytes, offset, length);
+                if (buffer.size() >= minSize) {
+                    compressed = startCompression();
+                    buffer.writeTo(compressed);
+                    buffer = null;
+                }
+            }
+
+            /**
+             * Buffered body is not flushed, because it can still be compressed
+             */
+            @Override
+            public void flush() throws IOException {
+                if (compressed != null) {
+                    compressed.flush();
+                }
+            }
+
+            /**
+             * @return true if body is written to response as is, because of WriteListener
+             */
+            boolean isDirect() {
+                return direct != null;
+            }
+
+            void resetBuffer() {
+                if (direct != null) {
+                    return;
+                }
+                if (compressed != null) {
+                    throw new IllegalStateException("Compressed response body can't be reset");
+                }
+                buffer.reset();
+            }
+
+            void finish() throws IOException {
+                if (finished) {
+                    return;
+                }
+                finished = true;
+                if (direct != null) {
+                    // non-blocking body is completed by its writer
+                    return;
+                }
+                if (compressed != null) {
+                    compressed.close();
+                    return;
+                }
+                HttpServletResponse response = (HttpServletResponse) getResponse();
+                if (buffer.size() > 0) {
+                    response.setContentLength(buffer.size());
+                    buffer.writeTo(response.getOutputStream());
+                } else if (contentLength >= 0) {
+                    response.setContentLengthLong(contentLength);
+                }
+            }
+
+            @Override
+            public boolean isReady() {
+                return direct == null || direct.isReady();
+            }
+
+            /**
+             * Compressor writes to response, when its own buffer is full, not when response
+             * is ready, so non-blocking body is not compressed and is written to response as is
+             */
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                if (compressed != null) {
+                    throw new IllegalStateException("Compressed response body can't be written non-blocking");
+                }
+                HttpServletResponse response = (HttpServletResponse) getResponse();
+                try {
+                    direct = response.getOutputStream();
+                    if (contentLength >= 0) {
+                        response.setContentLengthLong(contentLength);
+                    }
+                    // body written before listener is set is written while stream is blocking
+                    buffer.writeTo(direct);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                buffer = null;
+                compressed = direct;
+                direct.setWriteListener(writeListener);
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.vladsafronov.librarymanagement.rest.logging;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes one line per sampled request: method, uri, status and time.
+ *
+ * Requests are sampled by two counters: every traceEvery-th request is traced,
+ * its debug messages of controller, service and dao are written too (see
+ * DynamicThresholdFilter in log4j2.xml), every logEvery-th request gets only
+ * the request line. Not sampled requests don't build any log message.
+ * Debug messages of async requests, which run on dao executor, are not traced.
+ */
+public class RequestLoggingInterceptor extends HandlerInterceptorAdapter {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /**
+     * ThreadContext key, which enables debug messages of all layers for traced request
+     */
+    public static final String TRACE_KEY = "trace";
+    public static final String TRACE_VALUE = "true";
+
+    private static final String START_ATTRIBUTE = RequestLoggingInterceptor.class.getName() + ".start";
+    private static final String TRACE_ATTRIBUTE = RequestLoggingInterceptor.class.getName() + ".trace";
+
+    private final AtomicLong requestCount = new AtomicLong();
+
+    private int logEvery = 1;
+    private int traceEvery = 0;
+
+    /**
+     * @param logEvery every logEvery-th request is logged, 0 to log only traced requests
+     */
+    public void setLogEvery(int logEvery) {
+        this.logEvery = logEvery;
+    }
+
+    /**
+     * @param traceEvery every traceEvery-th request is traced, 0 to trace nothing
+     */
+    public void setTraceEvery(int traceEvery) {
+        this.traceEvery = traceEvery;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            // result of async request is written by the second dispatch, which is not sampled again
+            if (request.getAttribute(TRACE_ATTRIBUTE) != null) {
+                ThreadContext.put(TRACE_KEY, TRACE_VALUE);
+            }
+            return true;
+        }
+
+        long count = requestCount.incrementAndGet();
+        boolean traced = traceEvery > 0 && count % traceEvery == 0;
+        boolean logged = traced || (logEvery > 0 && count % logEvery == 0);
+        if (logged) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        if (traced) {
+            request.setAttribute(TRACE_ATTRIBUTE, Boolean.TRUE);
+            ThreadContext.put(TRACE_KEY, TRACE_VALUE);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ThreadContext.remove(TRACE_KEY);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Long start = (Long) request.getAttribute(START_ATTRIBUTE);
+        if (start != null) {
+            long timeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (ex == null) {
+                LOGGER.info("{} {} status={} timeMs={}", request.getMethod(), request.getRequestURI(),
+                        response.getStatus(), timeMs);
+            } else {
+                LOGGER.info("{} {} status={} timeMs={} error={}", request.getMethod(), request.getRequestURI(),
+                        response.getStatus(), timeMs, ex.toString());
+            }
+        }
+        ThreadContext.remove(TRACE_KEY);
+    }
+}
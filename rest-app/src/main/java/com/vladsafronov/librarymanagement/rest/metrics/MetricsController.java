@@ -0,0 +1,116 @@
+package com.vladsafronov.librarymanagement.rest.metrics;
+
+import com.vladsafronov.librarymanagement.database.pool.PoolMetrics;
+import com.vladsafronov.librarymanagement.metrics.PrometheusWriter;
+import com.vladsafronov.librarymanagement.metrics.TimerRegistry;
+import com.vladsafronov.librarymanagement.rest.async.ExecutorMetrics;
+import com.vladsafronov.librarymanagement.service.impl.cache.EntityCache;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Metrics of requests, service calls, dao queries, connection pool,
+ * dao executor and caches in text format, which Prometheus scrapes.
+ */
+@RestController
+public class MetricsController {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    @Autowired
+    @Qualifier("httpTimers")
+    TimerRegistry httpTimers;
+
+    @Autowired
+    @Qualifier("serviceTimers")
+    TimerRegistry serviceTimers;
+
+    @Autowired
+    @Qualifier("daoTimers")
+    TimerRegistry daoTimers;
+
+    @Autowired
+    PoolMetrics poolMetrics;
+
+    @Autowired
+    @Qualifier("daoExecutorMetrics")
+    ExecutorMetrics daoExecutorMetrics;
+
+    @Autowired
+    @Qualifier("bookCache")
+    EntityCache<?, ?> bookCache;
+
+    @Autowired
+    @Qualifier("authorCache")
+    EntityCache<?, ?> authorCache;
+
+    @RequestMapping(value = "/metrics", method = RequestMethod.GET)
+    public void getMetrics(HttpServletResponse response) throws IOException {
+        LOGGER.debug("getMetrics()");
+
+        response.setContentType(PrometheusWriter.CONTENT_TYPE);
+        PrometheusWriter writer = new PrometheusWriter(response.getWriter());
+
+        writer.writeTimers(httpTimers, false);
+        writer.writeTimers(serviceTimers, false);
+        writer.writeTimers(daoTimers, true);
+
+        writer.writeHistogram("library_pool_acquire_duration_seconds",
+                "Time of getting connection from pool", poolMetrics.getAcquireLatency());
+        writer.writeHistogram("library_pool_usage_duration_seconds",
+                "Time between connection borrowing and returning", poolMetrics.getUsageTime());
+        Map<String, Integer> connections = new LinkedHashMap<>();
+        connections.put("active", poolMetrics.getActiveConnections());
+        connections.put("idle", poolMetrics.getIdleConnections());
+        writer.writeGauge("library_pool_connections", "Connections of pool", "state", connections);
+        writer.writeGauge("library_pool_waiting_threads", "Threads waiting for connection",
+                poolMetrics.getWaitingThreads());
+        writer.writeCounter("library_pool_acquire_timeouts_total", "Failed by timeout attempts to get connection",
+                poolMetrics.getAcquireTimeouts());
+
+        writer.writeHistogram("library_executor_queue_wait_duration_seconds",
+                "Time which async dao task waited in queue", daoExecutorMetrics.getQueueWaitTime());
+        writer.writeHistogram("library_executor_execution_duration_seconds",
+                "Time of async dao task execution", daoExecutorMetrics.getExecutionTime());
+        writer.writeGauge("library_executor_active_tasks", "Running async dao tasks",
+                daoExecutorMetrics.getActiveTasks());
+        writer.writeGauge("library_executor_queued_tasks", "Async dao tasks waiting in queue",
+                daoExecutorMetrics.getQueuedTasks());
+        writer.writeCounter("library_executor_rejected_total", "Async dao tasks rejected because queue was full",
+                daoExecutorMetrics.getRejectedTasks());
+
+        writeCaches(writer);
+    }
+
+    private void writeCaches(PrometheusWriter writer) throws IOException {
+        Map<String, EntityCache<?, ?>> caches = new LinkedHashMap<>();
+        caches.put("book", bookCache);
+        caches.put("author", authorCache);
+
+        Map<String, Long> hits = new LinkedHashMap<>();
+        Map<String, Long> misses = new LinkedHashMap<>();
+        Map<String, Long> evictions = new LinkedHashMap<>();
+        Map<String, Integer> entries = new LinkedHashMap<>();
+        for (Map.Entry<String, EntityCache<?, ?>> cache : caches.entrySet()) {
+            hits.put(cache.getKey(), cache.getValue().getHitCount());
+            misses.put(cache.getKey(), cache.getValue().getMissCount());
+            evictions.put(cache.getKey(), cache.getValue().getEvictionCount());
+            entries.put(cache.getKey(), cache.getValue().size());
+        }
+        writer.writeCounter("library_cache_hits_total", "Cache lookups, which found entity", "cache", hits);
+        writer.writeCounter("library_cache_misses_total", "Cache lookups, which didn't find entity", "cache", misses);
+        writer.writeCounter("library_cache_evictions_total", "Entities removed because of size limit or expiration",
+                "cache", evictions);
+        writer.writeGauge("library_cache_entries", "Entities in cache", "cache", entries);
+    }
+}
@@ -0,0 +1,74 @@
+package com.vladsafronov.librarymanagement.rest.metrics;
+
+import com.vladsafronov.librarymanagement.metrics.Timer;
+import com.vladsafronov.librarymanagement.metrics.TimerRegistry;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Times requests, one timer per controller method, for example BookController.getBookById.
+ * Time of async request is counted from its first dispatch to completion of the second one.
+ * Request, which failed with exception or 5xx status, is counted as error.
+ */
+public class MetricsInterceptor extends HandlerInterceptorAdapter {
+
+    /**
+     * Handler label of requests, which are not handled by controller method
+     */
+    public static final String OTHER_HANDLER = "other";
+
+    private static final String START_ATTRIBUTE = MetricsInterceptor.class.getName() + ".start";
+
+    private final TimerRegistry registry;
+    private final ConcurrentMap<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * @param registry timers of requests
+     */
+    public MetricsInterceptor(TimerRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(START_ATTRIBUTE) == null) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Long start = (Long) request.getAttribute(START_ATTRIBUTE);
+        if (start == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        Timer timer = timer(handler);
+        if (ex != null || response.getStatus() >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR) {
+            timer.recordError(nanos);
+        } else {
+            timer.record(nanos);
+        }
+    }
+
+    private Timer timer(Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return registry.timer(OTHER_HANDLER);
+        }
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        Method method = handlerMethod.getMethod();
+        Timer timer = timers.get(method);
+        if (timer == null) {
+            timer = registry.timer(handlerMethod.getBeanType().getSimpleName() + "." + method.getName());
+            timers.putIfAbsent(method, timer);
+        }
+        return timer;
+    }
+}
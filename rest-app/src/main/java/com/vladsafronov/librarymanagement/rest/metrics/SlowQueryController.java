@@ -0,0 +1,45 @@
+package com.vladsafronov.librarymanagement.rest.metrics;
+
+import com.vladsafronov.librarymanagement.metrics.SlowQuery;
+import com.vladsafronov.librarymanagement.metrics.SlowQueryLog;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Admin access to the last slow dao queries with their parameters and plans.
+ * Values of parameters may be personal data, so queries are available only with dev profile.
+ */
+@Profile("dev")
+@RestController
+public class SlowQueryController {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    @Autowired
+    SlowQueryLog slowQueryLog;
+
+    /**
+     * @return the last slow queries, the newest first
+     */
+    @RequestMapping(value = "/admin/slow-queries", method = RequestMethod.GET)
+    public List<SlowQuery> getSlowQueries() {
+        LOGGER.debug("getSlowQueries()");
+        return slowQueryLog.getQueries();
+    }
+
+    @RequestMapping(value = "/admin/slow-queries", method = RequestMethod.DELETE)
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void clearSlowQueries() {
+        LOGGER.debug("clearSlowQueries()");
+        slowQueryLog.clear();
+    }
+}
@@ -0,0 +1,121 @@
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vladsafronov.librarymanagement.model.Author;
+import com.vladsafronov.librarymanagement.model.AuthorStats;
+import com.vladsafronov.librarymanagement.rest.AuthorController;
+import com.vladsafronov.librarymanagement.service.api.AuthorService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.annotation.Resource;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.easymock.EasyMock.*;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.standaloneSetup;
+
+/**
+ * Author controller test
+ */
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(locations = {"classpath*:test-rest-spring-config.xml"})
+public class AuthorControllerMockTest {
+
+    @Resource
+    AuthorController authorController;
+
+    @Autowired
+    AuthorService mockAuthorService;
+
+    MockMvc mockMvc;
+
+    @Before
+    public void setUp() {
+        mockMvc = standaloneSetup(authorController)
+                .setMessageConverters(new MappingJackson2HttpMessageConverter())
+                .build();
+    }
+
+    @Before
+    public void resetMock(){
+        reset(mockAuthorService);
+    }
+    @After
+    public void verifyMock() {
+        verify(mockAuthorService);
+    }
+
+    @Test
+    public void getStatsForAuthors() throws Exception {
+        Map<Integer, AuthorStats> stats = new LinkedHashMap<>();
+        stats.put(1, new AuthorStats(1, 2, 69d));
+        stats.put(3, new AuthorStats(3, 0, null));
+        expect(mockAuthorService.getStatsForAuthors(Arrays.asList(1, 3))).andReturn(stats);
+        replay(mockAuthorService);
+
+        String expectedResponse = new ObjectMapper().writeValueAsString(stats);
+
+        mockMvc.perform(get("/authors/stats")
+                .param("ids", "1,3")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().string(expectedResponse));
+    }
+
+    @Test
+    public void getAuthorsByName() throws Exception {
+        List<Author> authors = Arrays.asList(new Author(1, "George", "Orwell", LocalDate.parse("2010-01-01")));
+        expect(mockAuthorService.getAuthorsByName("geo", 5)).andReturn(authors);
+        replay(mockAuthorService);
+
+        // birth date is written by its own serializer, with or without java.time module
+        String expectedResponse = new ObjectMapper().writeValueAsString(authors);
+
+        mockMvc.perform(get("/authors/by-name")
+                .param("prefix", "geo")
+                .param("limit", "5")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().string(expectedResponse))
+                .andExpect(content().string(containsString("\"birthDate\":\"2010-01-01\"")));
+    }
+
+    @Test
+    public void getAuthorsBySurname() throws Exception {
+        List<Author> authors = Arrays.asList(new Author(1, "George", "Orwell", LocalDate.parse("2010-01-01")));
+        expect(mockAuthorService.getAuthorsBySurname("orw", null)).andReturn(authors);
+        replay(mockAuthorService);
+
+        String expectedResponse = new ObjectMapper().writeValueAsString(authors);
+
+        mockMvc.perform(get("/authors/by-surname")
+                .param("prefix", "orw")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().string(expectedResponse));
+    }
+
+    @Test
+    public void getStatsForAuthorsWithoutIds() throws Exception {
+        replay(mockAuthorService);
+
+        mockMvc.perform(get("/authors/stats")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -2,8 +2,12 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vladsafronov.librarymanagement.model.Author;
 import com.vladsafronov.librarymanagement.model.Book;
+import com.vladsafronov.librarymanagement.model.BookWithAuthors;
 import com.vladsafronov.librarymanagement.rest.BookController;
+import com.vladsafronov.librarymanagement.rest.async.ExecutorMetrics;
+import com.vladsafronov.librarymanagement.rest.converter.SmileHttpMessageConverter;
 import com.vladsafronov.librarymanagement.service.api.BookService;
+import org.easymock.IAnswer;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -15,21 +19,32 @@ import org.springframework.http.converter.json.MappingJackson2HttpMessageConvert
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
 import javax.annotation.Resource;
 
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import static org.easymock.EasyMock.*;
+import static org.junit.Assert.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.setup.MockMvcBuilders.standaloneSetup;
 
@@ -47,12 +62,15 @@ public class BookControllerMockTest {
     @Autowired
     BookService mockBookService;
 
+    @Autowired
+    ExecutorMetrics daoExecutorMetrics;
+
     MockMvc mockMvc;
 
     @Before
     public void setUp() {
         mockMvc = standaloneSetup(bookController)
-                .setMessageConverters(new MappingJackson2HttpMessageConverter())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(), new SmileHttpMessageConverter())
                 .build();
     }
 
@@ -79,7 +97,7 @@ public class BookControllerMockTest {
     @Test
     public void getAllBooks() throws Exception {
         List<Book> books = new ArrayList<>();
-        expect(mockBookService.getAllBooks()).andReturn(books).times(2);
+        expect(mockBookService.getBooksPage(null, BookController.ALL_BOOKS_LIMIT)).andReturn(books).times(2);
         replay(mockBookService);
 
         String emptyList = new ObjectMapper().writeValueAsString(books);
@@ -107,6 +125,157 @@ public class BookControllerMockTest {
 
     }
 
+    @Test
+    public void getAllBooksAsSmile() throws Exception {
+        List<Book> books = Arrays.asList(firstBook, secondBook);
+        expect(mockBookService.getBooksPage(null, BookController.ALL_BOOKS_LIMIT)).andReturn(books).times(3);
+        replay(mockBookService);
+
+        ObjectMapper smileMapper = SmileHttpMessageConverter.createObjectMapper();
+        byte[] body = mockMvc.perform(get("/books")
+                .accept(SmileHttpMessageConverter.SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SmileHttpMessageConverter.SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(books, Arrays.asList(smileMapper.readValue(body, Book[].class)));
+
+        String jsonEtag = mockMvc.perform(get("/books").accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/books")
+                .accept(SmileHttpMessageConverter.SMILE)
+                .header("If-None-Match", jsonEtag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void etagOfNegotiatedJsonHasNoSmileSuffix() throws Exception {
+        List<Book> books = Arrays.asList(firstBook, secondBook);
+        expect(mockBookService.getBooksPage(null, BookController.ALL_BOOKS_LIMIT)).andReturn(books).times(3);
+        replay(mockBookService);
+
+        String jsonEtag = mockMvc.perform(get("/books").accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/books")
+                .header("Accept", "application/x-jackson-smile;q=0.5, application/json"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", jsonEtag));
+        mockMvc.perform(get("/books")
+                .header("Accept", "application/json, " + BookController.SMILE_STREAM_VALUE))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", jsonEtag));
+    }
+
+    @Test
+    public void getBooksPage() throws Exception {
+        List<Book> books = new ArrayList<>();
+        books.add(thirdBook);
+        books.add(fourthBook);
+        expect(mockBookService.getBooksPage(secondBook.getId(), 2)).andReturn(books);
+        replay(mockBookService);
+
+        String expectedResponse = new ObjectMapper().writeValueAsString(books);
+
+        mockMvc.perform(get("/books/page")
+                .param("afterId", secondBook.getId().toString())
+                .param("limit", "2")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().string(expectedResponse));
+    }
+
+    @Test
+    public void getBooksWithAuthorsPage() throws Exception {
+        List<BookWithAuthors> books = new ArrayList<>();
+        books.add(new BookWithAuthors(firstBook, Arrays.asList(firstAuthor, thirdAuthor)));
+        books.add(new BookWithAuthors(secondBook, Arrays.asList(secondAuthor)));
+        expect(mockBookService.getBooksWithAuthorsPage(null, 2)).andReturn(books);
+        replay(mockBookService);
+
+        String expectedResponse = new ObjectMapper().writeValueAsString(books);
+
+        mockMvc.perform(get("/books/with-authors")
+                .param("limit", "2")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().string(expectedResponse));
+    }
+
+    @Test
+    public void searchBooks() throws Exception {
+        List<Book> books = new ArrayList<>();
+        books.add(secondBook);
+        expect(mockBookService.searchBooks("brave new", null)).andReturn(books);
+        replay(mockBookService);
+
+        String expectedResponse = new ObjectMapper().writeValueAsString(books);
+
+        mockMvc.perform(get("/books/search")
+                .param("q", "brave new")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().string(expectedResponse));
+    }
+
+    @Test
+    public void streamAllBooks() throws Exception {
+        final List<Book> books = new ArrayList<>();
+        books.add(firstBook);
+        books.add(secondBook);
+        mockBookService.processAllBooks(anyObject(Consumer.class));
+        expectLastCall().andAnswer(new IAnswer<Object>() {
+            @Override
+            public Object answer() throws Throwable {
+                Consumer<Book> consumer = (Consumer<Book>) getCurrentArguments()[0];
+                for (Book book : books) {
+                    consumer.accept(book);
+                }
+                return null;
+            }
+        });
+        replay(mockBookService);
+
+        String expectedResponse = new ObjectMapper().writeValueAsString(books);
+
+        mockMvc.perform(get("/books/stream")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(content().string(expectedResponse));
+    }
+
+    @Test
+    public void streamAllBooksAsSmile() throws Exception {
+        final List<Book> books = Arrays.asList(firstBook, secondBook);
+        mockBookService.processAllBooks(anyObject(Consumer.class));
+        expectLastCall().andAnswer(new IAnswer<Object>() {
+            @Override
+            public Object answer() throws Throwable {
+                Consumer<Book> consumer = (Consumer<Book>) getCurrentArguments()[0];
+                for (Book book : books) {
+                    consumer.accept(book);
+                }
+                return null;
+            }
+        });
+        replay(mockBookService);
+
+        byte[] body = mockMvc.perform(get("/books/stream")
+                .accept(BookController.SMILE_STREAM_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BookController.SMILE_STREAM_VALUE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ObjectMapper smileMapper = SmileHttpMessageConverter.createObjectMapper();
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        List<Book> actual = new ArrayList<>();
+        while (in.available() > 0) {
+            byte[] record = new byte[in.readInt()];
+            in.readFully(record);
+            actual.add(smileMapper.readValue(record, Book.class));
+        }
+        assertEquals(books, actual);
+    }
+
     @Test
     public void getBookById() throws Exception {
         Integer id = 2;
@@ -123,6 +292,43 @@ public class BookControllerMockTest {
                 .andExpect(content().string(book));
     }
 
+    @Test
+    public void getBookByIdNotModified() throws Exception {
+        Book book = new Book(2,"Brave New World",85,LocalDate.parse("2016-01-02"),"Eng");
+        book.setVersion(3);
+        book.setUpdatedAt(Instant.parse("2017-03-01T10:15:30Z"));
+        expect(mockBookService.getBookById(book.getId())).andReturn(book).times(3);
+        replay(mockBookService);
+
+        String etag = mockMvc.perform(get("/book/"+book.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Last-Modified", "Wed, 01 Mar 2017 10:15:30 GMT"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/book/"+book.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/book/"+book.getId()).header("If-Modified-Since", "Wed, 01 Mar 2017 10:15:30 GMT"))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void getBookByIdModified() throws Exception {
+        Book book = new Book(2,"Brave New World",85,LocalDate.parse("2016-01-02"),"Eng");
+        book.setVersion(3);
+        expect(mockBookService.getBookById(book.getId())).andReturn(book).times(2);
+        replay(mockBookService);
+
+        String etag = mockMvc.perform(get("/book/"+book.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+        book.setVersion(4);
+
+        mockMvc.perform(get("/book/"+book.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(content().string(new ObjectMapper().writeValueAsString(book)));
+    }
+
     @Test
     public void getBookByTitle() throws Exception {
         expect(mockBookService.getBookByTitle(firstBook.getTitle()))
@@ -141,6 +347,63 @@ public class BookControllerMockTest {
                 .andExpect(content().string(book));
     }
 
+    @Test
+    public void getBookByIdAsync() throws Exception {
+        Integer id = 2;
+        expect(mockBookService.getBookById(id)).andReturn(secondBook);
+        replay(mockBookService);
+
+        MvcResult result = mockMvc.perform(get("/async/book/"+id)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String book = new ObjectMapper().writeValueAsString(secondBook);
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(book));
+    }
+
+    @Test
+    public void rejectAsyncRequestWhenQueueIsFull() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        expect(mockBookService.getBookById(firstBook.getId())).andAnswer(new IAnswer<Book>() {
+            @Override
+            public Book answer() throws Throwable {
+                release.await(10, TimeUnit.SECONDS);
+                return firstBook;
+            }
+        }).times(2);
+        replay(mockBookService);
+
+        long rejected = daoExecutorMetrics.getRejectedTasks();
+        MvcResult running;
+        MvcResult queued;
+        try {
+            running = mockMvc.perform(get("/async/book/"+firstBook.getId()))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            queued = mockMvc.perform(get("/async/book/"+firstBook.getId()))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(get("/async/book/"+firstBook.getId()))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"));
+            assertEquals(rejected + 1, daoExecutorMetrics.getRejectedTasks());
+        } finally {
+            release.countDown();
+        }
+
+        String book = new ObjectMapper().writeValueAsString(firstBook);
+        mockMvc.perform(asyncDispatch(running))
+                .andExpect(status().isOk())
+                .andExpect(content().string(book));
+        mockMvc.perform(asyncDispatch(queued))
+                .andExpect(status().isOk())
+                .andExpect(content().string(book));
+    }
+
     @Test
     public void deleteBookById() throws Exception{
         mockBookService.deleteBookById(firstBook.getId());
@@ -164,8 +427,8 @@ public class BookControllerMockTest {
         replay(mockBookService);
 
         MultiValueMap<String,String> map = new LinkedMultiValueMap<>();
-        map.add("from",firstBook.getStrReleaseDate());
-        map.add("to",secondBook.getStrReleaseDate());
+        map.add("from",firstBook.getReleaseDate().toString());
+        map.add("to",secondBook.getReleaseDate().toString());
 
         String resBooks = new ObjectMapper().writeValueAsString(books);
 
@@ -214,6 +477,78 @@ public class BookControllerMockTest {
 
     }
 
+    @Test
+    public void addBookWithIsoReleaseDate() throws Exception {
+        Book book = new Book(null,"title",50,LocalDate.parse("2017-01-31"),"eng");
+        mockBookService.addBook(book);
+        expectLastCall();
+        replay(mockBookService);
+
+        mockMvc.perform(post("/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"title\",\"rating\":50,\"language\":\"eng\",\"releaseDate\":\"2017-01-31\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void addBooks() throws Exception {
+        List<Book> books = new ArrayList<>();
+        books.add(new Book(null,"first",50,LocalDate.parse("2017-01-01"),"eng"));
+        books.add(new Book(null,"second",60,LocalDate.parse("2017-01-02"),"eng"));
+        List<Integer> ids = new ArrayList<>();
+        ids.add(5);
+        ids.add(6);
+        expect(mockBookService.addBooks(books)).andReturn(ids);
+        replay(mockBookService);
+
+        String body = new ObjectMapper().writeValueAsString(books);
+
+        mockMvc.perform(post("/books/batch")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().string(new ObjectMapper().writeValueAsString(ids)));
+    }
+
+    @Test
+    public void getAllBooksLinksNextPageWhenLimitIsReached() throws Exception {
+        List<Book> books = new ArrayList<>();
+        for (int id = 1; id <= BookController.ALL_BOOKS_LIMIT; id++) {
+            books.add(new Book(id, "title", 50, LocalDate.parse("2014-01-01"), "Eng"));
+        }
+        expect(mockBookService.getBooksPage(null, BookController.ALL_BOOKS_LIMIT)).andReturn(books);
+        replay(mockBookService);
+
+        mockMvc.perform(get("/books"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Link",
+                        "<http://localhost/books/page?afterId=" + BookController.ALL_BOOKS_LIMIT + ">; rel=\"next\""));
+    }
+
+    @Test
+    public void getAllBooksNotModifiedUntilBookIsRemoved() throws Exception {
+        List<Book> books = new ArrayList<>();
+        books.add(firstBook);
+        books.add(secondBook);
+        List<Book> booksAfterRemove = new ArrayList<>();
+        booksAfterRemove.add(secondBook);
+        expect(mockBookService.getBooksPage(null, BookController.ALL_BOOKS_LIMIT)).andReturn(books).times(2);
+        expect(mockBookService.getBooksPage(null, BookController.ALL_BOOKS_LIMIT)).andReturn(booksAfterRemove);
+        replay(mockBookService);
+
+        String etag = mockMvc.perform(get("/books"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/books").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/books").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(content().string(new ObjectMapper().writeValueAsString(booksAfterRemove)));
+    }
+
     @Test
     public void getBooksByAuthorId() throws Exception{
         List<Book> books = new ArrayList<>();
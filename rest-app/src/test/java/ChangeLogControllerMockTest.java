@@ -0,0 +1,80 @@
+import com.vladsafronov.librarymanagement.model.CatalogChange;
+import com.vladsafronov.librarymanagement.rest.ChangeLogController;
+import com.vladsafronov.librarymanagement.service.api.ChangeLogService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.annotation.Resource;
+import java.time.Instant;
+import java.util.Arrays;
+
+import static org.easymock.EasyMock.*;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.standaloneSetup;
+
+/**
+ * Change log controller test
+ */
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(locations = {"classpath*:test-rest-spring-config.xml"})
+public class ChangeLogControllerMockTest {
+
+    @Resource
+    ChangeLogController changeLogController;
+
+    @Autowired
+    ChangeLogService mockChangeLogService;
+
+    MockMvc mockMvc;
+
+    @Before
+    public void setUp() {
+        mockMvc = standaloneSetup(changeLogController)
+                .setMessageConverters(new MappingJackson2HttpMessageConverter())
+                .build();
+    }
+
+    @Before
+    public void resetMock(){
+        reset(mockChangeLogService);
+    }
+    @After
+    public void verifyMock() {
+        verify(mockChangeLogService);
+    }
+
+    @Test
+    public void getChangesSince() throws Exception {
+        CatalogChange change = new CatalogChange(11L, CatalogChange.Entity.BOOK,3,
+                CatalogChange.Operation.DELETE, Instant.parse("2017-03-04T10:15:30Z"));
+        expect(mockChangeLogService.getChangesSince(10L,50)).andReturn(Arrays.asList(change));
+        replay(mockChangeLogService);
+
+        mockMvc.perform(get("/changes?since=10&limit=50").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString
+                        ("\"seq\":11,\"entity\":\"BOOK\",\"entityId\":3,\"operation\":\"DELETE\"")));
+    }
+
+    @Test
+    public void getLastSeq() throws Exception {
+        expect(mockChangeLogService.getLastSeq()).andReturn(42L);
+        replay(mockChangeLogService);
+
+        mockMvc.perform(get("/changes/last-seq").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().string("42"));
+    }
+}
@@ -0,0 +1,204 @@
+import com.vladsafronov.librarymanagement.rest.filter.CompressionFilter;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compression filter test
+ */
+public class CompressionFilterTest {
+
+    private static final int MIN_SIZE = 100;
+
+    private CompressionFilter filter;
+
+    @Before
+    public void setUp() {
+        filter = new CompressionFilter();
+        filter.setMinSize(MIN_SIZE);
+    }
+
+    @Test
+    public void compressBigBodyWithGzip() throws Exception {
+        byte[] body = body(MIN_SIZE * 10);
+        MockHttpServletResponse response = filter("gzip, deflate", body);
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals("Accept-Encoding", response.getHeader("Vary"));
+        byte[] compressed = response.getContentAsByteArray();
+        assertTrue(compressed.length < body.length);
+        assertArrayEquals(body, StreamUtils.copyToByteArray
+                (new GZIPInputStream(new ByteArrayInputStream(compressed))));
+    }
+
+    @Test
+    public void compressWithDeflateWhenGzipIsRefused() throws Exception {
+        byte[] body = body(MIN_SIZE * 10);
+        MockHttpServletResponse response = filter("gzip;q=0, deflate", body);
+
+        assertEquals("deflate", response.getHeader("Content-Encoding"));
+        InputStream inflater = new InflaterInputStream(new ByteArrayInputStream(response.getContentAsByteArray()));
+        assertArrayEquals(body, StreamUtils.copyToByteArray(inflater));
+    }
+
+    @Test
+    public void sendSmallBodyAsIs() throws Exception {
+        byte[] body = body(MIN_SIZE - 1);
+        MockHttpServletResponse response = filter("gzip", body);
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals(body.length, response.getContentLength());
+        assertArrayEquals(body, response.getContentAsByteArray());
+    }
+
+    @Test
+    public void sendBodyAsIsWithoutAcceptEncoding() throws Exception {
+        byte[] body = body(MIN_SIZE * 10);
+        MockHttpServletResponse response = filter(null, body);
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals("Accept-Encoding", response.getHeader("Vary"));
+        assertArrayEquals(body, response.getContentAsByteArray());
+    }
+
+    @Test
+    public void compressedResponseHasWeakETag() throws Exception {
+        final byte[] body = body(MIN_SIZE * 10);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/books/1");
+        request.addHeader("Accept-Encoding", "gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setHeader("ETag", "\"1-3\"");
+                resp.getOutputStream().write(body);
+            }
+        }));
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals("W/\"1-3\"", response.getHeader("ETag"));
+    }
+
+    @Test
+    public void weakETagOfCompressedResponseIsNotModified() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/books/1");
+        request.addHeader("Accept-Encoding", "gzip");
+        request.addHeader("If-None-Match", "W/\"1-3\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                assertTrue(new ServletWebRequest(req, resp).checkNotModified("\"1-3\""));
+            }
+        }));
+
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals("W/\"1-3\"", response.getHeader("ETag"));
+    }
+
+    @Test
+    public void sendNonBlockingBodyAsIs() throws Exception {
+        final byte[] body = body(MIN_SIZE * 10);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/books");
+        request.addHeader("Accept-Encoding", "gzip");
+        final ByteArrayOutputStream sent = new ByteArrayOutputStream();
+        final ServletOutputStream nonBlockingStream = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                sent.write(b);
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                try {
+                    writeListener.onWritePossible();
+                } catch (IOException e) {
+                    writeListener.onError(e);
+                }
+            }
+        };
+        HttpServletResponse response = new HttpServletResponseWrapper(new MockHttpServletResponse()) {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return nonBlockingStream;
+            }
+        };
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, final HttpServletResponse resp) throws IOException {
+                final ServletOutputStream out = resp.getOutputStream();
+                out.write(body, 0, 10);
+                out.setWriteListener(new WriteListener() {
+                    @Override
+                    public void onWritePossible() throws IOException {
+                        out.write(body, 10, body.length - 10);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        fail(t.toString());
+                    }
+                });
+            }
+        }));
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertArrayEquals(body, sent.toByteArray());
+    }
+
+    private MockHttpServletResponse filter(String acceptEncoding, final byte[] body)
+            throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/books");
+        if (acceptEncoding != null) {
+            request.addHeader("Accept-Encoding", acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                // written in parts, as json converter does
+                int half = body.length / 2;
+                resp.getOutputStream().write(body, 0, half);
+                resp.getOutputStream().flush();
+                resp.getOutputStream().write(body, half, body.length - half);
+            }
+        });
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static byte[] body(int size) {
+        byte[] body = new byte[size];
+        Arrays.fill(body, (byte) 'a');
+        byte[] text = "{\"id\":1,\"title\":\"1984\"}".getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(text, 0, body, 0, Math.min(text.length, size));
+        return body;
+    }
+}
@@ -0,0 +1,98 @@
+import com.vladsafronov.librarymanagement.metrics.PrometheusWriter;
+import com.vladsafronov.librarymanagement.metrics.TimerRegistry;
+import com.vladsafronov.librarymanagement.rest.metrics.MetricsController;
+import com.vladsafronov.librarymanagement.rest.metrics.MetricsInterceptor;
+import com.vladsafronov.librarymanagement.service.impl.cache.EntityCache;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.annotation.Resource;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.standaloneSetup;
+
+/**
+ * Metrics controller test
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(locations = {"classpath*:test-rest-spring-config.xml"})
+public class MetricsControllerMockTest {
+
+    @Resource
+    MetricsController metricsController;
+
+    @Autowired
+    @Qualifier("httpTimers")
+    TimerRegistry httpTimers;
+
+    @Autowired
+    @Qualifier("daoTimers")
+    TimerRegistry daoTimers;
+
+    @Autowired
+    @Qualifier("bookCache")
+    EntityCache<Integer, String> bookCache;
+
+    MockMvc mockMvc;
+
+    @Before
+    public void setUp() {
+        mockMvc = standaloneSetup(metricsController)
+                .addInterceptors(new MetricsInterceptor(httpTimers))
+                .build();
+    }
+
+    @Test
+    public void getMetrics() throws Exception {
+        daoTimers.timer("BookDao.sql.getBookById").record(TimeUnit.MILLISECONDS.toNanos(2));
+
+        mockMvc.perform(get("/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", PrometheusWriter.CONTENT_TYPE))
+                .andExpect(content().string(containsString(
+                        "library_dao_query_duration_seconds_bucket{query=\"BookDao.sql.getBookById\",le=\"0.0025\"} 1\n")))
+                .andExpect(content().string(containsString("library_pool_connections{state=\"active\"} 0\n")))
+                .andExpect(content().string(containsString("# TYPE library_executor_rejected_total counter\n")));
+    }
+
+    @Test
+    public void cacheCountersAreWritten() throws Exception {
+        bookCache.invalidateAll();
+        bookCache.put(1, "1984");
+        long hits = bookCache.getHitCount();
+        long misses = bookCache.getMissCount();
+        bookCache.get(1);
+        bookCache.get(2);
+
+        mockMvc.perform(get("/metrics"))
+                .andExpect(content().string(containsString(
+                        "library_cache_hits_total{cache=\"book\"} " + (hits + 1) + "\n")))
+                .andExpect(content().string(containsString(
+                        "library_cache_misses_total{cache=\"book\"} " + (misses + 1) + "\n")))
+                .andExpect(content().string(containsString("library_cache_entries{cache=\"book\"} 1\n")))
+                .andExpect(content().string(containsString("# TYPE library_cache_evictions_total counter\n")));
+    }
+
+    @Test
+    public void requestsAreTimedByHandler() throws Exception {
+        long count = httpTimers.timer("MetricsController.getMetrics").getLatency().getCount();
+
+        mockMvc.perform(get("/metrics"));
+
+        mockMvc.perform(get("/metrics"))
+                .andExpect(content().string(containsString(
+                        "library_http_request_duration_seconds_count{handler=\"MetricsController.getMetrics\"} "
+                                + (count + 1) + "\n")));
+    }
+}
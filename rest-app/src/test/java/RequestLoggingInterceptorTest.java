@@ -0,0 +1,92 @@
+import com.vladsafronov.librarymanagement.rest.logging.RequestLoggingInterceptor;
+import org.apache.logging.log4j.ThreadContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.DispatcherType;
+
+import static org.junit.Assert.*;
+
+/**
+ * Request logging interceptor test
+ */
+public class RequestLoggingInterceptorTest {
+
+    private RequestLoggingInterceptor interceptor;
+
+    @Before
+    public void setUp() {
+        interceptor = new RequestLoggingInterceptor();
+        interceptor.setLogEvery(1);
+        interceptor.setTraceEvery(3);
+    }
+
+    @After
+    public void tearDown() {
+        ThreadContext.clearMap();
+    }
+
+    @Test
+    public void traceEveryThirdRequest() throws Exception {
+        assertFalse(handle());
+        assertFalse(handle());
+        assertTrue(handle());
+        assertFalse(handle());
+    }
+
+    @Test
+    public void traceIsRemovedAfterRequest() throws Exception {
+        interceptor.setTraceEvery(1);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/books");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+        assertEquals(RequestLoggingInterceptor.TRACE_VALUE, ThreadContext.get(RequestLoggingInterceptor.TRACE_KEY));
+        interceptor.afterCompletion(request, response, null, null);
+        assertNull(ThreadContext.get(RequestLoggingInterceptor.TRACE_KEY));
+    }
+
+    @Test
+    public void asyncDispatchKeepsTraceAndIsNotSampledAgain() throws Exception {
+        interceptor.setTraceEvery(2);
+        handle();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/async/book/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+        interceptor.afterConcurrentHandlingStarted(request, response, null);
+        assertNull(ThreadContext.get(RequestLoggingInterceptor.TRACE_KEY));
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        interceptor.preHandle(request, response, null);
+        assertEquals(RequestLoggingInterceptor.TRACE_VALUE, ThreadContext.get(RequestLoggingInterceptor.TRACE_KEY));
+        interceptor.afterCompletion(request, response, null, null);
+
+        // async dispatch didn't count as request, so the next request is not traced
+        assertFalse(handle());
+    }
+
+    @Test
+    public void nothingIsTracedWhenSamplingIsOff() throws Exception {
+        interceptor.setLogEvery(0);
+        interceptor.setTraceEvery(0);
+        for (int i = 0; i < 5; i++) {
+            assertFalse(handle());
+        }
+    }
+
+    /**
+     * @return true if request was traced
+     */
+    private boolean handle() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/books");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+        boolean traced = ThreadContext.get(RequestLoggingInterceptor.TRACE_KEY) != null;
+        interceptor.afterCompletion(request, response, null, null);
+        return traced;
+    }
+}
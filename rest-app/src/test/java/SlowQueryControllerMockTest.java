@@ -0,0 +1,76 @@
+import com.vladsafronov.librarymanagement.metrics.SlowQuery;
+import com.vladsafronov.librarymanagement.metrics.SlowQueryLog;
+import com.vladsafronov.librarymanagement.rest.metrics.SlowQueryController;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.annotation.Resource;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.standaloneSetup;
+
+/**
+ * Slow query controller test
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(locations = {"classpath*:test-rest-spring-config.xml"})
+@ActiveProfiles("dev")
+public class SlowQueryControllerMockTest {
+
+    @Resource
+    SlowQueryController slowQueryController;
+
+    @Autowired
+    SlowQueryLog slowQueryLog;
+
+    MockMvc mockMvc;
+
+    @Before
+    public void setUp() {
+        slowQueryLog.clear();
+        mockMvc = standaloneSetup(slowQueryController)
+                .setMessageConverters(new MappingJackson2HttpMessageConverter())
+                .build();
+    }
+
+    @Test
+    public void getSlowQueries() throws Exception {
+        slowQueryLog.add(new SlowQuery(Instant.parse("2017-03-01T10:15:30Z"), "BookDao.sql.getBooksFromPeriod",
+                "SELECT id FROM book WHERE release_date>=?", Arrays.asList("2014-01-01"),
+                TimeUnit.MILLISECONDS.toNanos(250), 2, "SELECT ID FROM PUBLIC.BOOK", null));
+
+        mockMvc.perform(get("/admin/slow-queries"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"name\":\"BookDao.sql.getBooksFromPeriod\"")))
+                .andExpect(content().string(containsString("\"parameters\":[\"2014-01-01\"]")))
+                .andExpect(content().string(containsString("\"durationMs\":250.0")))
+                .andExpect(content().string(containsString("\"executedAt\":1488363330")))
+                .andExpect(content().string(containsString("\"plan\":\"SELECT ID FROM PUBLIC.BOOK\"")));
+    }
+
+    @Test
+    public void clearSlowQueries() throws Exception {
+        slowQueryLog.add(new SlowQuery(Instant.now(), "other", "SELECT 1", Arrays.<String>asList(),
+                TimeUnit.MILLISECONDS.toNanos(250), 1, null, null));
+
+        mockMvc.perform(delete("/admin/slow-queries"))
+                .andExpect(status().isNoContent());
+
+        assertTrue(slowQueryLog.getQueries().isEmpty());
+    }
+}
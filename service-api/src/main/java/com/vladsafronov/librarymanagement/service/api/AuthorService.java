@@ -1,10 +1,13 @@
 package com.vladsafronov.librarymanagement.service.api;
 
 import com.vladsafronov.librarymanagement.model.Author;
+import com.vladsafronov.librarymanagement.model.AuthorStats;
 import com.vladsafronov.librarymanagement.model.Book;
 
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Author service interface
@@ -25,6 +28,24 @@ public interface AuthorService {
      */
     Author getAuthorById(Integer id);
 
+    /**
+     * Get authors, which name starts with prefix, case insensitive
+     *
+     * @param prefix beginning of authors name
+     * @param limit max count of authors, null for default
+     * @return authors ordered by name and surname
+     */
+    List<Author> getAuthorsByName(String prefix, Integer limit);
+
+    /**
+     * Get authors, which surname starts with prefix, case insensitive
+     *
+     * @param prefix beginning of authors surname
+     * @param limit max count of authors, null for default
+     * @return authors ordered by surname and name
+     */
+    List<Author> getAuthorsBySurname(String prefix, Integer limit);
+
     /**
      * Get author who was wrote this book
      *
@@ -41,6 +62,14 @@ public interface AuthorService {
      */
     void addAuthor(Author author);
 
+    /**
+     * Add many authors
+     *
+     * @param authors authors objects
+     * @return identifiers of added authors in the same order as authors
+     */
+    List<Integer> addAuthors(Collection<Author> authors);
+
     /**
      * Delete author
      *
@@ -73,4 +102,19 @@ public interface AuthorService {
      */
     double getAverageRatingOfAuthorsBooks(Author author);
 
+    /**
+     * Get statistics of many authors at once
+     *
+     * @param ids authors identifiers
+     * @return statistics by author identifier, unexist authors are absent
+     */
+    Map<Integer, AuthorStats> getStatsForAuthors(Collection<Integer> ids);
+
+    /**
+     * Compute statistics of all authors from books again
+     *
+     * @return count of authors with statistics
+     */
+    int rebuildAuthorStats();
+
 }
@@ -2,9 +2,12 @@ package com.vladsafronov.librarymanagement.service.api;
 
 import com.vladsafronov.librarymanagement.model.Author;
 import com.vladsafronov.librarymanagement.model.Book;
+import com.vladsafronov.librarymanagement.model.BookWithAuthors;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Book service interface
@@ -18,6 +21,32 @@ public interface BookService {
      */
     List<Book> getAllBooks();
 
+    /**
+     * Get page of books ordered by id (keyset pagination)
+     *
+     * @param afterId id of last book from previous page, null or 0 for first page
+     * @param limit max count of books in page
+     * @return books with id greater then afterId
+     */
+    List<Book> getBooksPage(Integer afterId, Integer limit);
+
+    /**
+     * Get page of books ordered by id together with their authors
+     *
+     * @param afterId id of last book from previous page, null or 0 for first page
+     * @param limit max count of books in page
+     * @return books with id greater then afterId and their authors
+     */
+    List<BookWithAuthors> getBooksWithAuthorsPage(Integer afterId, Integer limit);
+
+    /**
+     * Pass all books one by one to consumer while they are read
+     * from database, without collecting them into list
+     *
+     * @param consumer consumer of books
+     */
+    void processAllBooks(Consumer<Book> consumer);
+
     /**
      * Get books list, consisted of books, which was written by concrete author
      *
@@ -52,6 +81,16 @@ public interface BookService {
      */
     Book getBookByTitle(String title);
 
+    /**
+     * Search books, which title or author names have words
+     * starting with every word of query
+     *
+     * @param query words for search
+     * @param limit max count of books, null for default
+     * @return found books ordered by id
+     */
+    List<Book> searchBooks(String query, Integer limit);
+
     /**
      * Update book
      *
@@ -67,6 +106,29 @@ public interface BookService {
      */
     void deleteBookById(Integer id);
 
+    /**
+     * Delete many books at once, nothing is deleted if one of them isn't exist
+     *
+     * @param ids books identifiers
+     */
+    void deleteBooksByIds(Collection<Integer> ids);
+
+    /**
+     * Link book with its author
+     *
+     * @param bookId book identifier
+     * @param authorId author identifier
+     */
+    void addAuthorToBook(Integer bookId, Integer authorId);
+
+    /**
+     * Remove link between book and author
+     *
+     * @param bookId book identifier
+     * @param authorId author identifier
+     */
+    void removeAuthorFromBook(Integer bookId, Integer authorId);
+
     /**
      * Add new book
      *
@@ -74,4 +136,12 @@ public interface BookService {
      */
     void addBook(Book book);
 
+    /**
+     * Add many books
+     *
+     * @param books books objects
+     * @return identifiers of added books in the same order as books
+     */
+    List<Integer> addBooks(Collection<Book> books);
+
 }
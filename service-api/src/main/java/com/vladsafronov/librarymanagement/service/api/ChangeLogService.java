@@ -0,0 +1,28 @@
+package com.vladsafronov.librarymanagement.service.api;
+
+import com.vladsafronov.librarymanagement.model.CatalogChange;
+
+import java.util.List;
+
+/**
+ * Change log service interface, mirrors of catalog copy it once
+ * and then apply only changes after the last seen seq
+ */
+public interface ChangeLogService {
+
+    /**
+     * Get changes of books and authors after some seq
+     *
+     * @param seq seq of the last applied change, null or 0 for all changes
+     * @param limit max count of changes, null for default
+     * @return changes ordered by seq
+     */
+    List<CatalogChange> getChangesSince(Long seq, Integer limit);
+
+    /**
+     * Get seq of the last change, read it before copying of catalog
+     *
+     * @return seq of the last change, 0 if there are no changes
+     */
+    long getLastSeq();
+}
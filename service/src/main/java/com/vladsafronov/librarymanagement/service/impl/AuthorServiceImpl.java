@@ -2,15 +2,22 @@ package com.vladsafronov.librarymanagement.service.impl;
 
 import com.vladsafronov.librarymanagement.dao.api.AuthorDao;
 import com.vladsafronov.librarymanagement.model.Author;
+import com.vladsafronov.librarymanagement.model.AuthorStats;
 import com.vladsafronov.librarymanagement.model.Book;
 import com.vladsafronov.librarymanagement.service.api.AuthorService;
 import com.vladsafronov.librarymanagement.service.impl.integration.ServiceErrorMessages;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.util.Assert;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
 
 import static com.vladsafronov.librarymanagement.service.impl.integration.Validation.validateId;
 
@@ -24,6 +31,9 @@ public class AuthorServiceImpl implements AuthorService{
     AuthorDao authorDao;
 
     public static final LocalDate DEFAULT_BIRTH_DATE = LocalDate.parse("0000-01-01");
+    public static final int MAX_STATS_IDS = 1000;
+    public static final int DEFAULT_LOOKUP_SIZE = 10;
+    public static final int MAX_LOOKUP_SIZE = 1000;
 
     public void setAuthorDao(AuthorDao authorDao) {
         this.authorDao = authorDao;
@@ -38,21 +48,52 @@ public class AuthorServiceImpl implements AuthorService{
 
     @Override
     public Author getAuthorById(Integer id) {
-        LOGGER.debug("getAuthorById(): id = " + id);
+        LOGGER.debug("getAuthorById(): id = {}", id);
 
         Assert.notNull(id);
         validateId(id);
 
-        if(id>authorDao.getCountOfAllAuthors()) {
-            throw new IllegalArgumentException(ServiceErrorMessages.ID_IS_NOT_IN_ACCEPTABLE_RANGE);
+        try {
+            return authorDao.getAuthorById(id);
+        } catch (EmptyResultDataAccessException e) {
+            throw new IllegalArgumentException(ServiceErrorMessages.ID_IS_NOT_IN_ACCEPTABLE_RANGE, e);
         }
+    }
+
+    @Override
+    public List<Author> getAuthorsByName(String prefix, Integer limit) {
+        LOGGER.debug("getAuthorsByName(): prefix = {}, limit = {}", prefix, limit);
 
-        return authorDao.getAuthorById(id);
+        return authorDao.getAuthorsByName(lookupPrefix(prefix),lookupLimit(limit));
+    }
+
+    @Override
+    public List<Author> getAuthorsBySurname(String prefix, Integer limit) {
+        LOGGER.debug("getAuthorsBySurname(): prefix = {}, limit = {}", prefix, limit);
+
+        return authorDao.getAuthorsBySurname(lookupPrefix(prefix),lookupLimit(limit));
+    }
+
+    private String lookupPrefix(String prefix) {
+        if(prefix == null || prefix.trim().isEmpty()){
+            throw new IllegalArgumentException(ServiceErrorMessages.SEARCH_QUERY_IS_EMPTY);
+        }
+        return prefix.trim();
+    }
+
+    private int lookupLimit(Integer limit) {
+        if(limit == null){
+            return DEFAULT_LOOKUP_SIZE;
+        }
+        if(limit<=0 || limit>MAX_LOOKUP_SIZE){
+            throw new IllegalArgumentException(ServiceErrorMessages.PAGE_SIZE_IS_NOT_IN_ACCEPTABLE_RANGE);
+        }
+        return limit;
     }
 
     @Override
     public Author getAuthorByBook(Book book) {
-        LOGGER.debug("getAuthorByBook(): "+ book);
+        LOGGER.debug("getAuthorByBook(): {}", book);
 
         Assert.notNull(book);
         Assert.notNull(book.getId());
@@ -63,19 +104,38 @@ public class AuthorServiceImpl implements AuthorService{
     }
 
     public void addAuthor(Author author) {
-        LOGGER.debug("addAuthor(): "+ author);
+        LOGGER.debug("addAuthor(): {}", author);
+
+        validateNewAuthor(author);
+
+        authorDao.addAuthor(author);
+    }
+
+    @Override
+    public List<Integer> addAuthors(Collection<Author> authors) {
+        LOGGER.debug("addAuthors(): count = {}", authors == null ? null : authors.size());
+
+        Assert.notNull(authors);
+        for (Author author : authors) {
+            validateNewAuthor(author);
+        }
+
+        if(authors.isEmpty()){
+            return new ArrayList<>();
+        }
+        return authorDao.addAuthors(authors);
+    }
 
+    private void validateNewAuthor(Author author) {
         Assert.notNull(author);
         Assert.isNull(author.getId());
         Assert.hasText(author.getName());
         Assert.hasText(author.getSurname());
-
-        authorDao.addAuthor(author);
     }
 
     @Override
     public void deleteAuthorById(Integer id) {
-        LOGGER.debug("deleteAuthorById(): "+ id);
+        LOGGER.debug("deleteAuthorById(): {}", id);
 
         Assert.notNull(id);
         validateId(id);
@@ -85,7 +145,7 @@ public class AuthorServiceImpl implements AuthorService{
 
     @Override
     public int updateAuthor(Author author) {
-        LOGGER.debug("updateAuthor(): "+ author);
+        LOGGER.debug("updateAuthor(): {}", author);
 
         Assert.notNull(author);
         Assert.notNull(author.getId());
@@ -99,7 +159,7 @@ public class AuthorServiceImpl implements AuthorService{
 
     @Override
     public int getCountOfAuthorsBooks(Author author) {
-        LOGGER.debug("getCountOfAuthorsBooks(): "+author);
+        LOGGER.debug("getCountOfAuthorsBooks(): {}", author);
 
         Assert.notNull(author);
         Assert.notNull(author.getId());
@@ -110,7 +170,7 @@ public class AuthorServiceImpl implements AuthorService{
 
     @Override
     public double getAverageRatingOfAuthorsBooks(Author author) {
-        LOGGER.debug("getAverageRatingOfAuthorsBooks(): "+author);
+        LOGGER.debug("getAverageRatingOfAuthorsBooks(): {}", author);
 
         Assert.notNull(author);
         Assert.notNull(author.getId());
@@ -118,4 +178,32 @@ public class AuthorServiceImpl implements AuthorService{
 
         return authorDao.getAverageRatingOfAuthorsBooks(author);
     }
+
+    @Override
+    public Map<Integer, AuthorStats> getStatsForAuthors(Collection<Integer> ids) {
+        LOGGER.debug("getStatsForAuthors(): {}", ids);
+
+        Assert.notNull(ids);
+        Collection<Integer> uniqueIds = new TreeSet<>();
+        for (Integer id : ids) {
+            Assert.notNull(id);
+            validateId(id);
+            uniqueIds.add(id);
+        }
+        if(uniqueIds.size()>MAX_STATS_IDS){
+            throw new IllegalArgumentException(ServiceErrorMessages.TOO_MANY_IDS);
+        }
+
+        if(uniqueIds.isEmpty()){
+            return new LinkedHashMap<>();
+        }
+        return authorDao.getStatsForAuthors(uniqueIds);
+    }
+
+    @Override
+    public int rebuildAuthorStats() {
+        LOGGER.debug("rebuildAuthorStats()");
+
+        return authorDao.rebuildAuthorStats();
+    }
 }
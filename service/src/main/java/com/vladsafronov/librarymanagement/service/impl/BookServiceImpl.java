@@ -3,14 +3,19 @@ package com.vladsafronov.librarymanagement.service.impl;
 import com.vladsafronov.librarymanagement.dao.api.BookDao;
 import com.vladsafronov.librarymanagement.model.Author;
 import com.vladsafronov.librarymanagement.model.Book;
+import com.vladsafronov.librarymanagement.model.BookWithAuthors;
 import com.vladsafronov.librarymanagement.service.api.BookService;
 import com.vladsafronov.librarymanagement.service.impl.integration.ServiceErrorMessages;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.util.Assert;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static com.vladsafronov.librarymanagement.service.impl.integration.Validation.validateId;
 
@@ -24,6 +29,9 @@ public class BookServiceImpl implements BookService {
     BookDao bookDao;
 
     public static final LocalDate MIN_DATE = LocalDate.parse("0000-01-01");
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int MAX_SEARCH_QUERY_LENGTH = 200;
 
     public void setBookDao(BookDao bookDao) {
         this.bookDao = bookDao;
@@ -36,9 +44,52 @@ public class BookServiceImpl implements BookService {
         return bookDao.getAllBooks();
     }
 
+    @Override
+    public List<Book> getBooksPage(Integer afterId, Integer limit) {
+        LOGGER.debug("getBooksPage(): afterId = {}, limit = {}", afterId, limit);
+
+        return bookDao.getBooksPage(pageAfterId(afterId),pageLimit(limit));
+    }
+
+    @Override
+    public List<BookWithAuthors> getBooksWithAuthorsPage(Integer afterId, Integer limit) {
+        LOGGER.debug("getBooksWithAuthorsPage(): afterId = {}, limit = {}", afterId, limit);
+
+        return bookDao.getBooksWithAuthorsPage(pageAfterId(afterId),pageLimit(limit));
+    }
+
+    private int pageAfterId(Integer afterId) {
+        if(afterId == null){
+            return 0;
+        }
+        if(afterId<0){
+            throw new IllegalArgumentException(ServiceErrorMessages.ID_IS_NOT_IN_ACCEPTABLE_RANGE);
+        }
+        return afterId;
+    }
+
+    private int pageLimit(Integer limit) {
+        if(limit == null){
+            return DEFAULT_PAGE_SIZE;
+        }
+        if(limit<=0 || limit>MAX_PAGE_SIZE){
+            throw new IllegalArgumentException(ServiceErrorMessages.PAGE_SIZE_IS_NOT_IN_ACCEPTABLE_RANGE);
+        }
+        return limit;
+    }
+
+    @Override
+    public void processAllBooks(Consumer<Book> consumer) {
+        LOGGER.debug("processAllBooks()");
+
+        Assert.notNull(consumer);
+
+        bookDao.processAllBooks(consumer);
+    }
+
     @Override
     public List<Book> getBooksByAuthorId(Integer authorId) {
-        LOGGER.debug("getBooksByAuthorId(): authorId="+authorId);
+        LOGGER.debug("getBooksByAuthorId(): authorId={}", authorId);
         //FIXME If author not exist return empty list
 
         Assert.notNull(authorId);
@@ -49,21 +100,21 @@ public class BookServiceImpl implements BookService {
 
     @Override
     public Book getBookById(Integer id) {
-        LOGGER.debug("getBookById(): "+id);
+        LOGGER.debug("getBookById(): {}", id);
 
         Assert.notNull(id);
         validateId(id);
 
-        if(id>bookDao.getCountOfAllBooks()) {
-            throw new IllegalArgumentException(ServiceErrorMessages.ID_IS_NOT_IN_ACCEPTABLE_RANGE);
+        try {
+            return bookDao.getBookById(id);
+        } catch (EmptyResultDataAccessException e) {
+            throw new IllegalArgumentException(ServiceErrorMessages.ID_IS_NOT_IN_ACCEPTABLE_RANGE, e);
         }
-
-        return bookDao.getBookById(id);
     }
 
     @Override
     public List<Book> getBooksFromPeriod(LocalDate from, LocalDate to) {
-        LOGGER.debug("getBooksFromPeriod(): from "+from+" to "+to);
+        LOGGER.debug("getBooksFromPeriod(): from {} to {}", from, to);
 
         if(from == null){
             from = MIN_DATE;
@@ -82,15 +133,28 @@ public class BookServiceImpl implements BookService {
 
     @Override
     public Book getBookByTitle(String title) {
-        LOGGER.debug("getBookByTitle(): "+title);
+        LOGGER.debug("getBookByTitle(): {}", title);
 
         Assert.hasText(title);
         return bookDao.getBookByTitle(title);
     }
 
+    @Override
+    public List<Book> searchBooks(String query, Integer limit) {
+        LOGGER.debug("searchBooks(): query = {}, limit = {}", query, limit);
+
+        if(query == null || query.trim().isEmpty()){
+            throw new IllegalArgumentException(ServiceErrorMessages.SEARCH_QUERY_IS_EMPTY);
+        }
+        if(query.length()>MAX_SEARCH_QUERY_LENGTH){
+            throw new IllegalArgumentException(ServiceErrorMessages.SEARCH_QUERY_IS_TOO_LONG);
+        }
+        return bookDao.searchBooks(query,pageLimit(limit));
+    }
+
     @Override
     public int updateBook(Book book) {
-        LOGGER.debug("updateBook():"+book);
+        LOGGER.debug("updateBook():{}", book);
 
         Assert.notNull(book);
         Assert.notNull(book.getId());
@@ -104,7 +168,7 @@ public class BookServiceImpl implements BookService {
 
     @Override
     public void deleteBookById(Integer id) {
-        LOGGER.debug("deleteBookById(): id = "+id);
+        LOGGER.debug("deleteBookById(): id = {}", id);
 
         Assert.notNull(id);
         validateId(id);
@@ -112,18 +176,77 @@ public class BookServiceImpl implements BookService {
         bookDao.deleteBookById(id);
     }
 
+    @Override
+    public void deleteBooksByIds(Collection<Integer> ids) {
+        LOGGER.debug("deleteBooksByIds(): count = {}", ids == null ? null : ids.size());
+
+        Assert.notNull(ids);
+        for (Integer id : ids) {
+            Assert.notNull(id);
+            validateId(id);
+        }
+
+        if(ids.isEmpty()){
+            return;
+        }
+        bookDao.deleteBooksByIds(ids);
+    }
+
+    @Override
+    public void addAuthorToBook(Integer bookId, Integer authorId) {
+        LOGGER.debug("addAuthorToBook(): bookId = {}, authorId = {}", bookId, authorId);
+
+        Assert.notNull(bookId);
+        Assert.notNull(authorId);
+        validateId(bookId);
+        validateId(authorId);
+
+        bookDao.addAuthorToBook(bookId,authorId);
+    }
+
+    @Override
+    public void removeAuthorFromBook(Integer bookId, Integer authorId) {
+        LOGGER.debug("removeAuthorFromBook(): bookId = {}, authorId = {}", bookId, authorId);
+
+        Assert.notNull(bookId);
+        Assert.notNull(authorId);
+        validateId(bookId);
+        validateId(authorId);
+
+        bookDao.removeAuthorFromBook(bookId,authorId);
+    }
+
     @Override
     public void addBook(Book book) {
-        LOGGER.debug("addBook(): "+book);
+        LOGGER.debug("addBook(): {}", book);
+
+        validateNewBook(book);
+
+        bookDao.addBook(book);
+    }
+
+    @Override
+    public List<Integer> addBooks(Collection<Book> books) {
+        LOGGER.debug("addBooks(): count = {}", books == null ? null : books.size());
+
+        Assert.notNull(books);
+        for (Book book : books) {
+            validateNewBook(book);
+        }
+
+        if(books.isEmpty()){
+            return new ArrayList<>();
+        }
+        return bookDao.addBooks(books);
+    }
 
+    private void validateNewBook(Book book) {
         Assert.notNull(book);
         Assert.isNull(book.getId());
         Assert.hasText(book.getTitle());
         Assert.notNull(book.getRating());
         Assert.notNull(book.getReleaseDate());
         Assert.hasText(book.getLanguage());
-
-        bookDao.addBook(book);
     }
 
 }
@@ -0,0 +1,47 @@
+package com.vladsafronov.librarymanagement.service.impl;
+
+import com.vladsafronov.librarymanagement.dao.api.ChangeLogDao;
+import com.vladsafronov.librarymanagement.model.CatalogChange;
+import com.vladsafronov.librarymanagement.service.api.ChangeLogService;
+import com.vladsafronov.librarymanagement.service.impl.integration.ServiceErrorMessages;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+
+/**
+ * ChangeLogService implementation
+ */
+public class ChangeLogServiceImpl implements ChangeLogService {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    ChangeLogDao changeLogDao;
+
+    public static final int DEFAULT_CHANGES_SIZE = 100;
+    public static final int MAX_CHANGES_SIZE = 1000;
+
+    public void setChangeLogDao(ChangeLogDao changeLogDao) {
+        this.changeLogDao = changeLogDao;
+    }
+
+    @Override
+    public List<CatalogChange> getChangesSince(Long seq, Integer limit) {
+        LOGGER.debug("getChangesSince(): seq = {}, limit = {}", seq, limit);
+
+        if(seq != null && seq<0){
+            throw new IllegalArgumentException(ServiceErrorMessages.SEQ_IS_NOT_IN_ACCEPTABLE_RANGE);
+        }
+        if(limit != null && (limit<=0 || limit>MAX_CHANGES_SIZE)){
+            throw new IllegalArgumentException(ServiceErrorMessages.PAGE_SIZE_IS_NOT_IN_ACCEPTABLE_RANGE);
+        }
+        return changeLogDao.getChangesSince(seq == null ? 0 : seq, limit == null ? DEFAULT_CHANGES_SIZE : limit);
+    }
+
+    @Override
+    public long getLastSeq() {
+        LOGGER.debug("getLastSeq()");
+
+        return changeLogDao.getLastSeq();
+    }
+}
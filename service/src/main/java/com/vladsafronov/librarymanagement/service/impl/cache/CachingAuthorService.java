@@ -0,0 +1,124 @@
+package com.vladsafronov.librarymanagement.service.impl.cache;
+
+import com.vladsafronov.librarymanagement.model.Author;
+import com.vladsafronov.librarymanagement.model.AuthorStats;
+import com.vladsafronov.librarymanagement.model.Book;
+import com.vladsafronov.librarymanagement.service.api.AuthorService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AuthorService decorator, which caches authors by id.
+ * Cached author is removed when author is updated or deleted.
+ * Copies of authors are cached and returned, so callers can change returned author.
+ */
+public class CachingAuthorService implements AuthorService {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private final AuthorService authorService;
+    private final EntityCache<Integer, Author> authorCache;
+
+    public CachingAuthorService(AuthorService authorService, EntityCache<Integer, Author> authorCache) {
+        this.authorService = authorService;
+        this.authorCache = authorCache;
+    }
+
+    public EntityCache<Integer, Author> getAuthorCache() {
+        return authorCache;
+    }
+
+    @Override
+    public List<Author> getAllAuthors() {
+        return authorService.getAllAuthors();
+    }
+
+    @Override
+    public Author getAuthorById(Integer id) {
+        Author author = id == null ? null : authorCache.get(id);
+        if (author != null) {
+            LOGGER.debug("getAuthorById(): cache hit, id = {}", id);
+            return new Author(author);
+        }
+
+        // author read before concurrent update isn't put after update invalidated it
+        long generation = authorCache.getGeneration(id);
+        author = authorService.getAuthorById(id);
+        if (author != null) {
+            authorCache.put(id, new Author(author), generation);
+        }
+        return author;
+    }
+
+    @Override
+    public List<Author> getAuthorsByName(String prefix, Integer limit) {
+        return authorService.getAuthorsByName(prefix, limit);
+    }
+
+    @Override
+    public List<Author> getAuthorsBySurname(String prefix, Integer limit) {
+        return authorService.getAuthorsBySurname(prefix, limit);
+    }
+
+    @Override
+    public Author getAuthorByBook(Book book) {
+        return authorService.getAuthorByBook(book);
+    }
+
+    @Override
+    public void addAuthor(Author author) {
+        // only authors which were found are cached, so new author can't make cache stale
+        authorService.addAuthor(author);
+    }
+
+    @Override
+    public List<Integer> addAuthors(Collection<Author> authors) {
+        return authorService.addAuthors(authors);
+    }
+
+    @Override
+    public void deleteAuthorById(Integer id) {
+        try {
+            authorService.deleteAuthorById(id);
+        } finally {
+            if (id != null) {
+                authorCache.invalidate(id);
+            }
+        }
+    }
+
+    @Override
+    public int updateAuthor(Author author) {
+        try {
+            return authorService.updateAuthor(author);
+        } finally {
+            if (author != null && author.getId() != null) {
+                authorCache.invalidate(author.getId());
+            }
+        }
+    }
+
+    @Override
+    public int getCountOfAuthorsBooks(Author author) {
+        return authorService.getCountOfAuthorsBooks(author);
+    }
+
+    @Override
+    public double getAverageRatingOfAuthorsBooks(Author author) {
+        return authorService.getAverageRatingOfAuthorsBooks(author);
+    }
+
+    @Override
+    public Map<Integer, AuthorStats> getStatsForAuthors(Collection<Integer> ids) {
+        return authorService.getStatsForAuthors(ids);
+    }
+
+    @Override
+    public int rebuildAuthorStats() {
+        return authorService.rebuildAuthorStats();
+    }
+}
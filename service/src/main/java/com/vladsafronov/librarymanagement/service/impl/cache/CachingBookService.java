@@ -0,0 +1,150 @@
+package com.vladsafronov.librarymanagement.service.impl.cache;
+
+import com.vladsafronov.librarymanagement.model.Book;
+import com.vladsafronov.librarymanagement.model.BookWithAuthors;
+import com.vladsafronov.librarymanagement.service.api.BookService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * BookService decorator, which caches books by id.
+ * Cached book is removed when book is updated or deleted.
+ * Copies of books are cached and returned, so callers can change returned book.
+ */
+public class CachingBookService implements BookService {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private final BookService bookService;
+    private final EntityCache<Integer, Book> bookCache;
+
+    public CachingBookService(BookService bookService, EntityCache<Integer, Book> bookCache) {
+        this.bookService = bookService;
+        this.bookCache = bookCache;
+    }
+
+    public EntityCache<Integer, Book> getBookCache() {
+        return bookCache;
+    }
+
+    @Override
+    public List<Book> getAllBooks() {
+        return bookService.getAllBooks();
+    }
+
+    @Override
+    public List<Book> getBooksPage(Integer afterId, Integer limit) {
+        return bookService.getBooksPage(afterId, limit);
+    }
+
+    @Override
+    public List<BookWithAuthors> getBooksWithAuthorsPage(Integer afterId, Integer limit) {
+        return bookService.getBooksWithAuthorsPage(afterId, limit);
+    }
+
+    @Override
+    public void processAllBooks(Consumer<Book> consumer) {
+        bookService.processAllBooks(consumer);
+    }
+
+    @Override
+    public List<Book> getBooksByAuthorId(Integer authorId) {
+        return bookService.getBooksByAuthorId(authorId);
+    }
+
+    @Override
+    public Book getBookById(Integer id) {
+        Book book = id == null ? null : bookCache.get(id);
+        if (book != null) {
+            LOGGER.debug("getBookById(): cache hit, id = {}", id);
+            return new Book(book);
+        }
+
+        // book read before concurrent update isn't put after update invalidated it
+        long generation = bookCache.getGeneration(id);
+        book = bookService.getBookById(id);
+        if (book != null) {
+            bookCache.put(id, new Book(book), generation);
+        }
+        return book;
+    }
+
+    @Override
+    public List<Book> getBooksFromPeriod(LocalDate from, LocalDate to) {
+        return bookService.getBooksFromPeriod(from, to);
+    }
+
+    @Override
+    public Book getBookByTitle(String title) {
+        return bookService.getBookByTitle(title);
+    }
+
+    @Override
+    public List<Book> searchBooks(String query, Integer limit) {
+        return bookService.searchBooks(query, limit);
+    }
+
+    @Override
+    public int updateBook(Book book) {
+        try {
+            return bookService.updateBook(book);
+        } finally {
+            if (book != null && book.getId() != null) {
+                bookCache.invalidate(book.getId());
+            }
+        }
+    }
+
+    @Override
+    public void deleteBookById(Integer id) {
+        try {
+            bookService.deleteBookById(id);
+        } finally {
+            if (id != null) {
+                bookCache.invalidate(id);
+            }
+        }
+    }
+
+    @Override
+    public void deleteBooksByIds(Collection<Integer> ids) {
+        try {
+            bookService.deleteBooksByIds(ids);
+        } finally {
+            if (ids != null) {
+                for (Integer id : ids) {
+                    if (id != null) {
+                        bookCache.invalidate(id);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void addAuthorToBook(Integer bookId, Integer authorId) {
+        // links are not part of cached book
+        bookService.addAuthorToBook(bookId, authorId);
+    }
+
+    @Override
+    public void removeAuthorFromBook(Integer bookId, Integer authorId) {
+        bookService.removeAuthorFromBook(bookId, authorId);
+    }
+
+    @Override
+    public void addBook(Book book) {
+        // only books which were found are cached, so new book can't make cache stale
+        bookService.addBook(book);
+    }
+
+    @Override
+    public List<Integer> addBooks(Collection<Book> books) {
+        return bookService.addBooks(books);
+    }
+}
@@ -0,0 +1,79 @@
+package com.vladsafronov.librarymanagement.service.impl.cache;
+
+/**
+ * Cache of entities by key
+ *
+ * @param <K> key type
+ * @param <V> entity type
+ */
+public interface EntityCache<K, V> {
+
+    /**
+     * Get entity from cache
+     *
+     * @param key entity key
+     * @return entity or null if cache doesn't contain it
+     */
+    V get(K key);
+
+    /**
+     * Put entity to cache
+     *
+     * @param key entity key
+     * @param value entity
+     */
+    void put(K key, V value);
+
+    /**
+     * Get generation of key before entity is loaded, generation is changed
+     * by every invalidation of key
+     *
+     * @param key entity key
+     * @return generation of key
+     */
+    long getGeneration(K key);
+
+    /**
+     * Put entity, which was loaded after generation of key was taken.
+     * Entity isn't put if key was invalidated while it was loaded, so entity
+     * read before concurrent update doesn't replace update in cache.
+     *
+     * @param key entity key
+     * @param value entity
+     * @param generation generation of key taken before entity was loaded
+     * @return true if entity is put
+     */
+    boolean put(K key, V value, long generation);
+
+    /**
+     * Remove entity from cache
+     *
+     * @param key entity key
+     */
+    void invalidate(K key);
+
+    /**
+     * Remove all entities from cache
+     */
+    void invalidateAll();
+
+    /**
+     * @return count of entities in cache
+     */
+    int size();
+
+    /**
+     * @return count of get calls, which found entity
+     */
+    long getHitCount();
+
+    /**
+     * @return count of get calls, which didn't find entity
+     */
+    long getMissCount();
+
+    /**
+     * @return count of entities removed because of size limit or expiration
+     */
+    long getEvictionCount();
+}
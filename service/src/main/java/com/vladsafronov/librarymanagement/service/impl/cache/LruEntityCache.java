@@ -0,0 +1,217 @@
+package com.vladsafronov.librarymanagement.service.impl.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size bounded entity cache with least recently used eviction
+ * and time to live for entries.
+ *
+ * Keys are split by hash into segments with own lock and own LRU order,
+ * so reads of different segments don't wait for each other. Every segment
+ * keeps its share of max size, so eviction is least recently used within
+ * segment. Cache smaller than {@link #MIN_SEGMENT_SIZE} twice has one segment.
+ *
+ * Generations of keys are kept in fixed count of stripes, so invalidation
+ * of one key rejects puts of loads of few other keys, which were concurrent with it.
+ *
+ * @param <K> key type
+ * @param <V> entity type
+ */
+public class LruEntityCache<K, V> implements EntityCache<K, V> {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    /**
+     * Max count of segments, power of two not bigger than count of stripes
+     */
+    static final int MAX_SEGMENTS = 16;
+
+    /**
+     * Min count of entities in segment, LRU order of smaller segments is too short
+     */
+    static final int MIN_SEGMENT_SIZE = 64;
+
+    private final long ttlNanos;
+
+    private final Segment[] segments;
+    private final AtomicLong invalidateAllCount = new AtomicLong();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * @param maxSize max count of entities in cache
+     * @param ttlSeconds time to live of entity in seconds, 0 for unlimited
+     */
+    @SuppressWarnings("unchecked")
+    public LruEntityCache(int maxSize, long ttlSeconds) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Max size must be positive");
+        }
+        if (ttlSeconds < 0) {
+            throw new IllegalArgumentException("Time to live can't be negative");
+        }
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENTS && maxSize / (segmentCount * 2) >= MIN_SEGMENT_SIZE) {
+            segmentCount *= 2;
+        }
+        this.segments = new LruEntityCache.Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            // first segments keep remainder of division
+            segments[i] = new Segment(maxSize / segmentCount + (i < maxSize % segmentCount ? 1 : 0));
+        }
+    }
+
+    @Override
+    public V get(K key) {
+        Segment segment = segment(key);
+        synchronized (segment) {
+            Entry<V> entry = segment.entries.get(key);
+            if (entry == null) {
+                missCount.increment();
+                return null;
+            }
+            if (ttlNanos > 0 && nanoTime() - entry.createdAt >= ttlNanos) {
+                segment.entries.remove(key);
+                evictionCount.increment();
+                missCount.increment();
+                return null;
+            }
+            hitCount.increment();
+            return entry.value;
+        }
+    }
+
+    @Override
+    public void put(K key, V value) {
+        Segment segment = segment(key);
+        synchronized (segment) {
+            segment.entries.put(key, new Entry<>(value, nanoTime()));
+        }
+    }
+
+    @Override
+    public long getGeneration(K key) {
+        Segment segment = segment(key);
+        synchronized (segment) {
+            return segment.generations[stripe(key)] + invalidateAllCount.get();
+        }
+    }
+
+    @Override
+    public boolean put(K key, V value, long generation) {
+        Segment segment = segment(key);
+        // invalidate of key changes its generation under the same lock
+        synchronized (segment) {
+            if (segment.generations[stripe(key)] + invalidateAllCount.get() != generation) {
+                return false;
+            }
+            segment.entries.put(key, new Entry<>(value, nanoTime()));
+            return true;
+        }
+    }
+
+    @Override
+    public void invalidate(K key) {
+        Segment segment = segment(key);
+        synchronized (segment) {
+            segment.entries.remove(key);
+            segment.generations[stripe(key)]++;
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        // generation is changed before entities are removed, so load, which
+        // was concurrent with it, is either rejected or removed
+        invalidateAllCount.incrementAndGet();
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.entries.clear();
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.entries.size();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Segment is chosen by low bits of stripe, so all keys of stripe are in one segment
+     */
+    private Segment segment(Object key) {
+        return segments[stripe(key) & (segments.length - 1)];
+    }
+
+    private static int stripe(Object key) {
+        int hash = key == null ? 0 : key.hashCode();
+        return (hash ^ (hash >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    /**
+     * Current time source, can be overridden in tests
+     */
+    protected long nanoTime() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Entities and generations of keys of one segment, guarded by segment itself
+     */
+    private class Segment {
+        private final LinkedHashMap<K, Entry<V>> entries;
+        private final long[] generations = new long[GENERATION_STRIPES];
+
+        Segment(final int maxSize) {
+            this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                    if (size() > maxSize) {
+                        evictionCount.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long createdAt;
+
+        private Entry(V value, long createdAt) {
+            this.value = value;
+            this.createdAt = createdAt;
+        }
+    }
+}
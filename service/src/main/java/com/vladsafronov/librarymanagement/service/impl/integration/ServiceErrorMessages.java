@@ -5,4 +5,9 @@ package com.vladsafronov.librarymanagement.service.impl.integration;
  */
 public class ServiceErrorMessages {
     public static final String ID_IS_NOT_IN_ACCEPTABLE_RANGE = "Id is not in acceptable range";
+    public static final String PAGE_SIZE_IS_NOT_IN_ACCEPTABLE_RANGE = "Page size is not in acceptable range";
+    public static final String TOO_MANY_IDS = "Too many ids in one request";
+    public static final String SEARCH_QUERY_IS_EMPTY = "Search query is empty";
+    public static final String SEARCH_QUERY_IS_TOO_LONG = "Search query is too long";
+    public static final String SEQ_IS_NOT_IN_ACCEPTABLE_RANGE = "Seq of change is not in acceptable range";
 }
@@ -0,0 +1,52 @@
+package com.vladsafronov.librarymanagement.service.impl.metrics;
+
+import com.vladsafronov.librarymanagement.metrics.Timer;
+import com.vladsafronov.librarymanagement.metrics.TimerRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Times calls of service methods, one timer per method, for example
+ * BookService.getBookById. Overloaded methods share timer.
+ * Any exception thrown by method, also validation one, is counted as error.
+ */
+public class TimingInterceptor implements MethodInterceptor {
+
+    private final TimerRegistry registry;
+    private final ConcurrentMap<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * @param registry timers of service methods
+     */
+    public TimingInterceptor(TimerRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Timer timer = timer(invocation.getMethod());
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            timer.recordError(System.nanoTime() - start);
+            throw e;
+        }
+        timer.record(System.nanoTime() - start);
+        return result;
+    }
+
+    private Timer timer(Method method) {
+        Timer timer = timers.get(method);
+        if (timer == null) {
+            timer = registry.timer(method.getDeclaringClass().getSimpleName() + "." + method.getName());
+            timers.putIfAbsent(method, timer);
+        }
+        return timer;
+    }
+}
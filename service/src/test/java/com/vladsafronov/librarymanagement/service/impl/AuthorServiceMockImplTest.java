@@ -2,6 +2,7 @@ package com.vladsafronov.librarymanagement.service.impl;
 
 import com.vladsafronov.librarymanagement.dao.api.AuthorDao;
 import com.vladsafronov.librarymanagement.model.Author;
+import com.vladsafronov.librarymanagement.model.AuthorStats;
 import com.vladsafronov.librarymanagement.model.Book;
 import com.vladsafronov.librarymanagement.service.api.AuthorService;
 import com.vladsafronov.librarymanagement.service.impl.integration.ServiceErrorMessages;
@@ -12,12 +13,17 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
 
 import static org.easymock.EasyMock.*;
 import static org.junit.Assert.*;
@@ -61,7 +67,6 @@ public class AuthorServiceMockImplTest {
     public void getAuthorById() {
         Integer id = 1;
         Author author = new Author();
-        expect(mockAuthorDao.getCountOfAllAuthors()).andReturn(id + 1);
         expect(mockAuthorDao.getAuthorById(id)).andReturn(author);
         replay(mockAuthorDao);
 
@@ -71,9 +76,9 @@ public class AuthorServiceMockImplTest {
 
 
     @Test
-    public void getAuthorByIdWhichMoreThenCountOfAllBooks() {
+    public void getAuthorByUnexistId() {
         Integer id = 2;
-        expect(mockAuthorDao.getCountOfAllAuthors()).andReturn(id - 1);
+        expect(mockAuthorDao.getAuthorById(id)).andThrow(new EmptyResultDataAccessException(1));
         replay(mockAuthorDao);
 
         thrown.expect(IllegalArgumentException.class);
@@ -99,6 +104,28 @@ public class AuthorServiceMockImplTest {
 
         authorService.addAuthor(author);
     }
+    @Test
+    public void addAuthors(){
+        List<Author> authors = Arrays.asList(
+                new Author(null,"Name","Surname",LocalDate.now()),
+                new Author(null,"Other name","Other surname",LocalDate.now()));
+        List<Integer> ids = Arrays.asList(4,5);
+        expect(mockAuthorDao.addAuthors(authors)).andReturn(ids);
+        replay(mockAuthorDao);
+
+        assertEquals(ids,authorService.addAuthors(authors));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addAuthorsWithNotValidAuthor(){
+        List<Author> authors = Arrays.asList(
+                new Author(null,"Name","Surname",LocalDate.now()),
+                new Author(1,"Other name","Other surname",LocalDate.now()));
+        replay(mockAuthorDao);
+
+        authorService.addAuthors(authors);
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void addNullAuthor(){
         Author author = null;
@@ -271,6 +298,90 @@ public class AuthorServiceMockImplTest {
         assertEquals(averageRating,countFromService,delta);
     }
 
+    @Test
+    public void getAuthorsByName(){
+        List<Author> authors = Arrays.asList(new Author(1,"George","Orwell",LocalDate.parse("2010-01-01")));
+        expect(mockAuthorDao.getAuthorsByName("geo", AuthorServiceImpl.DEFAULT_LOOKUP_SIZE)).andReturn(authors);
+        replay(mockAuthorDao);
+
+        assertEquals(authors, authorService.getAuthorsByName(" geo", null));
+    }
+
+    @Test
+    public void getAuthorsBySurname(){
+        List<Author> authors = Arrays.asList(new Author(1,"George","Orwell",LocalDate.parse("2010-01-01")));
+        expect(mockAuthorDao.getAuthorsBySurname("orw", 5)).andReturn(authors);
+        replay(mockAuthorDao);
+
+        assertEquals(authors, authorService.getAuthorsBySurname("orw", 5));
+    }
+
+    @Test
+    public void getAuthorsByEmptyName(){
+        replay(mockAuthorDao);
+
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(ServiceErrorMessages.SEARCH_QUERY_IS_EMPTY);
+        authorService.getAuthorsByName(" ", null);
+    }
+
+    @Test
+    public void getAuthorsBySurnameWithTooBigLimit(){
+        replay(mockAuthorDao);
+
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(ServiceErrorMessages.PAGE_SIZE_IS_NOT_IN_ACCEPTABLE_RANGE);
+        authorService.getAuthorsBySurname("orw", AuthorServiceImpl.MAX_LOOKUP_SIZE + 1);
+    }
+
+    @Test
+    public void getStatsForAuthors(){
+        Map<Integer, AuthorStats> stats = new LinkedHashMap<>();
+        stats.put(1, new AuthorStats(1, 2, 69d));
+        stats.put(3, new AuthorStats(3, 0, null));
+        expect(mockAuthorDao.getStatsForAuthors(new TreeSet<>(Arrays.asList(1, 3)))).andReturn(stats);
+        replay(mockAuthorDao);
+
+        assertEquals(stats, authorService.getStatsForAuthors(Arrays.asList(3, 1, 3)));
+    }
+
+    @Test
+    public void getStatsForNoAuthors(){
+        replay(mockAuthorDao);
+
+        assertTrue(authorService.getStatsForAuthors(new ArrayList<Integer>()).isEmpty());
+    }
+
+    @Test
+    public void getStatsForAuthorsWithNegativeId(){
+        replay(mockAuthorDao);
+
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(ServiceErrorMessages.ID_IS_NOT_IN_ACCEPTABLE_RANGE);
+        authorService.getStatsForAuthors(Arrays.asList(1, -1));
+    }
+
+    @Test
+    public void getStatsForTooManyAuthors(){
+        replay(mockAuthorDao);
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 1; i <= AuthorServiceImpl.MAX_STATS_IDS + 1; i++) {
+            ids.add(i);
+        }
+
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(ServiceErrorMessages.TOO_MANY_IDS);
+        authorService.getStatsForAuthors(ids);
+    }
+
+    @Test
+    public void rebuildAuthorStats(){
+        expect(mockAuthorDao.rebuildAuthorStats()).andReturn(3);
+        replay(mockAuthorDao);
+
+        assertEquals(3,authorService.rebuildAuthorStats());
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void getAverageRatingOfAuthorsBooksWithNullArg(){
         replay(mockAuthorDao);
@@ -89,7 +89,7 @@ public class BookServiceImplTest {
         assertEquals(secondBook,actualSecondBook);
     }
 
-
+    @Test
     public void getBookByUnexistId(){
         thrown.expect(IllegalArgumentException.class);
         thrown.expectMessage(ServiceErrorMessages.ID_IS_NOT_IN_ACCEPTABLE_RANGE);
@@ -119,7 +119,8 @@ public class BookServiceImplTest {
         List<Book> books = bookService.getAllBooks();
         Assert.assertEquals(COUNT_OF_BOOKS-1,books.size());
 
-        thrown.expect(EmptyResultDataAccessException.class);
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(ServiceErrorMessages.ID_IS_NOT_IN_ACCEPTABLE_RANGE);
         bookService.getBookById(firstBook.getId());
 
     }
@@ -3,19 +3,23 @@ package com.vladsafronov.librarymanagement.service.impl;
 import com.vladsafronov.librarymanagement.dao.api.BookDao;
 import com.vladsafronov.librarymanagement.model.Author;
 import com.vladsafronov.librarymanagement.model.Book;
+import com.vladsafronov.librarymanagement.model.BookWithAuthors;
 import com.vladsafronov.librarymanagement.service.api.BookService;
 import com.vladsafronov.librarymanagement.service.impl.integration.ServiceErrorMessages;
 import org.junit.*;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.Assert.*;
 
@@ -57,6 +61,126 @@ public class BookServiceMockImplTest {
 
     }
 
+    @Test
+    public void getBooksPage() {
+        List<Book> books = new ArrayList<>();
+        expect(mockBookDao.getBooksPage(10, 20)).andReturn(books);
+        replay(mockBookDao);
+
+        assertEquals(books, bookService.getBooksPage(10, 20));
+    }
+
+    @Test
+    public void getFirstBooksPageWithDefaultSize() {
+        List<Book> books = new ArrayList<>();
+        expect(mockBookDao.getBooksPage(0, BookServiceImpl.DEFAULT_PAGE_SIZE)).andReturn(books);
+        replay(mockBookDao);
+
+        assertEquals(books, bookService.getBooksPage(null, null));
+    }
+
+    @Test
+    public void getBooksPageWithNegativeAfterId() {
+        replay(mockBookDao);
+
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(ServiceErrorMessages.ID_IS_NOT_IN_ACCEPTABLE_RANGE);
+        bookService.getBooksPage(-1, 10);
+    }
+
+    @Test
+    public void getBooksPageWithTooBigLimit() {
+        replay(mockBookDao);
+
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(ServiceErrorMessages.PAGE_SIZE_IS_NOT_IN_ACCEPTABLE_RANGE);
+        bookService.getBooksPage(0, BookServiceImpl.MAX_PAGE_SIZE + 1);
+    }
+
+    @Test
+    public void getBooksPageWithZeroLimit() {
+        replay(mockBookDao);
+
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(ServiceErrorMessages.PAGE_SIZE_IS_NOT_IN_ACCEPTABLE_RANGE);
+        bookService.getBooksPage(0, 0);
+    }
+
+    @Test
+    public void getBooksWithAuthorsPage() {
+        List<BookWithAuthors> books = new ArrayList<>();
+        expect(mockBookDao.getBooksWithAuthorsPage(0, BookServiceImpl.DEFAULT_PAGE_SIZE)).andReturn(books);
+        replay(mockBookDao);
+
+        assertEquals(books, bookService.getBooksWithAuthorsPage(null, null));
+    }
+
+    @Test
+    public void getBooksWithAuthorsPageWithTooBigLimit() {
+        replay(mockBookDao);
+
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(ServiceErrorMessages.PAGE_SIZE_IS_NOT_IN_ACCEPTABLE_RANGE);
+        bookService.getBooksWithAuthorsPage(0, BookServiceImpl.MAX_PAGE_SIZE + 1);
+    }
+
+    @Test
+    public void searchBooks() {
+        List<Book> books = new ArrayList<>();
+        expect(mockBookDao.searchBooks("brave", 10)).andReturn(books);
+        replay(mockBookDao);
+
+        assertEquals(books, bookService.searchBooks("brave", 10));
+    }
+
+    @Test
+    public void searchBooksWithDefaultLimit() {
+        List<Book> books = new ArrayList<>();
+        expect(mockBookDao.searchBooks("brave", BookServiceImpl.DEFAULT_PAGE_SIZE)).andReturn(books);
+        replay(mockBookDao);
+
+        assertEquals(books, bookService.searchBooks("brave", null));
+    }
+
+    @Test
+    public void searchBooksWithBlankQuery() {
+        replay(mockBookDao);
+
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(ServiceErrorMessages.SEARCH_QUERY_IS_EMPTY);
+        bookService.searchBooks("  ", 10);
+    }
+
+    @Test
+    public void searchBooksWithTooLongQuery() {
+        replay(mockBookDao);
+
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(ServiceErrorMessages.SEARCH_QUERY_IS_TOO_LONG);
+        bookService.searchBooks(new String(new char[BookServiceImpl.MAX_SEARCH_QUERY_LENGTH + 1]).replace('\0', 'a'), 10);
+    }
+
+    @Test
+    public void processAllBooks() {
+        Consumer<Book> consumer = new Consumer<Book>() {
+            @Override
+            public void accept(Book book) {
+            }
+        };
+        mockBookDao.processAllBooks(consumer);
+        expectLastCall();
+        replay(mockBookDao);
+
+        bookService.processAllBooks(consumer);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void processAllBooksWithNullConsumer() {
+        replay(mockBookDao);
+
+        bookService.processAllBooks(null);
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void getBooksByNullAuthorId() {
         replay(mockBookDao);
@@ -81,7 +205,6 @@ public class BookServiceMockImplTest {
     public void getBookById() {
         Integer id = 1;
         Book book = new Book();
-        expect(mockBookDao.getCountOfAllBooks()).andReturn(id + 1);
         expect(mockBookDao.getBookById(id)).andReturn(book);
         replay(mockBookDao);
 
@@ -90,9 +213,9 @@ public class BookServiceMockImplTest {
     }
 
     @Test
-    public void getBookByIdWhichMoreThenCountOfAllBooks() {
+    public void getBookByUnexistId() {
         Integer id = 2;
-        expect(mockBookDao.getCountOfAllBooks()).andReturn(id - 1);
+        expect(mockBookDao.getBookById(id)).andThrow(new EmptyResultDataAccessException(1));
         replay(mockBookDao);
 
         thrown.expect(IllegalArgumentException.class);
@@ -286,6 +409,59 @@ public class BookServiceMockImplTest {
         bookService.deleteBookById(id);
     }
 
+    @Test
+    public void deleteBooksByIds() {
+        List<Integer> ids = Arrays.asList(1, 2);
+        mockBookDao.deleteBooksByIds(ids);
+        expectLastCall();
+        replay(mockBookDao);
+
+        bookService.deleteBooksByIds(ids);
+    }
+
+    @Test
+    public void deleteBooksWithNegativeId() {
+        replay(mockBookDao);
+
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(ServiceErrorMessages.ID_IS_NOT_IN_ACCEPTABLE_RANGE);
+        bookService.deleteBooksByIds(Arrays.asList(1, -1));
+    }
+
+    @Test
+    public void addAuthorToBook() {
+        mockBookDao.addAuthorToBook(1, 2);
+        expectLastCall();
+        replay(mockBookDao);
+
+        bookService.addAuthorToBook(1, 2);
+    }
+
+    @Test
+    public void addAuthorToBookWithNegativeId() {
+        replay(mockBookDao);
+
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(ServiceErrorMessages.ID_IS_NOT_IN_ACCEPTABLE_RANGE);
+        bookService.addAuthorToBook(1, -1);
+    }
+
+    @Test
+    public void removeAuthorFromBook() {
+        mockBookDao.removeAuthorFromBook(1, 2);
+        expectLastCall();
+        replay(mockBookDao);
+
+        bookService.removeAuthorFromBook(1, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void removeAuthorFromBookWithNullId() {
+        replay(mockBookDao);
+
+        bookService.removeAuthorFromBook(null, 2);
+    }
+
     @Test
     public void addBook() {
         Book book = new Book(null, "title", 0, LocalDate.now(), "Eng");
@@ -296,6 +472,42 @@ public class BookServiceMockImplTest {
         bookService.addBook(book);
     }
 
+    @Test
+    public void addBooks() {
+        List<Book> books = Arrays.asList(
+                new Book(null, "first", 0, LocalDate.now(), "Eng"),
+                new Book(null, "second", 0, LocalDate.now(), "Eng"));
+        List<Integer> ids = Arrays.asList(5, 6);
+        expect(mockBookDao.addBooks(books)).andReturn(ids);
+        replay(mockBookDao);
+
+        assertEquals(ids, bookService.addBooks(books));
+    }
+
+    @Test
+    public void addNoBooks() {
+        replay(mockBookDao);
+
+        assertEquals(0, bookService.addBooks(new ArrayList<Book>()).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addBooksWithNotValidBook() {
+        List<Book> books = Arrays.asList(
+                new Book(null, "first", 0, LocalDate.now(), "Eng"),
+                new Book(null, null, 0, LocalDate.now(), "Eng"));
+        replay(mockBookDao);
+
+        bookService.addBooks(books);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addBooksWithNullArg() {
+        replay(mockBookDao);
+
+        bookService.addBooks(null);
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void addBookWithNotNullId() {
         Book book = new Book(1, "title", 0, LocalDate.now(), "Eng");
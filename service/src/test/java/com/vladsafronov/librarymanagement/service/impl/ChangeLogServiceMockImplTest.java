@@ -0,0 +1,92 @@
+package com.vladsafronov.librarymanagement.service.impl;
+
+import com.vladsafronov.librarymanagement.dao.api.ChangeLogDao;
+import com.vladsafronov.librarymanagement.model.CatalogChange;
+import com.vladsafronov.librarymanagement.service.api.ChangeLogService;
+import com.vladsafronov.librarymanagement.service.impl.integration.ServiceErrorMessages;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.easymock.EasyMock.*;
+import static org.junit.Assert.*;
+
+/**
+ * ChangeLogService mock tests
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(locations = {"classpath*:test-mock-service-spring-config.xml"})
+public class ChangeLogServiceMockImplTest {
+
+    @Autowired
+    ChangeLogDao mockChangeLogDao;
+    @Autowired
+    ChangeLogService changeLogService;
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Before
+    public void setUp(){
+        reset(mockChangeLogDao);
+    }
+    @After
+    public void tearDown(){
+        verify(mockChangeLogDao);
+    }
+
+    @Test
+    public void getChangesSince(){
+        List<CatalogChange> changes = Arrays.asList(new CatalogChange(11L, CatalogChange.Entity.BOOK,1,
+                CatalogChange.Operation.UPDATE, Instant.now()));
+        expect(mockChangeLogDao.getChangesSince(10,5)).andReturn(changes);
+        replay(mockChangeLogDao);
+
+        assertEquals(changes,changeLogService.getChangesSince(10L,5));
+    }
+
+    @Test
+    public void getChangesSinceWithDefaults(){
+        List<CatalogChange> changes = Arrays.asList();
+        expect(mockChangeLogDao.getChangesSince(0,ChangeLogServiceImpl.DEFAULT_CHANGES_SIZE)).andReturn(changes);
+        replay(mockChangeLogDao);
+
+        assertEquals(changes,changeLogService.getChangesSince(null,null));
+    }
+
+    @Test
+    public void getChangesSinceNegativeSeq(){
+        replay(mockChangeLogDao);
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(ServiceErrorMessages.SEQ_IS_NOT_IN_ACCEPTABLE_RANGE);
+
+        changeLogService.getChangesSince(-1L,10);
+    }
+
+    @Test
+    public void getChangesSinceTooBigLimit(){
+        replay(mockChangeLogDao);
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(ServiceErrorMessages.PAGE_SIZE_IS_NOT_IN_ACCEPTABLE_RANGE);
+
+        changeLogService.getChangesSince(0L,ChangeLogServiceImpl.MAX_CHANGES_SIZE+1);
+    }
+
+    @Test
+    public void getLastSeq(){
+        expect(mockChangeLogDao.getLastSeq()).andReturn(42L);
+        replay(mockChangeLogDao);
+
+        assertEquals(42L,changeLogService.getLastSeq());
+    }
+}
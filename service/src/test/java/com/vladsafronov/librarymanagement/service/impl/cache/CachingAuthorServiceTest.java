@@ -0,0 +1,68 @@
+package com.vladsafronov.librarymanagement.service.impl.cache;
+
+import com.vladsafronov.librarymanagement.model.Author;
+import com.vladsafronov.librarymanagement.service.api.AuthorService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+import static org.easymock.EasyMock.*;
+import static org.junit.Assert.*;
+
+/**
+ * CachingAuthorService test
+ */
+public class CachingAuthorServiceTest {
+
+    private static final Author author = new Author(1, "George", "Orwell", LocalDate.parse("2010-01-01"));
+
+    private AuthorService mockAuthorService;
+    private CachingAuthorService cachingAuthorService;
+
+    @Before
+    public void setUp() {
+        mockAuthorService = createMock(AuthorService.class);
+        cachingAuthorService = new CachingAuthorService
+                (mockAuthorService, new LruEntityCache<Integer, Author>(10, 0));
+    }
+
+    @After
+    public void tearDown() {
+        verify(mockAuthorService);
+    }
+
+    @Test
+    public void getAuthorByIdLoadsAuthorOnlyOnce() {
+        expect(mockAuthorService.getAuthorById(author.getId())).andReturn(author).once();
+        replay(mockAuthorService);
+
+        assertEquals(author, cachingAuthorService.getAuthorById(author.getId()));
+        assertEquals(author, cachingAuthorService.getAuthorById(author.getId()));
+        assertEquals(1, cachingAuthorService.getAuthorCache().getHitCount());
+    }
+
+    @Test
+    public void updateAuthorInvalidatesCachedAuthor() {
+        expect(mockAuthorService.getAuthorById(author.getId())).andReturn(author).times(2);
+        expect(mockAuthorService.updateAuthor(author)).andReturn(1);
+        replay(mockAuthorService);
+
+        cachingAuthorService.getAuthorById(author.getId());
+        assertEquals(1, cachingAuthorService.updateAuthor(author));
+        cachingAuthorService.getAuthorById(author.getId());
+    }
+
+    @Test
+    public void deleteAuthorInvalidatesCachedAuthor() {
+        expect(mockAuthorService.getAuthorById(author.getId())).andReturn(author);
+        mockAuthorService.deleteAuthorById(author.getId());
+        expectLastCall();
+        replay(mockAuthorService);
+
+        cachingAuthorService.getAuthorById(author.getId());
+        cachingAuthorService.deleteAuthorById(author.getId());
+        assertEquals(0, cachingAuthorService.getAuthorCache().size());
+    }
+}
@@ -0,0 +1,142 @@
+package com.vladsafronov.librarymanagement.service.impl.cache;
+
+import com.vladsafronov.librarymanagement.model.Book;
+import com.vladsafronov.librarymanagement.service.api.BookService;
+import org.easymock.IAnswer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.easymock.EasyMock.*;
+import static org.junit.Assert.*;
+
+/**
+ * CachingBookService test
+ */
+public class CachingBookServiceTest {
+
+    private static final Book book = new Book(1, "1984", 89, LocalDate.parse("2014-01-01"), "Eng");
+
+    private BookService mockBookService;
+    private CachingBookService cachingBookService;
+
+    @Before
+    public void setUp() {
+        mockBookService = createMock(BookService.class);
+        cachingBookService = new CachingBookService
+                (mockBookService, new LruEntityCache<Integer, Book>(10, 0));
+    }
+
+    @After
+    public void tearDown() {
+        verify(mockBookService);
+    }
+
+    @Test
+    public void getBookByIdLoadsBookOnlyOnce() {
+        expect(mockBookService.getBookById(book.getId())).andReturn(book).once();
+        replay(mockBookService);
+
+        assertEquals(book, cachingBookService.getBookById(book.getId()));
+        assertEquals(book, cachingBookService.getBookById(book.getId()));
+        assertEquals(1, cachingBookService.getBookCache().getHitCount());
+    }
+
+    @Test
+    public void bookReadBeforeConcurrentUpdateIsNotCached() {
+        final Book updatedBook = new Book(book.getId(), "Nineteen Eighty-Four", 90, book.getReleaseDate(), "Eng");
+        // update is committed and invalidates cache while old book is read
+        expect(mockBookService.getBookById(book.getId())).andAnswer(new IAnswer<Book>() {
+            @Override
+            public Book answer() {
+                cachingBookService.updateBook(updatedBook);
+                return book;
+            }
+        });
+        expect(mockBookService.updateBook(updatedBook)).andReturn(1);
+        expect(mockBookService.getBookById(book.getId())).andReturn(updatedBook);
+        replay(mockBookService);
+
+        assertEquals(book, cachingBookService.getBookById(book.getId()));
+        assertEquals(0, cachingBookService.getBookCache().size());
+        assertEquals(updatedBook, cachingBookService.getBookById(book.getId()));
+    }
+
+    @Test
+    public void changeOfReturnedBookDoesNotChangeCachedBook() {
+        Book loadedBook = new Book(book);
+        expect(mockBookService.getBookById(book.getId())).andReturn(loadedBook);
+        replay(mockBookService);
+
+        cachingBookService.getBookById(book.getId()).setTitle("changed");
+        loadedBook.setRating(0);
+        Book cachedBook = cachingBookService.getBookById(book.getId());
+        assertEquals(book, cachedBook);
+        cachedBook.setTitle("changed");
+        assertEquals(book, cachingBookService.getBookById(book.getId()));
+    }
+
+    @Test
+    public void notFoundBookIsNotCached() {
+        expect(mockBookService.getBookById(book.getId()))
+                .andThrow(new IllegalArgumentException()).times(2);
+        replay(mockBookService);
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                cachingBookService.getBookById(book.getId());
+                fail();
+            } catch (IllegalArgumentException e) {
+                assertEquals(0, cachingBookService.getBookCache().size());
+            }
+        }
+    }
+
+    @Test
+    public void updateBookInvalidatesCachedBook() {
+        expect(mockBookService.getBookById(book.getId())).andReturn(book).times(2);
+        expect(mockBookService.updateBook(book)).andReturn(1);
+        replay(mockBookService);
+
+        cachingBookService.getBookById(book.getId());
+        assertEquals(1, cachingBookService.updateBook(book));
+        cachingBookService.getBookById(book.getId());
+    }
+
+    @Test
+    public void deleteBookInvalidatesCachedBook() {
+        expect(mockBookService.getBookById(book.getId())).andReturn(book);
+        mockBookService.deleteBookById(book.getId());
+        expectLastCall();
+        replay(mockBookService);
+
+        cachingBookService.getBookById(book.getId());
+        cachingBookService.deleteBookById(book.getId());
+        assertEquals(0, cachingBookService.getBookCache().size());
+    }
+
+    @Test
+    public void deleteBooksInvalidatesCachedBooks() {
+        expect(mockBookService.getBookById(book.getId())).andReturn(book);
+        mockBookService.deleteBooksByIds(Arrays.asList(book.getId(), book.getId() + 1));
+        expectLastCall();
+        replay(mockBookService);
+
+        cachingBookService.getBookById(book.getId());
+        cachingBookService.deleteBooksByIds(Arrays.asList(book.getId(), book.getId() + 1));
+        assertEquals(0, cachingBookService.getBookCache().size());
+    }
+
+    @Test
+    public void addBookIsDelegated() {
+        Book newBook = new Book(null, "title", 50, LocalDate.now(), "Eng");
+        mockBookService.addBook(newBook);
+        expectLastCall();
+        replay(mockBookService);
+
+        cachingBookService.addBook(newBook);
+    }
+}
@@ -0,0 +1,124 @@
+package com.vladsafronov.librarymanagement.service.impl.cache;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * LruEntityCache test
+ */
+public class LruEntityCacheTest {
+
+    private static final int MAX_SIZE = 2;
+    private static final long TTL_SECONDS = 10;
+
+    private long now;
+    private LruEntityCache<Integer, String> cache;
+
+    @Before
+    public void setUp() {
+        now = 0;
+        cache = new LruEntityCache<Integer, String>(MAX_SIZE, TTL_SECONDS) {
+            @Override
+            protected long nanoTime() {
+                return now;
+            }
+        };
+    }
+
+    @Test
+    public void getPutValue() {
+        cache.put(1, "first");
+        assertEquals("first", cache.get(1));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    public void getAbsentValue() {
+        assertNull(cache.get(1));
+        assertEquals(0, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void leastRecentlyUsedValueIsEvicted() {
+        cache.put(1, "first");
+        cache.put(2, "second");
+        cache.get(1);
+        cache.put(3, "third");
+
+        assertEquals(MAX_SIZE, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals("first", cache.get(1));
+        assertNull(cache.get(2));
+        assertEquals("third", cache.get(3));
+    }
+
+    @Test
+    public void expiredValueIsEvicted() {
+        cache.put(1, "first");
+        now += TimeUnit.SECONDS.toNanos(TTL_SECONDS) - 1;
+        assertEquals("first", cache.get(1));
+
+        now += 1;
+        assertNull(cache.get(1));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void putOfValueLoadedBeforeInvalidateIsSkipped() {
+        long generation = cache.getGeneration(1);
+        cache.invalidate(1);
+
+        assertFalse(cache.put(1, "stale", generation));
+        assertNull(cache.get(1));
+        assertTrue(cache.put(1, "fresh", cache.getGeneration(1)));
+        assertEquals("fresh", cache.get(1));
+    }
+
+    @Test
+    public void putOfValueLoadedBeforeInvalidateAllIsSkipped() {
+        long generation = cache.getGeneration(1);
+        cache.invalidateAll();
+
+        assertFalse(cache.put(1, "stale", generation));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void invalidate() {
+        cache.put(1, "first");
+        cache.put(2, "second");
+        cache.invalidate(1);
+
+        assertNull(cache.get(1));
+        assertEquals("second", cache.get(2));
+        assertEquals(0, cache.getEvictionCount());
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void segmentedCacheIsNotBiggerThanMaxSize() {
+        int maxSize = LruEntityCache.MAX_SEGMENTS * LruEntityCache.MIN_SEGMENT_SIZE + 1;
+        LruEntityCache<Integer, String> segmentedCache = new LruEntityCache<>(maxSize, 0);
+        for (int key = 0; key < maxSize * 4; key++) {
+            segmentedCache.put(key, "value");
+        }
+
+        assertEquals(maxSize, segmentedCache.size());
+        assertEquals(maxSize * 3, segmentedCache.getEvictionCount());
+        assertEquals("value", segmentedCache.get(maxSize * 4 - 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void notPositiveMaxSize() {
+        new LruEntityCache<Integer, String>(0, TTL_SECONDS);
+    }
+}